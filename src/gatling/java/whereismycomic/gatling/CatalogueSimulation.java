@@ -0,0 +1,189 @@
+package whereismycomic.gatling;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Load test of the catalogue: users browse the comics, series and characters, search them, and administrators edit
+ * comics, in the proportions of the production traffic.
+ * <p>
+ * Each user authenticates once, then keeps working with think times between its requests. The load is configured with
+ * system properties:
+ * <ul>
+ *     <li>{@code gatling.users}: the number of users, 100 by default, started over {@code gatling.ramp} seconds, 30 by
+ *     default, 70% of them browsing, 20% searching and 10% editing;</li>
+ *     <li>{@code gatling.duration}: how long each user keeps working, in seconds, 120 by default;</li>
+ *     <li>{@code gatling.p99}: the 99th percentile of the response times, in milliseconds, above which the simulation
+ *     fails, 1000 by default;</li>
+ *     <li>{@code gatling.baseUrl}: the URL of the application under load; it is started with a generated catalogue if not
+ *     set, see {@link EmbeddedApplication}.</li>
+ * </ul>
+ * The report gives the 50th to 99th percentiles of the response times and the throughput of each request.
+ */
+public class CatalogueSimulation extends Simulation {
+
+    private static final String[] ADJECTIVES = { "Amazing", "Cosmic", "Dark", "Mighty", "Uncanny" };
+
+    private static final String[] NOUNS = { "Avengers", "Knight", "Legion", "Saga", "Tales" };
+
+    private static final String[] NAMES = { "Bruce", "Carol", "Diana", "Logan", "Peter" };
+
+    private final int users = Integer.getInteger("gatling.users", 100);
+
+    private final Duration ramp = Duration.ofSeconds(Long.getLong("gatling.ramp", 30));
+
+    private final Duration duration = Duration.ofSeconds(Long.getLong("gatling.duration", 120));
+
+    private final int p99 = Integer.getInteger("gatling.p99", 1000);
+
+    private final ConfigurableApplicationContext application = System.getProperty("gatling.baseUrl") == null
+        ? EmbeddedApplication.start()
+        : null;
+
+    private final HttpProtocolBuilder httpProtocol = http
+        .baseUrl(application != null ? EmbeddedApplication.baseUrl(application) : System.getProperty("gatling.baseUrl"))
+        .acceptHeader("application/json")
+        .contentTypeHeader("application/json")
+        .shareConnections();
+
+    private final Iterator<Map<String, Object>> words = Stream
+        .generate(() -> Map.<String, Object>of("adjective", pick(ADJECTIVES), "noun", pick(NOUNS), "name", pick(NAMES)))
+        .iterator();
+
+    private final ChainBuilder browse = exec(session -> session.set("page", ThreadLocalRandom.current().nextInt(100)))
+        .exec(
+            http("Browse comics")
+                .get("/api/comics?view=summary&page=#{page}&size=20&sort=id,asc")
+                .header("Authorization", "Bearer #{token}")
+                .check(jsonPath("$[*].id").findRandom().saveAs("comicId"))
+        )
+        .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+        .exec(http("Get comic").get("/api/comics/#{comicId}").header("Authorization", "Bearer #{token}"))
+        .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+        .exec(
+            http("Browse series")
+                .get("/api/series?view=summary&page=#{page}&size=20&sort=id,asc")
+                .header("Authorization", "Bearer #{token}")
+                .check(jsonPath("$[*].id").findRandom().saveAs("seriesId"))
+        )
+        .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+        .exec(http("Get series").get("/api/series/#{seriesId}").header("Authorization", "Bearer #{token}"))
+        .exec(
+            http("Browse comics of series")
+                .get("/api/comics?view=summary&seriesId.equals=#{seriesId}&size=20&sort=id,asc&count=false")
+                .header("Authorization", "Bearer #{token}")
+        )
+        .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+        .exec(
+            http("Browse characters")
+                .get("/api/characters?view=summary&page=#{page}&size=20&sort=id,asc")
+                .header("Authorization", "Bearer #{token}")
+        )
+        .pause(Duration.ofSeconds(1), Duration.ofSeconds(3));
+
+    private final ChainBuilder search = feed(words)
+        .exec(
+            http("Search comics")
+                .get("/api/comics?view=summary&size=20")
+                .queryParam("title.contains", "#{adjective} #{noun}")
+                .header("Authorization", "Bearer #{token}")
+        )
+        .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+        .exec(
+            http("Search series")
+                .get("/api/series?view=summary&size=20")
+                .queryParam("name.contains", "#{noun}")
+                .header("Authorization", "Bearer #{token}")
+        )
+        .pause(Duration.ofSeconds(1), Duration.ofSeconds(3))
+        .exec(
+            http("Search characters")
+                .get("/api/characters?view=summary&size=20")
+                .queryParam("fullname.contains", "#{name}")
+                .header("Authorization", "Bearer #{token}")
+        )
+        .pause(Duration.ofSeconds(1), Duration.ofSeconds(3));
+
+    private final ChainBuilder edit = feed(words)
+        .exec(
+            http("Browse series to edit")
+                .get("/api/series?view=summary&size=20&sort=id,asc")
+                .header("Authorization", "Bearer #{token}")
+                .check(jsonPath("$[*].id").findRandom().saveAs("seriesId"))
+        )
+        .pause(Duration.ofSeconds(2), Duration.ofSeconds(5))
+        .exec(
+            http("Create comic")
+                .post("/api/comics")
+                .header("Authorization", "Bearer #{token}")
+                .body(
+                    StringBody(
+                        "{\"issuenumber\":1,\"location\":\"Load test\",\"title\":\"#{adjective} #{noun}\",\"series\":{\"id\":#{seriesId}}}"
+                    )
+                )
+                .check(status().is(201))
+                .check(jsonPath("$.id").saveAs("comicId"))
+        )
+        .pause(Duration.ofSeconds(2), Duration.ofSeconds(5))
+        .exec(
+            http("Update comic")
+                .put("/api/comics/#{comicId}")
+                .header("Authorization", "Bearer #{token}")
+                .body(
+                    StringBody(
+                        "{\"id\":#{comicId},\"issuenumber\":2,\"location\":\"Load test\",\"title\":\"#{adjective} #{noun}\"," +
+                        "\"series\":{\"id\":#{seriesId}}}"
+                    )
+                )
+        )
+        .pause(Duration.ofSeconds(2), Duration.ofSeconds(5))
+        .exec(http("Delete comic").delete("/api/comics/#{comicId}").header("Authorization", "Bearer #{token}").check(status().is(204)))
+        .pause(Duration.ofSeconds(2), Duration.ofSeconds(5));
+
+    private final ScenarioBuilder browsing = scenario("Browse").exec(authenticate("user", "user")).during(duration).on(browse);
+
+    private final ScenarioBuilder searching = scenario("Search").exec(authenticate("user", "user")).during(duration).on(search);
+
+    private final ScenarioBuilder editing = scenario("Edit").exec(authenticate("admin", "admin")).during(duration).on(edit);
+
+    {
+        setUp(
+            browsing.injectOpen(rampUsers(users * 7 / 10).during(ramp)),
+            searching.injectOpen(rampUsers(users * 2 / 10).during(ramp)),
+            editing.injectOpen(rampUsers(Math.max(1, users / 10)).during(ramp))
+        )
+            .protocols(httpProtocol)
+            .assertions(global().responseTime().percentile4().lt(p99), global().successfulRequests().percent().gt(99.0));
+    }
+
+    @Override
+    public void after() {
+        if (application != null) {
+            application.close();
+        }
+    }
+
+    private static ChainBuilder authenticate(String username, String password) {
+        return exec(
+            http("Authenticate")
+                .post("/api/authenticate")
+                .body(StringBody("{\"username\":\"" + username + "\",\"password\":\"" + password + "\",\"rememberMe\":false}"))
+                .check(jsonPath("$.id_token").saveAs("token"))
+        );
+    }
+
+    private static String pick(String[] words) {
+        return words[ThreadLocalRandom.current().nextInt(words.length)];
+    }
+}
@@ -0,0 +1,47 @@
+package whereismycomic.gatling;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import whereismycomic.WhereIsMyComicApp;
+import whereismycomic.config.Constants;
+
+/**
+ * The application under load, started in the JVM of the simulations with the test configuration: an in-memory H2
+ * database, or PostgreSQL with the {@code testcontainers} profile, holding a generated catalogue.
+ * <p>
+ * Unlike in the tests, the caches are enabled and warmed up, as in production. The catalogue is sized with the
+ * {@code gatling.characters}, {@code gatling.series} and {@code gatling.comics} system properties.
+ */
+final class EmbeddedApplication {
+
+    private EmbeddedApplication() {}
+
+    /**
+     * Start the application on a random port.
+     *
+     * @return the application, to close once the simulation is over.
+     */
+    static ConfigurableApplicationContext start() {
+        // As arguments, so that they override the test configuration
+        return new SpringApplicationBuilder(WhereIsMyComicApp.class)
+            .profiles(Constants.SPRING_PROFILE_CATALOGUE)
+            .run(
+                "--server.port=0",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=true",
+                "--application.query-cache.enabled=true",
+                "--application.catalogue.characters=" + Integer.getInteger("gatling.characters", 2_000),
+                "--application.catalogue.series=" + Integer.getInteger("gatling.series", 20_000),
+                "--application.catalogue.comics=" + Integer.getInteger("gatling.comics", 200_000),
+                "--logging.level.whereismycomic=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"
+            );
+    }
+
+    /**
+     * The URL of a started application.
+     */
+    static String baseUrl(ConfigurableApplicationContext application) {
+        return "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+    }
+}
@@ -0,0 +1,81 @@
+package whereismycomic.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Benchmark of the {@link JWTFilter}, from the {@code Authorization} header to the authentication in the security
+ * context, for tokens seen for the first time or not, as in {@link TokenProviderBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JWTFilterBenchmark {
+
+    @Param({ "2", "20" })
+    public int authorities;
+
+    @Param({ "false", "true" })
+    public boolean cached;
+
+    private JWTFilter jwtFilter;
+
+    private Cache<?, ?> verifiedTokens;
+
+    private List<MockHttpServletRequest> requests;
+
+    private int next;
+
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        TokenProvider tokenProvider = TokenProviderBenchmark.newTokenProvider();
+        verifiedTokens = TokenProviderBenchmark.verifiedTokens(tokenProvider);
+        jwtFilter = new JWTFilter(tokenProvider);
+        requests =
+            TokenProviderBenchmark
+                .newTokens(tokenProvider, authorities)
+                .stream()
+                .map(token -> {
+                    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/comics");
+                    request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + token);
+                    return request;
+                })
+                .collect(Collectors.toList());
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws IOException, ServletException {
+        try {
+            jwtFilter.doFilter(nextRequest(), response, new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private MockHttpServletRequest nextRequest() {
+        if (next == requests.size()) {
+            next = 0;
+            if (!cached) {
+                verifiedTokens.invalidateAll();
+            }
+        }
+        return requests.get(next++);
+    }
+}
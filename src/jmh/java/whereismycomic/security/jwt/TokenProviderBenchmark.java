@@ -0,0 +1,133 @@
+package whereismycomic.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import tech.jhipster.config.JHipsterProperties;
+import whereismycomic.management.SecurityMetersService;
+
+/**
+ * Benchmarks of the creation and verification of the JWTs by the {@link TokenProvider}.
+ * <p>
+ * Verified tokens are cached: the {@code cached} parameter of the verifications tells whether each of a pool of
+ * distinct tokens is verified for the first time, the cache being cleared each time the whole pool was verified, or
+ * found in the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenProviderBenchmark {
+
+    static final String BASE64_SECRET =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    /**
+     * Number of distinct tokens verified in turn.
+     */
+    static final int TOKENS = 1024;
+
+    /**
+     * Number of authorities in the {@code auth} claim.
+     */
+    @Param({ "2", "20" })
+    public int authorities;
+
+    private TokenProvider tokenProvider;
+
+    private Authentication authentication;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tokenProvider = newTokenProvider();
+        authentication = newAuthentication("collector@example.com", authorities);
+    }
+
+    /**
+     * The pool of tokens to verify.
+     */
+    @State(Scope.Thread)
+    public static class Tokens {
+
+        @Param({ "false", "true" })
+        public boolean cached;
+
+        private Cache<?, ?> verifiedTokens;
+
+        private List<String> tokens;
+
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setup(TokenProviderBenchmark benchmark) throws ReflectiveOperationException {
+            verifiedTokens = verifiedTokens(benchmark.tokenProvider);
+            tokens = newTokens(benchmark.tokenProvider, benchmark.authorities);
+        }
+
+        String next() {
+            if (next == tokens.size()) {
+                next = 0;
+                if (!cached) {
+                    verifiedTokens.invalidateAll();
+                }
+            }
+            return tokens.get(next++);
+        }
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public boolean validateToken(Tokens tokens) {
+        return tokenProvider.validateToken(tokens.next());
+    }
+
+    @Benchmark
+    public Authentication getAuthentication(Tokens tokens) {
+        return tokenProvider.getAuthentication(tokens.next());
+    }
+
+    static TokenProvider newTokenProvider() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        return new TokenProvider(jHipsterProperties, new SecurityMetersService(new SimpleMeterRegistry()));
+    }
+
+    static Cache<?, ?> verifiedTokens(TokenProvider tokenProvider) throws ReflectiveOperationException {
+        Field field = TokenProvider.class.getDeclaredField("verifiedTokens");
+        field.setAccessible(true);
+        return (Cache<?, ?>) field.get(tokenProvider);
+    }
+
+    /**
+     * {@link #TOKENS} distinct tokens, of distinct users as tokens created within the same second are otherwise equal.
+     */
+    static List<String> newTokens(TokenProvider tokenProvider, int authorities) {
+        return IntStream
+            .range(0, TOKENS)
+            .mapToObj(i -> tokenProvider.createToken(newAuthentication("collector" + i + "@example.com", authorities), false))
+            .collect(Collectors.toList());
+    }
+
+    static Authentication newAuthentication(String login, int authorities) {
+        List<GrantedAuthority> grantedAuthorities = IntStream
+            .range(0, authorities)
+            .mapToObj(i -> new SimpleGrantedAuthority(i == 0 ? "ROLE_USER" : "ROLE_PUBLISHER_" + i))
+            .collect(Collectors.toList());
+        return new UsernamePasswordAuthenticationToken(login, "", grantedAuthorities);
+    }
+}
@@ -0,0 +1,213 @@
+package whereismycomic.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import whereismycomic.WhereIsMyComicApp;
+import whereismycomic.config.Constants;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+import whereismycomic.service.criteria.ComicCriteria;
+import whereismycomic.service.criteria.SeriesCriteria;
+
+/**
+ * Benchmarks of the comic and series criteria, from the construction of their {@link Specification} to the execution of
+ * their queries, paged and unpaged, on an in-memory H2 database holding a catalogue of the {@link CatalogueGeneratorService}.
+ * Its seed, skew and sizes are set by the benchmark, so the filters below match the same rows whatever the configured
+ * catalogue.
+ * <p>
+ * The query result cache and the second-level cache are disabled, as in the tests, so that every query reaches the
+ * database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CriteriaQueryBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    private static final long SEED = 42;
+
+    @State(Scope.Benchmark)
+    public static class Catalogue {
+
+        @Param({ "10000" })
+        public int series;
+
+        @Param({ "100000" })
+        public int comics;
+
+        ConfigurableApplicationContext context;
+
+        long firstSeriesId;
+
+        long firstComicId;
+
+        EntityManager entityManager;
+
+        ComicQueryService comicQueryService;
+
+        SeriesQueryService seriesQueryService;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            // As arguments, so that they override the test configuration
+            context =
+                new SpringApplicationBuilder(WhereIsMyComicApp.class)
+                    .profiles(Constants.SPRING_PROFILE_CATALOGUE)
+                    .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--application.cache.warm-up.enabled=false",
+                        "--application.catalogue.seed=" + SEED,
+                        "--application.catalogue.skew=3",
+                        "--application.catalogue.thumbnails=false",
+                        "--application.catalogue.series=" + series,
+                        "--application.catalogue.comics=" + comics,
+                        "--application.catalogue.characters=" + series / 10,
+                        "--logging.level.whereismycomic=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN"
+                    );
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            firstSeriesId = jdbcTemplate.queryForObject("select min(id) from series", Long.class);
+            firstComicId = jdbcTemplate.queryForObject("select min(id) from comic", Long.class);
+            entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+            comicQueryService = context.getBean(ComicQueryService.class);
+            seriesQueryService = context.getBean(SeriesQueryService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            entityManager.close();
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Comics {
+
+        @Param({ "title", "seriesAndIssuenumber", "locationAndTitle", "idRange" })
+        public String filters;
+
+        ComicCriteria criteria;
+
+        @Setup(Level.Trial)
+        public void setup(Catalogue catalogue) {
+            criteria = new ComicCriteria();
+            switch (filters) {
+                case "title":
+                    criteria.title().setContains("Dark Saga");
+                    break;
+                case "seriesAndIssuenumber":
+                    // The largest series
+                    criteria.seriesId().setEquals(catalogue.firstSeriesId);
+                    criteria.issuenumber().setGreaterThan(100);
+                    break;
+                case "locationAndTitle":
+                    criteria.location().setEquals("Shelf C7");
+                    criteria.title().setContains("Dark");
+                    break;
+                case "idRange":
+                    criteria.id().setGreaterThanOrEqual(catalogue.firstComicId + 5000);
+                    criteria.id().setLessThan(catalogue.firstComicId + 5500);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown filters " + filters);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SeriesFilters {
+
+        @Param({ "name", "comicId" })
+        public String filters;
+
+        SeriesCriteria criteria;
+
+        @Setup(Level.Trial)
+        public void setup(Catalogue catalogue) {
+            criteria = new SeriesCriteria();
+            switch (filters) {
+                case "name":
+                    criteria.name().setContains("Cosmic Legion 1");
+                    break;
+                case "comicId":
+                    criteria.comicId().setEquals(catalogue.firstComicId + 1234);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown filters " + filters);
+            }
+        }
+    }
+
+    @Benchmark
+    public Specification<Comic> comicSpecification(Catalogue catalogue, Comics comics) {
+        return catalogue.comicQueryService.createSpecification(comics.criteria);
+    }
+
+    @Benchmark
+    public CriteriaQuery<Comic> comicCriteriaQuery(Catalogue catalogue, Comics comics) {
+        return criteriaQuery(catalogue.entityManager, Comic.class, catalogue.comicQueryService.createSpecification(comics.criteria));
+    }
+
+    @Benchmark
+    public Page<Comic> comicPage(Catalogue catalogue, Comics comics) {
+        return catalogue.comicQueryService.findByCriteria(comics.criteria, PAGE);
+    }
+
+    @Benchmark
+    public List<Comic> comicList(Catalogue catalogue, Comics comics) {
+        return catalogue.comicQueryService.findByCriteria(comics.criteria);
+    }
+
+    @Benchmark
+    public long comicCount(Catalogue catalogue, Comics comics) {
+        return catalogue.comicQueryService.countByCriteria(comics.criteria);
+    }
+
+    @Benchmark
+    public Specification<Series> seriesSpecification(Catalogue catalogue, SeriesFilters series) {
+        return catalogue.seriesQueryService.createSpecification(series.criteria);
+    }
+
+    @Benchmark
+    public CriteriaQuery<Series> seriesCriteriaQuery(Catalogue catalogue, SeriesFilters series) {
+        return criteriaQuery(catalogue.entityManager, Series.class, catalogue.seriesQueryService.createSpecification(series.criteria));
+    }
+
+    @Benchmark
+    public Page<Series> seriesPage(Catalogue catalogue, SeriesFilters series) {
+        return catalogue.seriesQueryService.findByCriteria(series.criteria, PAGE);
+    }
+
+    @Benchmark
+    public List<Series> seriesList(Catalogue catalogue, SeriesFilters series) {
+        return catalogue.seriesQueryService.findByCriteria(series.criteria);
+    }
+
+    /**
+     * Apply a specification to a criteria query, as the repositories do before running it.
+     */
+    private static <T> CriteriaQuery<T> criteriaQuery(EntityManager entityManager, Class<T> type, Specification<T> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(type);
+        Root<T> root = query.from(type);
+        query.where(specification.toPredicate(root, query, builder));
+        return query;
+    }
+}
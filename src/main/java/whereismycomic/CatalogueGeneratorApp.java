@@ -0,0 +1,41 @@
+package whereismycomic;
+
+import java.util.Map;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import tech.jhipster.config.JHipsterConstants;
+import whereismycomic.config.Constants;
+
+/**
+ * Command line entry point generating a catalogue into the database of the active profile, {@code dev} by default, then
+ * exiting.
+ * <p>
+ * The catalogue is configured by the {@code application.catalogue} properties, for instance:
+ * {@code ./mvnw spring-boot:run -Dspring-boot.run.main-class=whereismycomic.CatalogueGeneratorApp
+ * -Dspring-boot.run.arguments="--application.catalogue.comics=5000000 --application.catalogue.seed=7"}.
+ *
+ * @see whereismycomic.service.CatalogueGeneratorService
+ */
+public class CatalogueGeneratorApp {
+
+    /**
+     * Main method, used to generate a catalogue.
+     *
+     * @param args the command line arguments.
+     */
+    public static void main(String[] args) {
+        SpringApplication app = new SpringApplication(WhereIsMyComicApp.class);
+        app.setWebApplicationType(WebApplicationType.NONE);
+        app.setAdditionalProfiles(Constants.SPRING_PROFILE_CATALOGUE);
+        // Additional profiles disable the default profile, so the database profile is activated unless one is given
+        app.setDefaultProperties(
+            Map.of(
+                "spring.profiles.active",
+                JHipsterConstants.SPRING_PROFILE_DEVELOPMENT,
+                "application.cache.warm-up.enabled",
+                "false"
+            )
+        );
+        System.exit(SpringApplication.exit(app.run(args)));
+    }
+}
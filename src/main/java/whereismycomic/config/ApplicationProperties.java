@@ -1,6 +1,10 @@
 package whereismycomic.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Where Is My Comic.
@@ -9,4 +13,688 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Thumbnails thumbnails = new Thumbnails();
+
+    private final Search search = new Search();
+
+    private final Outbox outbox = new Outbox();
+
+    private final QueryCache queryCache = new QueryCache();
+
+    private final Cache cache = new Cache();
+
+    private final Catalogue catalogue = new Catalogue();
+
+    private final BulkImport bulkImport = new BulkImport();
+
+    private final ImportJobs importJobs = new ImportJobs();
+
+    public Thumbnails getThumbnails() {
+        return thumbnails;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Catalogue getCatalogue() {
+        return catalogue;
+    }
+
+    public BulkImport getBulkImport() {
+        return bulkImport;
+    }
+
+    public ImportJobs getImportJobs() {
+        return importJobs;
+    }
+
+    public static class Thumbnails {
+
+        /**
+         * Root directory of the content-addressed thumbnail store.
+         */
+        private String storagePath = "./target/thumbnails";
+
+        /**
+         * Number of legacy database thumbnails moved to the store per transaction on startup.
+         */
+        private int migrationBatchSize = 50;
+
+        public String getStoragePath() {
+            return storagePath;
+        }
+
+        public void setStoragePath(String storagePath) {
+            this.storagePath = storagePath;
+        }
+
+        public int getMigrationBatchSize() {
+            return migrationBatchSize;
+        }
+
+        public void setMigrationBatchSize(int migrationBatchSize) {
+            this.migrationBatchSize = migrationBatchSize;
+        }
+    }
+
+    public static class Search {
+
+        /**
+         * Directory of the full-text search index.
+         */
+        private String indexPath = "./target/search-index";
+
+        /**
+         * Number of entities read per query when the index is rebuilt from the database.
+         */
+        private int rebuildBatchSize = 500;
+
+        /**
+         * Whether an empty index is rebuilt from the database when the application starts.
+         */
+        private boolean rebuildOnStartup = true;
+
+        public String getIndexPath() {
+            return indexPath;
+        }
+
+        public void setIndexPath(String indexPath) {
+            this.indexPath = indexPath;
+        }
+
+        public int getRebuildBatchSize() {
+            return rebuildBatchSize;
+        }
+
+        public void setRebuildBatchSize(int rebuildBatchSize) {
+            this.rebuildBatchSize = rebuildBatchSize;
+        }
+
+        public boolean isRebuildOnStartup() {
+            return rebuildOnStartup;
+        }
+
+        public void setRebuildOnStartup(boolean rebuildOnStartup) {
+            this.rebuildOnStartup = rebuildOnStartup;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Maximum number of entity changes handed to the listeners at once.
+         */
+        private int batchSize = 200;
+
+        /**
+         * Delay in milliseconds between two polls of the outbox, in case a change was not drained right after its commit.
+         */
+        private long pollInterval = 1000;
+
+        /**
+         * Identifier of this node among the consumers of the outbox, each of which applies every change to its own search
+         * index and autocomplete. Defaults to the host name: nodes sharing a host need distinct ids.
+         */
+        private String consumerId;
+
+        /**
+         * Time after which a gap in the ids of the changes is considered a rolled back transaction rather than one
+         * not committed yet, so that the changes after it are acknowledged.
+         */
+        private Duration gracePeriod = Duration.ofMinutes(1);
+
+        /**
+         * Time after which a consumer which did not drain the outbox is forgotten, so that the changes it did not apply
+         * are deleted anyway. Its search index must then be rebuilt.
+         */
+        private Duration consumerExpiry = Duration.ofDays(7);
+
+        /**
+         * Number of drains in which the listeners may fail to apply a change before it is moved to the
+         * {@code outbox_dead_letter} table and skipped, so that it does not hold back the changes after it.
+         */
+        private int maxAttempts = 5;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(long pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public String getConsumerId() {
+            return consumerId;
+        }
+
+        public void setConsumerId(String consumerId) {
+            this.consumerId = consumerId;
+        }
+
+        public Duration getGracePeriod() {
+            return gracePeriod;
+        }
+
+        public void setGracePeriod(Duration gracePeriod) {
+            this.gracePeriod = gracePeriod;
+        }
+
+        public Duration getConsumerExpiry() {
+            return consumerExpiry;
+        }
+
+        public void setConsumerExpiry(Duration consumerExpiry) {
+            this.consumerExpiry = consumerExpiry;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    public static class QueryCache {
+
+        /**
+         * Whether the ids and counts matching the comic and series criteria are cached.
+         */
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the disk tiers, required if a cache has one.
+         */
+        private String diskPath;
+
+        /**
+         * Delay in milliseconds between two samples of the hit ratio of each cache, shown by {@code /management/cache-stats}.
+         */
+        private long statisticsInterval = 60_000;
+
+        /**
+         * Number of samples of the hit ratio of each cache kept for {@code /management/cache-stats}.
+         */
+        private int statisticsHistory = 60;
+
+        /**
+         * Settings of each cache, by cache name. Caches which are not listed keep the {@code jhipster.cache.ehcache}
+         * settings.
+         */
+        private final Map<String, Settings> caches = new HashMap<>();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Users users = new Users();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public long getStatisticsInterval() {
+            return statisticsInterval;
+        }
+
+        public void setStatisticsInterval(long statisticsInterval) {
+            this.statisticsInterval = statisticsInterval;
+        }
+
+        public int getStatisticsHistory() {
+            return statisticsHistory;
+        }
+
+        public void setStatisticsHistory(int statisticsHistory) {
+            this.statisticsHistory = statisticsHistory;
+        }
+
+        public Map<String, Settings> getCaches() {
+            return caches;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Users getUsers() {
+            return users;
+        }
+
+        public static class Users {
+
+            /**
+             * Maximum number of users with their authorities kept in the near-cache, by login and by email each.
+             */
+            private long maxEntries = 10_000;
+
+            /**
+             * Time to live of the users in the near-cache, in case one is changed without the user service.
+             */
+            private Duration timeToLive = Duration.ofMinutes(10);
+
+            public long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+
+        public static class WarmUp {
+
+            /**
+             * Whether the most used series and characters are loaded into the caches before the application accepts traffic.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Number of series loaded with their comics, those with the most comics first.
+             */
+            private int series = 500;
+
+            /**
+             * Number of comics above which a series is loaded without its comics, rather than all of them.
+             */
+            private int comicsPerSeries = 1000;
+
+            /**
+             * Number of characters loaded, those with the most series first.
+             */
+            private int characters = 500;
+
+            /**
+             * Number of entities loaded per query, each batch running in parallel on the task executor.
+             */
+            private int batchSize = 100;
+
+            /**
+             * Maximum duration of the warm-up, after which the application accepts traffic anyway.
+             */
+            private Duration timeout = Duration.ofSeconds(60);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getSeries() {
+                return series;
+            }
+
+            public void setSeries(int series) {
+                this.series = series;
+            }
+
+            public int getComicsPerSeries() {
+                return comicsPerSeries;
+            }
+
+            public void setComicsPerSeries(int comicsPerSeries) {
+                this.comicsPerSeries = comicsPerSeries;
+            }
+
+            public int getCharacters() {
+                return characters;
+            }
+
+            public void setCharacters(int characters) {
+                this.characters = characters;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+
+        public static class Settings {
+
+            /**
+             * Maximum number of entries on the heap, {@code jhipster.cache.ehcache.max-entries} if neither this nor the heap size
+             * is set.
+             */
+            private Long heapEntries;
+
+            /**
+             * Maximum size of the entries on the heap, instead of a number of entries.
+             */
+            private DataSize heapSize;
+
+            /**
+             * Size of the off-heap tier, none if not set. Its entries are serialized outside of the garbage collected heap.
+             */
+            private DataSize offHeapSize;
+
+            /**
+             * Size of the disk tier, none if not set.
+             */
+            private DataSize diskSize;
+
+            /**
+             * Time to live of the entries since they were created or updated, {@code jhipster.cache.ehcache.time-to-live-seconds}
+             * if neither this nor the time to idle is set.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Time to live of the entries since they were last accessed.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public DataSize getDiskSize() {
+                return diskSize;
+            }
+
+            public void setDiskSize(DataSize diskSize) {
+                this.diskSize = diskSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+    }
+
+    public static class Catalogue {
+
+        /**
+         * Seed of the generated catalogue: the same seed and sizes always generate the same catalogue.
+         */
+        private long seed = 42;
+
+        /**
+         * Number of characters generated.
+         */
+        private int characters = 10_000;
+
+        /**
+         * Number of series generated.
+         */
+        private int series = 100_000;
+
+        /**
+         * Number of comics generated.
+         */
+        private int comics = 1_000_000;
+
+        /**
+         * Skew of the series sizes and of the characters appearances: 1 spreads the comics evenly over the series, larger
+         * values give most of them to the first series.
+         */
+        private double skew = 3;
+
+        /**
+         * Whether the generated comics and characters have the thumbnail of the sample data.
+         */
+        private boolean thumbnails = false;
+
+        /**
+         * Number of rows inserted per transaction.
+         */
+        private int batchSize = 5_000;
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+
+        public int getCharacters() {
+            return characters;
+        }
+
+        public void setCharacters(int characters) {
+            this.characters = characters;
+        }
+
+        public int getSeries() {
+            return series;
+        }
+
+        public void setSeries(int series) {
+            this.series = series;
+        }
+
+        public int getComics() {
+            return comics;
+        }
+
+        public void setComics(int comics) {
+            this.comics = comics;
+        }
+
+        public double getSkew() {
+            return skew;
+        }
+
+        public void setSkew(double skew) {
+            this.skew = skew;
+        }
+
+        public boolean isThumbnails() {
+            return thumbnails;
+        }
+
+        public void setThumbnails(boolean thumbnails) {
+            this.thumbnails = thumbnails;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class BulkImport {
+
+        /**
+         * Number of rows inserted per transaction.
+         */
+        private int batchSize = 1000;
+
+        /**
+         * Number of rows inserted per JDBC batch, much more than the {@code hibernate.jdbc.batch_size} of interactive saves.
+         */
+        private int jdbcBatchSize = 500;
+
+        /**
+         * Maximum number of rejected rows reported in the summary of an import.
+         */
+        private int maxErrors = 100;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getJdbcBatchSize() {
+            return jdbcBatchSize;
+        }
+
+        public void setJdbcBatchSize(int jdbcBatchSize) {
+            this.jdbcBatchSize = jdbcBatchSize;
+        }
+
+        public int getMaxErrors() {
+            return maxErrors;
+        }
+
+        public void setMaxErrors(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+    }
+
+    public static class ImportJobs {
+
+        /**
+         * Directory of the uploaded files, kept until their import is over.
+         */
+        private String storagePath = "./target/import-jobs";
+
+        /**
+         * Number of imports running at once.
+         */
+        private int workers = 2;
+
+        /**
+         * Number of imports waiting for a worker; the others wait for the next poll.
+         */
+        private int queueCapacity = 20;
+
+        /**
+         * Delay in milliseconds between two polls of the waiting and interrupted imports.
+         */
+        private long pollInterval = 10_000;
+
+        /**
+         * Time after which a running import which did not record any progress is considered interrupted, and resumed by
+         * any node.
+         */
+        private Duration staleAfter = Duration.ofMinutes(5);
+
+        public String getStoragePath() {
+            return storagePath;
+        }
+
+        public void setStoragePath(String storagePath) {
+            this.storagePath = storagePath;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(long pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public Duration getStaleAfter() {
+            return staleAfter;
+        }
+
+        public void setStaleAfter(Duration staleAfter) {
+            this.staleAfter = staleAfter;
+        }
+    }
+}
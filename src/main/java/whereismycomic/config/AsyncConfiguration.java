@@ -23,8 +23,11 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, ApplicationProperties applicationProperties) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -39,6 +42,23 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Executor of the import jobs, apart from the task executor so that long imports do not delay the other tasks.
+     */
+    @Bean(name = "importJobExecutor")
+    public Executor getImportJobExecutor() {
+        log.debug("Creating Import Job Executor");
+        ApplicationProperties.ImportJobs importJobs = applicationProperties.getImportJobs();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(importJobs.getWorkers());
+        executor.setMaxPoolSize(importJobs.getWorkers());
+        executor.setQueueCapacity(importJobs.getQueueCapacity());
+        executor.setThreadNamePrefix("import-job-");
+        // Interrupted imports are resumed on the next start
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return new ExceptionHandlingAsyncTaskExecutor(executor);
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -1,8 +1,19 @@
 package whereismycomic.config;
 
+import java.io.File;
+import java.net.URI;
 import java.time.Duration;
+import java.util.UUID;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
@@ -21,18 +32,31 @@ public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache defaults;
+    private final ApplicationProperties.Cache properties;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.defaults = jHipsterProperties.getCache().getEhcache();
+        this.properties = applicationProperties.getCache();
+    }
 
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
-            );
+    /**
+     * The JCache cache manager, created here rather than by Spring Boot so that the disk tiers have a directory.
+     * <p>
+     * The caching provider keeps its cache managers by URI for the whole JVM: each application context gets its own URI,
+     * so that two contexts never share, nor close, the caches of each other.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(JCacheManagerCustomizer cacheManagerCustomizer) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        ClassLoader classLoader = provider.getDefaultClassLoader();
+        DefaultConfiguration configuration = properties.getDiskPath() != null
+            ? new DefaultConfiguration(classLoader, new DefaultPersistenceConfiguration(new File(properties.getDiskPath())))
+            : new DefaultConfiguration(classLoader);
+        URI uri = URI.create(provider.getDefaultURI() + "/" + UUID.randomUUID());
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(uri, configuration);
+        cacheManagerCustomizer.customize(cacheManager);
+        return cacheManager;
     }
 
     @Bean
@@ -56,6 +80,8 @@ public class CacheConfiguration {
             createCache(cm, whereismycomic.domain.Comic.class.getName());
             createCache(cm, whereismycomic.domain.Characters.class.getName() + ".ids");
             createCache(cm, whereismycomic.domain.Series.class.getName() + ".ids");
+            createCache(cm, whereismycomic.service.QueryResultCache.COMIC_QUERIES_CACHE);
+            createCache(cm, whereismycomic.service.QueryResultCache.SERIES_QUERIES_CACHE);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -65,8 +91,64 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
+        }
+        // Read by the cache meters of Spring Boot Actuator
+        cm.enableStatistics(cacheName, true);
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Settings settings = properties
+            .getCaches()
+            .getOrDefault(cacheName, new ApplicationProperties.Cache.Settings());
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder();
+        if (settings.getHeapSize() != null) {
+            resourcePools = resourcePools.heap(settings.getHeapSize().toBytes(), MemoryUnit.B);
+        } else {
+            long heapEntries = settings.getHeapEntries() != null ? settings.getHeapEntries() : defaults.getMaxEntries();
+            resourcePools = resourcePools.heap(heapEntries, EntryUnit.ENTRIES);
+        }
+        boolean serialized = false;
+        if (settings.getOffHeapSize() != null) {
+            resourcePools = resourcePools.offheap(settings.getOffHeapSize().toBytes(), MemoryUnit.B);
+            serialized = true;
+        }
+        if (settings.getDiskSize() != null) {
+            if (properties.getDiskPath() == null) {
+                throw new IllegalStateException("Cache " + cacheName + " has a disk tier, but application.cache.disk-path is not set");
+            }
+            resourcePools = resourcePools.disk(settings.getDiskSize().toBytes(), MemoryUnit.B);
+            serialized = true;
+        }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+            .withExpiry(expiry(settings));
+        if (serialized) {
+            // Entity cache entries and keys are serializable, but there is no serializer for Object by default
+            ClassLoader classLoader = getClass().getClassLoader();
+            builder = builder.withKeySerializer(new PlainJavaSerializer<>(classLoader));
+            builder = builder.withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    private ExpiryPolicy<Object, Object> expiry(ApplicationProperties.Cache.Settings settings) {
+        if (settings.getTimeToIdle() == null) {
+            Duration timeToLive = settings.getTimeToLive() != null
+                ? settings.getTimeToLive()
+                : Duration.ofSeconds(defaults.getTimeToLiveSeconds());
+            return ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
+        }
+        if (settings.getTimeToLive() == null) {
+            return ExpiryPolicyBuilder.timeToIdleExpiration(settings.getTimeToIdle());
         }
+        // Reading an entry extends it by the time to idle, writing it by the time to live
+        return ExpiryPolicyBuilder
+            .expiry()
+            .create(settings.getTimeToLive())
+            .update(settings.getTimeToLive())
+            .access(settings.getTimeToIdle())
+            .build();
     }
 
     @Autowired(required = false)
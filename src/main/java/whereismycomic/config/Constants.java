@@ -11,5 +11,11 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Profile of the nodes sharing a PostgreSQL database, which evict the entities changed by the other nodes from their caches
+    public static final String SPRING_PROFILE_CLUSTER = "cluster";
+
+    // Profile generating a large catalogue on startup, see CatalogueGeneratorService
+    public static final String SPRING_PROFILE_CATALOGUE = "catalogue";
+
     private Constants() {}
 }
@@ -1,12 +1,16 @@
 package whereismycomic.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 import javax.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  * A Characters.
@@ -19,8 +23,16 @@ public class Characters implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "charactersSequenceGenerator")
+    @GenericGenerator(
+        name = "charactersSequenceGenerator",
+        strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+        parameters = {
+            @Parameter(name = "sequence_name", value = "characters_sequence"),
+            @Parameter(name = "increment_size", value = "1000"),
+            @Parameter(name = "optimizer", value = "pooled-lo"),
+        }
+    )
     @Column(name = "id")
     private Long id;
 
@@ -30,10 +42,20 @@ public class Characters implements Serializable {
     @Column(name = "description")
     private String description;
 
-    @Lob
-    @Column(name = "thumbnail")
+    /**
+     * Uploaded image, only set on incoming requests until it is moved to the thumbnail store.
+     */
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private byte[] thumbnail;
 
+    /**
+     * Hash of the image in the thumbnail store, only ever computed from uploaded bytes: it is ignored in request bodies.
+     */
+    @Column(name = "thumbnail_hash", length = 64)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String thumbnailHash;
+
     @Column(name = "thumbnail_content_type")
     private String thumbnailContentType;
 
@@ -96,6 +118,19 @@ public class Characters implements Serializable {
         this.thumbnail = thumbnail;
     }
 
+    public String getThumbnailHash() {
+        return this.thumbnailHash;
+    }
+
+    public Characters thumbnailHash(String thumbnailHash) {
+        this.setThumbnailHash(thumbnailHash);
+        return this;
+    }
+
+    public void setThumbnailHash(String thumbnailHash) {
+        this.thumbnailHash = thumbnailHash;
+    }
+
     public String getThumbnailContentType() {
         return this.thumbnailContentType;
     }
@@ -166,7 +201,7 @@ public class Characters implements Serializable {
             "id=" + getId() +
             ", fullname='" + getFullname() + "'" +
             ", description='" + getDescription() + "'" +
-            ", thumbnail='" + getThumbnail() + "'" +
+            ", thumbnailHash='" + getThumbnailHash() + "'" +
             ", thumbnailContentType='" + getThumbnailContentType() + "'" +
             "}";
     }
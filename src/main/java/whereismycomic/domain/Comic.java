@@ -1,24 +1,37 @@
 package whereismycomic.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import javax.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  * A Comic.
  */
 @Entity
 @Table(name = "comic")
+@NamedEntityGraph(name = "Comic.series", attributeNodes = @NamedAttributeNode("series"))
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Comic implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comicSequenceGenerator")
+    @GenericGenerator(
+        name = "comicSequenceGenerator",
+        strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+        parameters = {
+            @Parameter(name = "sequence_name", value = "comic_sequence"),
+            @Parameter(name = "increment_size", value = "1000"),
+            @Parameter(name = "optimizer", value = "pooled-lo"),
+        }
+    )
     @Column(name = "id")
     private Long id;
 
@@ -34,14 +47,24 @@ public class Comic implements Serializable {
     @Column(name = "description")
     private String description;
 
-    @Lob
-    @Column(name = "thumbnail")
+    /**
+     * Uploaded image, only set on incoming requests until it is moved to the thumbnail store.
+     */
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private byte[] thumbnail;
 
+    /**
+     * Hash of the image in the thumbnail store, only ever computed from uploaded bytes: it is ignored in request bodies.
+     */
+    @Column(name = "thumbnail_hash", length = 64)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String thumbnailHash;
+
     @Column(name = "thumbnail_content_type")
     private String thumbnailContentType;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "comics", "characters" }, allowSetters = true)
     private Series series;
 
@@ -125,6 +148,19 @@ public class Comic implements Serializable {
         this.thumbnail = thumbnail;
     }
 
+    public String getThumbnailHash() {
+        return this.thumbnailHash;
+    }
+
+    public Comic thumbnailHash(String thumbnailHash) {
+        this.setThumbnailHash(thumbnailHash);
+        return this;
+    }
+
+    public void setThumbnailHash(String thumbnailHash) {
+        this.thumbnailHash = thumbnailHash;
+    }
+
     public String getThumbnailContentType() {
         return this.thumbnailContentType;
     }
@@ -179,7 +215,7 @@ public class Comic implements Serializable {
             ", location='" + getLocation() + "'" +
             ", title='" + getTitle() + "'" +
             ", description='" + getDescription() + "'" +
-            ", thumbnail='" + getThumbnail() + "'" +
+            ", thumbnailHash='" + getThumbnailHash() + "'" +
             ", thumbnailContentType='" + getThumbnailContentType() + "'" +
             "}";
     }
@@ -7,20 +7,31 @@ import java.util.Set;
 import javax.persistence.*;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 /**
  * A Series.
  */
 @Entity
 @Table(name = "series")
+@NamedEntityGraph(name = "Series.characters", attributeNodes = @NamedAttributeNode("characters"))
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Series implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seriesSequenceGenerator")
+    @GenericGenerator(
+        name = "seriesSequenceGenerator",
+        strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+        parameters = {
+            @Parameter(name = "sequence_name", value = "series_sequence"),
+            @Parameter(name = "increment_size", value = "1000"),
+            @Parameter(name = "optimizer", value = "pooled-lo"),
+        }
+    )
     @Column(name = "id")
     private Long id;
 
@@ -32,7 +43,7 @@ public class Series implements Serializable {
     @JsonIgnoreProperties(value = { "series" }, allowSetters = true)
     private Set<Comic> comics = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "series" }, allowSetters = true)
     private Characters characters;
 
@@ -0,0 +1,213 @@
+package whereismycomic.management;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import whereismycomic.config.ApplicationProperties;
+
+/**
+ * {@code /management/cache-stats}: the hits, misses, puts, evictions and removals of every cache region, with the hit
+ * ratio of each sampling interval over the last samples.
+ * <p>
+ * The figures are read from the {@code cache.*} meters Spring Boot binds to the JCache statistics of each cache, which
+ * {@link whereismycomic.config.CacheConfiguration} enables.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatisticsEndpoint {
+
+    private static final String CACHE_TAG = "cache";
+
+    private final MeterRegistry registry;
+
+    private final int historySize;
+
+    private final Map<String, Deque<Sample>> history = new TreeMap<>();
+
+    private final Map<String, Totals> previousTotals = new TreeMap<>();
+
+    public CacheStatisticsEndpoint(MeterRegistry registry, ApplicationProperties applicationProperties) {
+        this.registry = registry;
+        this.historySize = applicationProperties.getCache().getStatisticsHistory();
+    }
+
+    /**
+     * Record the hits and misses of every cache since the previous sample.
+     */
+    @Scheduled(
+        initialDelayString = "${application.cache.statistics-interval:60000}",
+        fixedDelayString = "${application.cache.statistics-interval:60000}"
+    )
+    public synchronized void sample() {
+        Instant now = Instant.now();
+        for (String cache : cacheNames()) {
+            Totals totals = totals(cache);
+            Totals previous = previousTotals.getOrDefault(cache, Totals.EMPTY);
+            Deque<Sample> samples = history.computeIfAbsent(cache, name -> new ArrayDeque<>());
+            samples.addLast(new Sample(now, totals.hits - previous.hits, totals.misses - previous.misses));
+            while (samples.size() > historySize) {
+                samples.removeFirst();
+            }
+            previousTotals.put(cache, totals);
+        }
+    }
+
+    @ReadOperation
+    public synchronized Map<String, CacheStatistics> cacheStatistics() {
+        Map<String, CacheStatistics> statistics = new TreeMap<>();
+        for (String cache : cacheNames()) {
+            List<Sample> samples = new ArrayList<>(history.getOrDefault(cache, new ArrayDeque<>()));
+            statistics.put(cache, new CacheStatistics(totals(cache), samples));
+        }
+        return statistics;
+    }
+
+    private Set<String> cacheNames() {
+        Set<String> names = new TreeSet<>();
+        registry.find("cache.gets").meters().forEach(meter -> names.add(meter.getId().getTag(CACHE_TAG)));
+        names.remove(null);
+        return names;
+    }
+
+    private Totals totals(String cache) {
+        return new Totals(
+            count("cache.gets", cache, "hit"),
+            count("cache.gets", cache, "miss"),
+            count("cache.puts", cache, null),
+            count("cache.evictions", cache, null),
+            count("cache.removals", cache, null)
+        );
+    }
+
+    private long count(String name, String cache, String result) {
+        // Function counters or gauges, depending on the meter
+        double count = 0;
+        for (Meter meter : registry.find(name).tag(CACHE_TAG, cache).meters()) {
+            if (result == null || result.equals(meter.getId().getTag("result"))) {
+                for (Measurement measurement : meter.measure()) {
+                    if (!Double.isNaN(measurement.getValue())) {
+                        count += measurement.getValue();
+                    }
+                }
+            }
+        }
+        return (long) count;
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    private static final class Totals {
+
+        private static final Totals EMPTY = new Totals(0, 0, 0, 0, 0);
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long puts;
+
+        private final long evictions;
+
+        private final long removals;
+
+        private Totals(long hits, long misses, long puts, long evictions, long removals) {
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.evictions = evictions;
+            this.removals = removals;
+        }
+    }
+
+    /**
+     * The hits and misses of a cache during a sampling interval.
+     */
+    public static final class Sample {
+
+        private final Instant timestamp;
+
+        private final long hits;
+
+        private final long misses;
+
+        Sample(Instant timestamp, long hits, long misses) {
+            this.timestamp = timestamp;
+            this.hits = hits;
+            this.misses = misses;
+        }
+
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRatio() {
+            return hitRatio(hits, misses);
+        }
+    }
+
+    /**
+     * The statistics of a cache since the application started, and its samples, oldest first.
+     */
+    public static final class CacheStatistics {
+
+        private final Totals totals;
+
+        private final List<Sample> samples;
+
+        CacheStatistics(Totals totals, List<Sample> samples) {
+            this.totals = totals;
+            this.samples = samples;
+        }
+
+        public long getHits() {
+            return totals.hits;
+        }
+
+        public long getMisses() {
+            return totals.misses;
+        }
+
+        public long getPuts() {
+            return totals.puts;
+        }
+
+        public long getEvictions() {
+            return totals.evictions;
+        }
+
+        public long getRemovals() {
+            return totals.removals;
+        }
+
+        public double getHitRatio() {
+            return hitRatio(totals.hits, totals.misses);
+        }
+
+        public List<Sample> getSamples() {
+            return samples;
+        }
+    }
+}
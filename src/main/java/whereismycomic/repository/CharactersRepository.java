@@ -1,5 +1,12 @@
 package whereismycomic.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 import whereismycomic.domain.Characters;
@@ -9,4 +16,25 @@ import whereismycomic.domain.Characters;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CharactersRepository extends JpaRepository<Characters, Long> {}
+public interface CharactersRepository extends JpaRepository<Characters, Long>, JpaSpecificationExecutor<Characters> {
+    @Query(
+        "select characters.id from Characters characters left join characters.series series group by characters.id " +
+        "order by count(series) desc, characters.id"
+    )
+    List<Long> findIdsOrderBySeriesCountDesc(Pageable pageable);
+
+    /**
+     * Stream all the characters in id order, for an export: rows are fetched from the database as the stream is consumed,
+     * read-only and without going through the second-level cache. To be consumed in a transaction, detaching the
+     * characters once written.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select characters from Characters characters order by characters.id")
+    Stream<Characters> streamAllForExport();
+}
@@ -1,12 +1,55 @@
 package whereismycomic.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import whereismycomic.domain.Comic;
 
 /**
  * Spring Data SQL repository for the Comic entity.
+ * <p>
+ * The series of a comic is loaded lazily, and fetched in the same query by the methods used to return comic
+ * from the REST API, thanks to the {@code Comic.series} entity graph.
  */
-@SuppressWarnings("unused")
 @Repository
-public interface ComicRepository extends JpaRepository<Comic, Long>, JpaSpecificationExecutor<Comic> {}
+public interface ComicRepository extends JpaRepository<Comic, Long>, JpaSpecificationExecutor<Comic> {
+    default Optional<Comic> findOneWithEagerRelationships(Long id) {
+        return this.findOneWithToOneRelationships(id);
+    }
+
+    @Query("select comic from Comic comic left join fetch comic.series where comic.id =:id")
+    Optional<Comic> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Override
+    @EntityGraph(value = "Comic.series", type = EntityGraph.EntityGraphType.LOAD)
+    List<Comic> findAll(Specification<Comic> spec);
+
+    @Override
+    @EntityGraph(value = "Comic.series", type = EntityGraph.EntityGraphType.LOAD)
+    Page<Comic> findAll(Specification<Comic> spec, Pageable pageable);
+
+    /**
+     * Stream all the comics in id order, for an export: rows are fetched from the database as the stream is consumed,
+     * read-only and without going through the second-level cache. To be consumed in a transaction, detaching the
+     * comics once written.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select comic from Comic comic left join fetch comic.series order by comic.id")
+    Stream<Comic> streamAllForExport();
+}
@@ -1,12 +1,67 @@
 package whereismycomic.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import whereismycomic.domain.Series;
 
 /**
  * Spring Data SQL repository for the Series entity.
+ * <p>
+ * The characters of a series is loaded lazily, and fetched in the same query by the methods used to return series
+ * from the REST API, thanks to the {@code Series.characters} entity graph.
  */
-@SuppressWarnings("unused")
 @Repository
-public interface SeriesRepository extends JpaRepository<Series, Long>, JpaSpecificationExecutor<Series> {}
+public interface SeriesRepository extends JpaRepository<Series, Long>, JpaSpecificationExecutor<Series> {
+    default Optional<Series> findOneWithEagerRelationships(Long id) {
+        return this.findOneWithToOneRelationships(id);
+    }
+
+    @Query("select series from Series series left join fetch series.characters where series.id =:id")
+    Optional<Series> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query("select distinct series from Series series left join fetch series.comics where series.id in :ids")
+    List<Series> findAllWithComicsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select series.id from Series series where series.id in :ids and size(series.comics) <= :maxComics")
+    List<Long> findIdsWithAtMostComicsByIdIn(@Param("ids") Collection<Long> ids, @Param("maxComics") int maxComics);
+
+    @Query(
+        "select series.id from Series series left join series.comics comic group by series.id order by count(comic) desc, series.id"
+    )
+    List<Long> findIdsOrderByComicCountDesc(Pageable pageable);
+
+    @Override
+    @EntityGraph(value = "Series.characters", type = EntityGraph.EntityGraphType.LOAD)
+    List<Series> findAll(Specification<Series> spec);
+
+    @Override
+    @EntityGraph(value = "Series.characters", type = EntityGraph.EntityGraphType.LOAD)
+    Page<Series> findAll(Specification<Series> spec, Pageable pageable);
+
+    /**
+     * Stream all the series in id order, for an export: rows are fetched from the database as the stream is consumed,
+     * read-only and without going through the second-level cache. To be consumed in a transaction, detaching the
+     * series once written.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select series from Series series left join fetch series.characters order by series.id")
+    Stream<Series> streamAllForExport();
+}
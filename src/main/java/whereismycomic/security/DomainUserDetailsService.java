@@ -25,8 +25,11 @@ public class DomainUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final UserNearCache userNearCache;
+
+    public DomainUserDetailsService(UserRepository userRepository, UserNearCache userNearCache) {
         this.userRepository = userRepository;
+        this.userNearCache = userNearCache;
     }
 
     @Override
@@ -35,15 +38,15 @@ public class DomainUserDetailsService implements UserDetailsService {
         log.debug("Authenticating {}", login);
 
         if (new EmailValidator().isValid(login, null)) {
-            return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
+            return userNearCache
+                .getByEmail(login.toLowerCase(Locale.ENGLISH), userRepository::findOneWithAuthoritiesByEmailIgnoreCase)
                 .map(user -> createSpringSecurityUser(login, user))
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-        return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
+        return userNearCache
+            .getByLogin(lowercaseLogin, userRepository::findOneWithAuthoritiesByLogin)
             .map(user -> createSpringSecurityUser(lowercaseLogin, user))
             .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
     }
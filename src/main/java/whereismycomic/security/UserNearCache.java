@@ -0,0 +1,128 @@
+package whereismycomic.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.User;
+
+/**
+ * In-memory cache of the users with their authorities, by login and by email, in front of the {@code usersByLogin} and
+ * {@code usersByEmail} caches of the {@link whereismycomic.repository.UserRepository}.
+ * <p>
+ * The current user is read on every page load and every authentication: a hit neither queries the database nor
+ * borrows a connection. The caches are bounded and lock-free on reads, and their hits and misses are exposed as the
+ * {@code cache.*} meters of the {@code usersNearByLogin} and {@code usersNearByEmail} caches. Only existing users are
+ * cached; a changed user must be evicted, which is done again once its transaction completes so that a concurrent
+ * reader cannot cache it back before the change is committed.
+ */
+@Component
+public class UserNearCache {
+
+    public static final String BY_LOGIN_CACHE = "usersNearByLogin";
+
+    public static final String BY_EMAIL_CACHE = "usersNearByEmail";
+
+    private final Cache<String, User> byLogin;
+
+    private final Cache<String, User> byEmail;
+
+    public UserNearCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Cache.Users properties = applicationProperties.getCache().getUsers();
+        this.byLogin = newCache(properties);
+        this.byEmail = newCache(properties);
+        CaffeineCacheMetrics.monitor(meterRegistry, byLogin, BY_LOGIN_CACHE);
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, BY_EMAIL_CACHE);
+    }
+
+    private static Cache<String, User> newCache(ApplicationProperties.Cache.Users properties) {
+        return Caffeine
+            .newBuilder()
+            .maximumSize(properties.getMaxEntries())
+            .expireAfterWrite(properties.getTimeToLive())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Return a user with its authorities by login, loading it on a miss.
+     *
+     * @param login the lowercase login.
+     * @param loader loads the user with its authorities.
+     * @return the user, if it exists.
+     */
+    public Optional<User> getByLogin(String login, Function<String, Optional<User>> loader) {
+        return get(byLogin, login, loader);
+    }
+
+    /**
+     * Return a user with its authorities by email, loading it on a miss.
+     *
+     * @param email the email.
+     * @param loader loads the user with its authorities.
+     * @return the user, if it exists.
+     */
+    public Optional<User> getByEmail(String email, Function<String, Optional<User>> loader) {
+        return get(byEmail, email, loader);
+    }
+
+    /**
+     * Evict a user, now and once the current transaction completes.
+     *
+     * @param user the user, with its login and email before and after the change.
+     */
+    public void evict(User user) {
+        String login = user.getLogin();
+        String email = user.getEmail();
+        evict(login, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        evict(login, email);
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * Evict all the users.
+     */
+    public void clear() {
+        byLogin.invalidateAll();
+        byEmail.invalidateAll();
+    }
+
+    /**
+     * Evict a user now, such as one changed on another node.
+     *
+     * @param login the login of the user, or {@code null}.
+     * @param email the email of the user, or {@code null}.
+     */
+    public void evict(String login, String email) {
+        if (login != null) {
+            byLogin.invalidate(login);
+        }
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    private static Optional<User> get(Cache<String, User> cache, String key, Function<String, Optional<User>> loader) {
+        User user = cache.getIfPresent(key);
+        if (user != null) {
+            return Optional.of(user);
+        }
+        Optional<User> loaded = loader.apply(key);
+        loaded.ifPresent(found -> cache.put(key, found));
+        return loaded;
+    }
+}
@@ -0,0 +1,227 @@
+package whereismycomic.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.domain.Characters;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+import whereismycomic.service.dto.SuggestionDTO;
+
+/**
+ * Autocomplete of comic titles, series names and character fullnames, answered from an in-memory {@link AutocompleteTrie}.
+ * <p>
+ * The trie is built from the database when the application starts, then kept in sync with the committed
+ * {@link EntityChangedEvent}s drained from the {@link OutboxService}: only the labels of the changed entities are read
+ * again, with one query per type and batch of changes. Suggestions never query the database.
+ */
+@Service
+public class AutocompleteService implements EntityChangesListener {
+
+    public static final List<String> TYPES = List.of(
+        SearchIndexService.TYPE_COMIC,
+        SearchIndexService.TYPE_SERIES,
+        SearchIndexService.TYPE_CHARACTERS
+    );
+
+    private static final Map<Class<?>, Labels> LABELS = Map.of(
+        Comic.class,
+        new Labels(SearchIndexService.TYPE_COMIC, "comic", "title"),
+        Series.class,
+        new Labels(SearchIndexService.TYPE_SERIES, "series", "name"),
+        Characters.class,
+        new Labels(SearchIndexService.TYPE_CHARACTERS, "characters", "fullname")
+    );
+
+    /**
+     * The most ids read in one query, below the limits of the databases on the parameters of a statement.
+     */
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private AutocompleteTrie trie = new AutocompleteTrie(TYPES);
+
+    /**
+     * The changes applied while the trie is rebuilt, to apply them again to the rebuilt trie.
+     */
+    private List<EntityChangedEvent> changesDuringRebuild;
+
+    public AutocompleteService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Build the trie from the database on startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        long start = System.currentTimeMillis();
+        AutocompleteTrie rebuilt = new AutocompleteTrie(TYPES);
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status ->
+                LABELS
+                    .values()
+                    .forEach(labels ->
+                        jdbcTemplate.query(
+                            "select id, " + labels.column + " from " + labels.table,
+                            rs -> {
+                                rebuilt.put(labels.type, rs.getLong(1), rs.getString(2));
+                            }
+                        )
+                    )
+            );
+        } catch (DataAccessException e) {
+            log.warn("Could not build the autocomplete trie, it will be retried on next startup: {}", e.getMessage());
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            return;
+        }
+        synchronized (this) {
+            Map<Class<?>, Map<Long, String>> labels = readLabels(changesDuringRebuild);
+            changesDuringRebuild.forEach(change -> apply(rebuilt, change, labels));
+            changesDuringRebuild = null;
+            lock.writeLock().lock();
+            try {
+                trie = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Autocomplete trie built with {} entities in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Update the trie with a batch of committed entity changes.
+     *
+     * @param changes the changes.
+     */
+    @Override
+    public synchronized void onEntityChanges(List<EntityChangedEvent> changes) {
+        log.debug("Updating autocomplete trie for {} changes", changes.size());
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.addAll(changes);
+        }
+        Map<Class<?>, Map<Long, String>> labels = readLabels(changes);
+        changes.forEach(change -> apply(trie, change, labels));
+    }
+
+    /**
+     * Return the comics, series and characters whose label completes a prefix.
+     *
+     * @param prefix the first letters of the label, or of one of its words.
+     * @param type the type of the entities to return, or {@code null} for all of them.
+     * @param size the maximum number of suggestions.
+     * @return the suggestions, shortest label completion first.
+     */
+    public List<SuggestionDTO> suggest(String prefix, String type, int size) {
+        lock.readLock().lock();
+        try {
+            return trie.suggest(prefix, type, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Read the current labels of the saved entities, by type and id.
+     */
+    private Map<Class<?>, Map<Long, String>> readLabels(List<EntityChangedEvent> changes) {
+        Map<Class<?>, List<Long>> savedIds = changes
+            .stream()
+            .filter(change -> change.getChange() == EntityChangedEvent.Change.SAVED && LABELS.containsKey(change.getEntityType()))
+            .collect(
+                Collectors.groupingBy(
+                    EntityChangedEvent::getEntityType,
+                    Collectors.mapping(EntityChangedEvent::getId, Collectors.collectingAndThen(Collectors.toSet(), ArrayList::new))
+                )
+            );
+        if (savedIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Class<?>, Map<Long, String>> labels = new HashMap<>();
+        readOnlyTransactionTemplate.executeWithoutResult(status ->
+            savedIds.forEach((entityType, ids) -> {
+                Labels table = LABELS.get(entityType);
+                Map<Long, String> found = labels.computeIfAbsent(entityType, type -> new HashMap<>());
+                for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+                    jdbcTemplate.query(
+                        "select id, " + table.column + " from " + table.table + " where id in (" +
+                        String.join(", ", Collections.nCopies(chunk.size(), "?")) +
+                        ")",
+                        rs -> {
+                            found.put(rs.getLong(1), rs.getString(2));
+                        },
+                        chunk.toArray()
+                    );
+                }
+            })
+        );
+        return labels;
+    }
+
+    private void apply(AutocompleteTrie target, EntityChangedEvent change, Map<Class<?>, Map<Long, String>> labels) {
+        Labels type = LABELS.get(change.getEntityType());
+        if (type == null) {
+            return;
+        }
+        // The entity may have been deleted since it was saved
+        String label = change.getChange() == EntityChangedEvent.Change.SAVED
+            ? labels.getOrDefault(change.getEntityType(), Map.of()).get(change.getId())
+            : null;
+        lock.writeLock().lock();
+        try {
+            if (label != null) {
+                target.put(type.type, change.getId(), label);
+            } else {
+                target.remove(type.type, change.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Labels {
+
+        private final String type;
+
+        private final String table;
+
+        private final String column;
+
+        private Labels(String type, String table, String column) {
+            this.type = type;
+            this.table = table;
+            this.column = column;
+        }
+    }
+}
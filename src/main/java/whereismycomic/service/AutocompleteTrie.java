@@ -0,0 +1,279 @@
+package whereismycomic.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import whereismycomic.service.dto.SuggestionDTO;
+
+/**
+ * Prefix trie of entity labels, packed into arrays of primitives rather than one object per node.
+ * <p>
+ * A label is reachable from its first letters and from the first letters of each of its words, ignoring case and
+ * accents. The suggestions of a prefix are the entities whose label completes it, shortest completion first.
+ * <p>
+ * Nodes are never removed: the nodes of a removed label are reused if it is added again, or dropped when the trie is
+ * rebuilt. This class is not thread-safe.
+ */
+final class AutocompleteTrie {
+
+    private static final int NONE = -1;
+
+    private static final int ROOT = 0;
+
+    /**
+     * Labels are only reachable from their first characters, which bounds the depth of the trie.
+     */
+    static final int MAX_KEY_LENGTH = 48;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final List<String> types;
+
+    // Nodes: the character leading to the node, its first child, its next sibling and the first entry ending on it
+    private char[] nodeChars = new char[1024];
+
+    private int[] nodeFirstChild = new int[1024];
+
+    private int[] nodeNextSibling = new int[1024];
+
+    private int[] nodeFirstEntry = new int[1024];
+
+    private int nodeCount;
+
+    // Entries: the entity, its label, the node of its key and the next entry ending on the same node
+    private byte[] entryTypes = new byte[256];
+
+    private long[] entryIds = new long[256];
+
+    private String[] entryLabels = new String[256];
+
+    private int[] entryNodes = new int[256];
+
+    private int[] entryNext = new int[256];
+
+    private int entryCount;
+
+    private int freeEntry = NONE;
+
+    private final Map<Long, int[]> entriesByEntity = new HashMap<>();
+
+    /**
+     * @param types the types of the entities, at most 4.
+     */
+    AutocompleteTrie(List<String> types) {
+        this.types = List.copyOf(types);
+        newNode('\0');
+    }
+
+    /**
+     * Add or replace the label of an entity.
+     *
+     * @param type the type of the entity.
+     * @param id the id of the entity.
+     * @param label the label, not added if blank.
+     */
+    void put(String type, long id, String label) {
+        remove(type, id);
+        List<String> keys = label != null ? keys(label) : List.of();
+        if (keys.isEmpty()) {
+            return;
+        }
+        byte typeIndex = typeIndex(type);
+        int[] entries = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            entries[i] = newEntry(typeIndex, id, label, insert(keys.get(i)));
+        }
+        entriesByEntity.put(entityKey(typeIndex, id), entries);
+    }
+
+    /**
+     * Remove the label of an entity, if any.
+     *
+     * @param type the type of the entity.
+     * @param id the id of the entity.
+     */
+    void remove(String type, long id) {
+        int[] entries = entriesByEntity.remove(entityKey(typeIndex(type), id));
+        if (entries == null) {
+            return;
+        }
+        for (int entry : entries) {
+            unlink(entry);
+            entryLabels[entry] = null;
+            entryNext[entry] = freeEntry;
+            freeEntry = entry;
+        }
+    }
+
+    /**
+     * Return the entities whose label completes a prefix, shortest completion first.
+     *
+     * @param prefix the prefix.
+     * @param type the type of the entities to return, or {@code null} for all of them.
+     * @param size the maximum number of entities to return.
+     * @return the entities.
+     */
+    List<SuggestionDTO> suggest(String prefix, String type, int size) {
+        String key = normalize(prefix);
+        if (key.length() > MAX_KEY_LENGTH) {
+            key = key.substring(0, MAX_KEY_LENGTH);
+        }
+        List<SuggestionDTO> suggestions = new ArrayList<>(Math.min(size, 16));
+        if (key.isEmpty()) {
+            return suggestions;
+        }
+        int node = ROOT;
+        for (int i = 0; i < key.length() && node != NONE; i++) {
+            node = child(node, key.charAt(i));
+        }
+        if (node == NONE) {
+            return suggestions;
+        }
+        int typeFilter = type != null ? typeIndex(type) : NONE;
+        // An entity is reachable from several words of its label
+        Set<Long> found = new HashSet<>();
+        // Breadth-first, so that shorter completions come first
+        int[] queue = new int[64];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = node;
+        while (head < tail && suggestions.size() < size) {
+            int current = queue[head++];
+            for (int entry = nodeFirstEntry[current]; entry != NONE && suggestions.size() < size; entry = entryNext[entry]) {
+                byte entryType = entryTypes[entry];
+                if ((typeFilter == NONE || entryType == typeFilter) && found.add(entityKey(entryType, entryIds[entry]))) {
+                    suggestions.add(new SuggestionDTO(types.get(entryType), entryIds[entry], entryLabels[entry]));
+                }
+            }
+            for (int child = nodeFirstChild[current]; child != NONE; child = nodeNextSibling[child]) {
+                if (tail == queue.length) {
+                    queue = Arrays.copyOf(queue, queue.length * 2);
+                }
+                queue[tail++] = child;
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * @return the number of entities in the trie.
+     */
+    int size() {
+        return entriesByEntity.size();
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return SPACES.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> keys(String label) {
+        String normalized = normalize(label);
+        List<String> keys = new ArrayList<>();
+        int start = normalized.isEmpty() ? NONE : 0;
+        while (start >= 0) {
+            keys.add(normalized.substring(start, Math.min(normalized.length(), start + MAX_KEY_LENGTH)));
+            int space = normalized.indexOf(' ', start);
+            start = space >= 0 ? space + 1 : NONE;
+        }
+        return keys;
+    }
+
+    private int insert(String key) {
+        int node = ROOT;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            int child = child(node, c);
+            if (child == NONE) {
+                child = newNode(c);
+                nodeNextSibling[child] = nodeFirstChild[node];
+                nodeFirstChild[node] = child;
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private int child(int node, char c) {
+        int child = nodeFirstChild[node];
+        while (child != NONE && nodeChars[child] != c) {
+            child = nodeNextSibling[child];
+        }
+        return child;
+    }
+
+    private int newNode(char c) {
+        if (nodeCount == nodeChars.length) {
+            int capacity = nodeCount * 2;
+            nodeChars = Arrays.copyOf(nodeChars, capacity);
+            nodeFirstChild = Arrays.copyOf(nodeFirstChild, capacity);
+            nodeNextSibling = Arrays.copyOf(nodeNextSibling, capacity);
+            nodeFirstEntry = Arrays.copyOf(nodeFirstEntry, capacity);
+        }
+        int node = nodeCount++;
+        nodeChars[node] = c;
+        nodeFirstChild[node] = NONE;
+        nodeNextSibling[node] = NONE;
+        nodeFirstEntry[node] = NONE;
+        return node;
+    }
+
+    private int newEntry(byte type, long id, String label, int node) {
+        int entry;
+        if (freeEntry != NONE) {
+            entry = freeEntry;
+            freeEntry = entryNext[entry];
+        } else {
+            if (entryCount == entryTypes.length) {
+                int capacity = entryCount * 2;
+                entryTypes = Arrays.copyOf(entryTypes, capacity);
+                entryIds = Arrays.copyOf(entryIds, capacity);
+                entryLabels = Arrays.copyOf(entryLabels, capacity);
+                entryNodes = Arrays.copyOf(entryNodes, capacity);
+                entryNext = Arrays.copyOf(entryNext, capacity);
+            }
+            entry = entryCount++;
+        }
+        entryTypes[entry] = type;
+        entryIds[entry] = id;
+        entryLabels[entry] = label;
+        entryNodes[entry] = node;
+        entryNext[entry] = nodeFirstEntry[node];
+        nodeFirstEntry[node] = entry;
+        return entry;
+    }
+
+    private void unlink(int entry) {
+        int node = entryNodes[entry];
+        if (nodeFirstEntry[node] == entry) {
+            nodeFirstEntry[node] = entryNext[entry];
+            return;
+        }
+        int previous = nodeFirstEntry[node];
+        while (entryNext[previous] != entry) {
+            previous = entryNext[previous];
+        }
+        entryNext[previous] = entryNext[entry];
+    }
+
+    private byte typeIndex(String type) {
+        int index = types.indexOf(type);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown type " + type);
+        }
+        return (byte) index;
+    }
+
+    private static long entityKey(int type, long id) {
+        return (id << 2) | type;
+    }
+}
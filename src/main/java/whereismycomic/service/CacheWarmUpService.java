@@ -0,0 +1,153 @@
+package whereismycomic.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.repository.CharactersRepository;
+import whereismycomic.repository.SeriesRepository;
+
+/**
+ * Load the most used series, with their comics, and characters into the second-level cache when the application starts.
+ * <p>
+ * The warm-up runs once the database is migrated and before the application reports that it accepts traffic, as
+ * readiness is only published after the {@link ApplicationRunner}s: the first requests are then served from the cache.
+ * The usage of an entity is approximated by its number of comics or series. A series is loaded with its comics unless
+ * it has more than {@code application.cache.warm-up.comics-per-series} of them: its comics collection can only be cached
+ * whole, and would make a single batch load any number of comics. The entities are loaded in batches running in
+ * parallel on the application task executor; if they are not all loaded before the timeout, the application accepts
+ * traffic anyway and the batches not started yet are cancelled, leaving the shared executor to the requests.
+ * <p>
+ * The duration of the warm-up is exposed as the {@code cache.warmup} timer, tagged with its outcome.
+ */
+@Service
+public class CacheWarmUpService implements ApplicationRunner {
+
+    public static final String WARM_UP_METER_NAME = "cache.warmup";
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final SeriesRepository seriesRepository;
+
+    private final CharactersRepository charactersRepository;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Executor taskExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties.Cache.WarmUp properties;
+
+    public CacheWarmUpService(
+        SeriesRepository seriesRepository,
+        CharactersRepository charactersRepository,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.seriesRepository = seriesRepository;
+        this.charactersRepository = charactersRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+        this.properties = applicationProperties.getCache().getWarmUp();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Load the most used series and characters into the cache, waiting at most for the configured timeout.
+     *
+     * @return the outcome of the warm-up: {@code completed}, {@code timeout} or {@code failed}.
+     */
+    public String warmUp() {
+        log.debug("Warming up the caches");
+        long start = System.nanoTime();
+        String outcome;
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        try {
+            if (properties.getSeries() > 0) {
+                List<Long> seriesIds = readOnlyTransactionTemplate.execute(status ->
+                    seriesRepository.findIdsOrderByComicCountDesc(PageRequest.of(0, properties.getSeries()))
+                );
+                submit(seriesIds, this::loadSeries, batches);
+            }
+            if (properties.getCharacters() > 0) {
+                List<Long> charactersIds = readOnlyTransactionTemplate.execute(status ->
+                    charactersRepository.findIdsOrderBySeriesCountDesc(PageRequest.of(0, properties.getCharacters()))
+                );
+                submit(charactersIds, charactersRepository::findAllById, batches);
+            }
+            CompletableFuture
+                .allOf(batches.toArray(CompletableFuture[]::new))
+                .get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            outcome = "completed";
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up did not complete within {}, accepting traffic anyway", properties.getTimeout());
+            // A cancelled batch is skipped when the executor gets to it, those running complete
+            batches.forEach(batch -> batch.cancel(false));
+            outcome = "timeout";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batches.forEach(batch -> batch.cancel(false));
+            outcome = "failed";
+        } catch (ExecutionException | DataAccessException e) {
+            log.warn("Cache warm-up failed, accepting traffic anyway: {}", e.getMessage());
+            outcome = "failed";
+        }
+        long duration = System.nanoTime() - start;
+        Timer
+            .builder(WARM_UP_METER_NAME)
+            .description("Duration of the cache warm-up on startup")
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(duration, TimeUnit.NANOSECONDS);
+        log.info("Cache warm-up {} in {} ms", outcome, TimeUnit.NANOSECONDS.toMillis(duration));
+        return outcome;
+    }
+
+    private void loadSeries(List<Long> ids) {
+        List<Long> withComics = seriesRepository.findIdsWithAtMostComicsByIdIn(ids, properties.getComicsPerSeries());
+        if (!withComics.isEmpty()) {
+            seriesRepository.findAllWithComicsByIdIn(withComics);
+        }
+        if (withComics.size() < ids.size()) {
+            seriesRepository.findAllById(ids.stream().filter(id -> !withComics.contains(id)).collect(Collectors.toList()));
+        }
+    }
+
+    private void submit(List<Long> ids, Consumer<List<Long>> loader, List<CompletableFuture<Void>> batches) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            Runnable load = () -> readOnlyTransactionTemplate.executeWithoutResult(status -> loader.accept(batch));
+            batches.add(CompletableFuture.runAsync(load, taskExecutor));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package whereismycomic.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import whereismycomic.domain.Characters;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+import whereismycomic.repository.CharactersRepository;
+import whereismycomic.repository.ComicRepository;
+import whereismycomic.repository.SeriesRepository;
+
+/**
+ * Export of the whole catalogue as NDJSON: one entity per line, in the JSON of the REST API.
+ * <p>
+ * Entities are streamed from the database with a JDBC fetch size, written straight to the output and detached once
+ * written, so an export runs in constant memory whatever the size of the catalogue. Lazy collections are not written.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CatalogueExportService {
+
+    /**
+     * Number of entities written between two clears of the persistence context.
+     */
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final Logger log = LoggerFactory.getLogger(CatalogueExportService.class);
+
+    private final ComicRepository comicRepository;
+
+    private final SeriesRepository seriesRepository;
+
+    private final CharactersRepository charactersRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    public CatalogueExportService(
+        ComicRepository comicRepository,
+        SeriesRepository seriesRepository,
+        CharactersRepository charactersRepository,
+        EntityManager entityManager,
+        ObjectMapper objectMapper
+    ) {
+        this.comicRepository = comicRepository;
+        this.seriesRepository = seriesRepository;
+        this.charactersRepository = charactersRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Export all the comics, with their series.
+     *
+     * @param out the output, left open.
+     * @return the number of comics exported.
+     * @throws IOException if the output could not be written.
+     */
+    public long exportComics(OutputStream out) throws IOException {
+        log.debug("Request to export all Comics");
+        try (Stream<Comic> comics = comicRepository.streamAllForExport()) {
+            return write(comics, Comic.class, out);
+        }
+    }
+
+    /**
+     * Export all the series, with their characters.
+     *
+     * @param out the output, left open.
+     * @return the number of series exported.
+     * @throws IOException if the output could not be written.
+     */
+    public long exportSeries(OutputStream out) throws IOException {
+        log.debug("Request to export all Series");
+        try (Stream<Series> series = seriesRepository.streamAllForExport()) {
+            return write(series, Series.class, out);
+        }
+    }
+
+    /**
+     * Export all the characters.
+     *
+     * @param out the output, left open.
+     * @return the number of characters exported.
+     * @throws IOException if the output could not be written.
+     */
+    public long exportCharacters(OutputStream out) throws IOException {
+        log.debug("Request to export all Characters");
+        try (Stream<Characters> characters = charactersRepository.streamAllForExport()) {
+            return write(characters, Characters.class, out);
+        }
+    }
+
+    private <T> long write(Stream<T> entities, Class<T> type, OutputStream out) throws IOException {
+        // Flushed by the output buffers rather than after each entity
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // One entity per line, rather than separated by spaces
+        generator.setRootValueSeparator(null);
+        for (Iterator<T> iterator = entities.iterator(); iterator.hasNext();) {
+            T entity = iterator.next();
+            writer.writeValue(generator, entity);
+            generator.writeRaw('\n');
+            entityManager.detach(entity);
+            if (++count % CLEAR_INTERVAL == 0) {
+                // Also detaches the associations fetched with the entities
+                entityManager.clear();
+            }
+        }
+        // Only closed once all written, as closing would also complete the JSON of an entity which failed to write
+        generator.close();
+        log.debug("Exported {} {}", count, type.getSimpleName());
+        return count;
+    }
+}
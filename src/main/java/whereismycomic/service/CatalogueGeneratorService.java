@@ -0,0 +1,310 @@
+package whereismycomic.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.config.Constants;
+import whereismycomic.domain.Characters;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+
+/**
+ * Generator of large catalogues of characters, series and comics, enabled by the {@code catalogue} profile, to reproduce
+ * production-scale performance issues locally.
+ * <p>
+ * The catalogue is generated when the application starts, before the caches are warmed up and the autocomplete is
+ * built, from the {@code application.catalogue} properties; the whole search index is then rebuilt. It only depends on
+ * these properties: the same seed always generates the same catalogue. Series sizes are skewed, a few series holding
+ * most of the comics, and characters likewise appear in a few series each, some in many. The comics and characters
+ * optionally share the thumbnail of the sample data.
+ * <p>
+ * Rows are inserted with {@code COPY} on PostgreSQL and JDBC batches otherwise, bypassing Hibernate, and each batch is
+ * committed on its own. Their ids are reserved from the sequence of each entity: the generator must not run while
+ * other nodes insert entities.
+ */
+@Service
+@Profile(Constants.SPRING_PROFILE_CATALOGUE)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CatalogueGeneratorService implements ApplicationRunner {
+
+    private static final String SAMPLE_THUMBNAIL = "config/liquibase/fake-data/blob/hipster.png";
+
+    private static final String[] ADJECTIVES = {
+        "Amazing",
+        "Astonishing",
+        "Cosmic",
+        "Dark",
+        "Fantastic",
+        "Invincible",
+        "Mighty",
+        "Savage",
+        "Uncanny",
+        "Ultimate",
+    };
+
+    private static final String[] NOUNS = {
+        "Avengers",
+        "Detective",
+        "Guardians",
+        "Knight",
+        "Legion",
+        "Mutants",
+        "Saga",
+        "Sentinels",
+        "Tales",
+        "Warriors",
+    };
+
+    private static final String[] FIRST_NAMES = {
+        "Bruce",
+        "Carol",
+        "Diana",
+        "Jean",
+        "Kamala",
+        "Logan",
+        "Miles",
+        "Peter",
+        "Selina",
+        "Wade",
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Banner",
+        "Danvers",
+        "Grey",
+        "Kent",
+        "Khan",
+        "Morales",
+        "Parker",
+        "Prince",
+        "Stark",
+        "Wilson",
+    };
+
+    private final Logger log = LoggerFactory.getLogger(CatalogueGeneratorService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ThumbnailStorageService thumbnailStorageService;
+
+    private final QueryResultCache queryResultCache;
+
+    private final SearchIndexService searchIndexService;
+
+    private final ApplicationProperties.Catalogue properties;
+
+    public CatalogueGeneratorService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        EntityManagerFactory entityManagerFactory,
+        ThumbnailStorageService thumbnailStorageService,
+        QueryResultCache queryResultCache,
+        SearchIndexService searchIndexService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.thumbnailStorageService = thumbnailStorageService;
+        this.queryResultCache = queryResultCache;
+        this.searchIndexService = searchIndexService;
+        this.properties = applicationProperties.getCatalogue();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+    }
+
+    /**
+     * Generate the catalogue configured by the {@code application.catalogue} properties.
+     */
+    public void generate() {
+        long start = System.currentTimeMillis();
+        log.info(
+            "Generating a catalogue of {} characters, {} series and {} comics with seed {}",
+            properties.getCharacters(),
+            properties.getSeries(),
+            properties.getComics(),
+            properties.getSeed()
+        );
+        String thumbnailHash = properties.isThumbnails() ? storeSampleThumbnail() : null;
+        String thumbnailContentType = thumbnailHash != null ? "image/png" : null;
+        // Each table has its own random, so that it does not depend on the size of the others
+        Random charactersRandom = new Random(properties.getSeed());
+        Random seriesRandom = new Random(properties.getSeed() + 1);
+        Random comicsRandom = new Random(properties.getSeed() + 2);
+
+        long firstCharactersId = reserveIds("characters_sequence", properties.getCharacters());
+        insert(
+            "characters",
+            List.of("id", "fullname", "description", "thumbnail_hash", "thumbnail_content_type"),
+            properties.getCharacters(),
+            i -> {
+                String fullname = pick(charactersRandom, FIRST_NAMES) + ' ' + pick(charactersRandom, LAST_NAMES) + ' ' + i;
+                return new Object[] { firstCharactersId + i, fullname, "Character " + fullname, thumbnailHash, thumbnailContentType };
+            }
+        );
+
+        long firstSeriesId = reserveIds("series_sequence", properties.getSeries());
+        insert(
+            "series",
+            List.of("id", "name", "characters_id"),
+            properties.getSeries(),
+            i -> {
+                String name = pick(seriesRandom, ADJECTIVES) + ' ' + pick(seriesRandom, NOUNS) + ' ' + i;
+                Long charactersId = properties.getCharacters() > 0
+                    ? firstCharactersId + skewed(seriesRandom, properties.getCharacters())
+                    : null;
+                return new Object[] { firstSeriesId + i, name, charactersId };
+            }
+        );
+
+        long firstComicId = reserveIds("comic_sequence", properties.getComics());
+        insert(
+            "comic",
+            List.of("id", "issuenumber", "location", "title", "description", "thumbnail_hash", "thumbnail_content_type", "series_id"),
+            properties.getComics(),
+            i -> {
+                Long seriesId = properties.getSeries() > 0 ? firstSeriesId + skewed(comicsRandom, properties.getSeries()) : null;
+                String title = pick(comicsRandom, ADJECTIVES) + ' ' + pick(comicsRandom, NOUNS);
+                return new Object[] {
+                    firstComicId + i,
+                    1 + comicsRandom.nextInt(999),
+                    "Shelf " + (char) ('A' + comicsRandom.nextInt(26)) + (1 + comicsRandom.nextInt(20)),
+                    title,
+                    "The " + title.toLowerCase() + " are back in issue " + i,
+                    thumbnailHash,
+                    thumbnailContentType,
+                    seriesId,
+                };
+            }
+        );
+
+        // Rows were inserted behind Hibernate's back
+        entityManagerFactory.getCache().evictAll();
+        List.of(Characters.class, Series.class, Comic.class).forEach(queryResultCache::bump);
+        log.info("Generated the catalogue in {} ms", System.currentTimeMillis() - start);
+        // Not indexed through the outbox either, and the index is only rebuilt on startup when empty
+        searchIndexService.rebuild();
+    }
+
+    /**
+     * An index in {@code [0, size)}, the first ones being the most frequent.
+     */
+    private int skewed(Random random, int size) {
+        return Math.min(size - 1, (int) (size * Math.pow(random.nextDouble(), properties.getSkew())));
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private String storeSampleThumbnail() {
+        try (InputStream in = new ClassPathResource(SAMPLE_THUMBNAIL).getInputStream()) {
+            return thumbnailStorageService.store(in.readAllBytes());
+        } catch (IOException e) {
+            throw new ThumbnailStorageException("Could not read the sample thumbnail", e);
+        }
+    }
+
+    /**
+     * Reserve a range of ids which Hibernate will not allocate.
+     *
+     * @param sequence the sequence of the entity.
+     * @param count the number of ids.
+     * @return the first id of the range.
+     */
+    private long reserveIds(String sequence, int count) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        return transactionTemplate.execute(status -> {
+            Long next = jdbcTemplate.queryForObject(dialect.getSequenceNextValString(sequence), Long.class);
+            // Hibernate allocates the block of ids starting at the value of the sequence
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (next + count));
+            return next;
+        });
+    }
+
+    private void insert(String table, List<String> columns, int count, RowGenerator generator) {
+        boolean postgresql = jdbcTemplate.execute(
+            (ConnectionCallback<Boolean>) con -> "PostgreSQL".equals(con.getMetaData().getDatabaseProductName())
+        );
+        String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        String sql = "insert into " + table + " (" + String.join(", ", columns) + ") values (" + placeholders + ")";
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<Object[]> rows = new ArrayList<>(Math.min(count, batchSize));
+        for (int i = 0; i < count; i++) {
+            rows.add(generator.row(i));
+            if (rows.size() == batchSize || i == count - 1) {
+                if (postgresql) {
+                    copy(table, columns, rows);
+                } else {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+                }
+                rows.clear();
+                log.debug("Inserted {} of {} rows into {}", i + 1, count, table);
+            }
+        }
+    }
+
+    private void copy(String table, List<String> columns, List<Object[]> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (Object[] row : rows) {
+            csv.append(Arrays.stream(row).map(CatalogueGeneratorService::csvValue).collect(Collectors.joining(","))).append('\n');
+        }
+        String sql = "copy " + table + " (" + String.join(", ", columns) + ") from stdin with (format csv)";
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.execute(
+                (ConnectionCallback<Long>) con -> {
+                    try {
+                        return con.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Could not copy rows into " + table, e);
+                    }
+                }
+            )
+        );
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof String) {
+            return '"' + ((String) value).replace("\"", "\"\"") + '"';
+        }
+        return value.toString();
+    }
+
+    @FunctionalInterface
+    private interface RowGenerator {
+        Object[] row(int index);
+    }
+}
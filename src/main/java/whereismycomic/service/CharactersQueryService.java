@@ -0,0 +1,174 @@
+package whereismycomic.service;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import whereismycomic.domain.*; // for static metamodels
+import whereismycomic.domain.Characters;
+import whereismycomic.repository.CharactersRepository;
+import whereismycomic.service.criteria.CharactersCriteria;
+import whereismycomic.service.dto.CharactersSummaryDTO;
+
+/**
+ * Service for executing complex queries for {@link Characters} entities in the database.
+ * The main input is a {@link CharactersCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link Characters}, a {@link Page} of {@link Characters} or a keyset {@link Slice} of {@link Characters}
+ * which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CharactersQueryService extends KeysetQueryService<Characters> {
+
+    private final Logger log = LoggerFactory.getLogger(CharactersQueryService.class);
+
+    private final CharactersRepository charactersRepository;
+
+    public CharactersQueryService(CharactersRepository charactersRepository, EntityManager entityManager) {
+        super(entityManager, Characters.class);
+        this.charactersRepository = charactersRepository;
+    }
+
+    /**
+     * Return a {@link List} of {@link Characters} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Characters> findByCriteria(CharactersCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<Characters> specification = createSpecification(criteria);
+        return charactersRepository.findAll(specification);
+    }
+
+    /**
+     * Return a {@link Page} of {@link Characters} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Characters> findByCriteria(CharactersCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Characters> specification = createSpecification(criteria);
+        return charactersRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return a {@link Page} of {@link CharactersSummaryDTO} which matches the criteria from the database.
+     * Only the columns of the summary are selected, and no entity is loaded.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the summaries of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<CharactersSummaryDTO> findSummariesByCriteria(CharactersCriteria criteria, Pageable page) {
+        log.debug("find summaries by criteria : {}, page: {}", criteria, page);
+        final Specification<Characters> specification = createSpecification(criteria);
+        return findPage(specification, page, CharactersSummaryDTO.class, CharactersQueryService::summary);
+    }
+
+    /**
+     * Return a keyset {@link Slice} of {@link Characters} which matches the criteria from the database, ordered by id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice, or {@code null} for the first slice.
+     * @param size The size of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Characters> findByCriteriaAfterId(CharactersCriteria criteria, Long after, int size) {
+        log.debug("find by criteria : {}, after id: {}, size: {}", criteria, after, size);
+        return findSlice(createAfterIdSpecification(criteria, after), Sort.by(Characters_.ID), size);
+    }
+
+    /**
+     * Return a keyset {@link Slice} of {@link CharactersSummaryDTO} which matches the criteria from the database, ordered by id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice, or {@code null} for the first slice.
+     * @param size The size of the slice.
+     * @return the summaries of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CharactersSummaryDTO> findSummariesByCriteriaAfterId(CharactersCriteria criteria, Long after, int size) {
+        log.debug("find summaries by criteria : {}, after id: {}, size: {}", criteria, after, size);
+        return findSlice(
+            createAfterIdSpecification(criteria, after),
+            Sort.by(Characters_.ID),
+            size,
+            CharactersSummaryDTO.class,
+            CharactersQueryService::summary
+        );
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(CharactersCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Characters> specification = createSpecification(criteria);
+        return charactersRepository.count(specification);
+    }
+
+    private Specification<Characters> createAfterIdSpecification(CharactersCriteria criteria, Long after) {
+        Specification<Characters> specification = createSpecification(criteria);
+        if (after != null) {
+            specification = specification.and((root, query, builder) -> builder.greaterThan(root.get(Characters_.id), after));
+        }
+        return specification;
+    }
+
+    private static Selection<CharactersSummaryDTO> summary(Root<Characters> root, CriteriaBuilder builder) {
+        return builder.construct(
+            CharactersSummaryDTO.class,
+            root.get(Characters_.id),
+            root.get(Characters_.fullname),
+            root.get(Characters_.thumbnailHash)
+        );
+    }
+
+    /**
+     * Function to convert {@link CharactersCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Characters> createSpecification(CharactersCriteria criteria) {
+        Specification<Characters> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Characters_.id));
+            }
+            if (criteria.getFullname() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getFullname(), Characters_.fullname));
+            }
+            if (criteria.getDescription() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getDescription(), Characters_.description));
+            }
+            if (criteria.getSeriesId() != null) {
+                specification =
+                    specification.and(
+                        buildSpecification(criteria.getSeriesId(), root -> root.join(Characters_.series, JoinType.LEFT).get(Series_.id))
+                    );
+            }
+        }
+        return specification;
+    }
+}
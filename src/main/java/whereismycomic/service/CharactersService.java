@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import whereismycomic.domain.Characters;
@@ -20,8 +21,18 @@ public class CharactersService {
 
     private final CharactersRepository charactersRepository;
 
-    public CharactersService(CharactersRepository charactersRepository) {
+    private final ThumbnailStorageService thumbnailStorageService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CharactersService(
+        CharactersRepository charactersRepository,
+        ThumbnailStorageService thumbnailStorageService,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.charactersRepository = charactersRepository;
+        this.thumbnailStorageService = thumbnailStorageService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -32,7 +43,8 @@ public class CharactersService {
      */
     public Characters save(Characters characters) {
         log.debug("Request to save Characters : {}", characters);
-        return charactersRepository.save(characters);
+        storeThumbnail(characters);
+        return saveAndPublish(characters);
     }
 
     /**
@@ -43,7 +55,12 @@ public class CharactersService {
      */
     public Characters update(Characters characters) {
         log.debug("Request to save Characters : {}", characters);
-        return charactersRepository.save(characters);
+        if (characters.getThumbnail() != null) {
+            storeThumbnail(characters);
+        } else {
+            keepStoredThumbnail(characters);
+        }
+        return saveAndPublish(characters);
     }
 
     /**
@@ -65,15 +82,15 @@ public class CharactersService {
                     existingCharacters.setDescription(characters.getDescription());
                 }
                 if (characters.getThumbnail() != null) {
-                    existingCharacters.setThumbnail(characters.getThumbnail());
-                }
-                if (characters.getThumbnailContentType() != null) {
+                    // The content type only changes with the image it describes
+                    ThumbnailStorageService.checkContentType(characters.getThumbnailContentType());
+                    existingCharacters.setThumbnailHash(thumbnailStorageService.store(characters.getThumbnail()));
                     existingCharacters.setThumbnailContentType(characters.getThumbnailContentType());
                 }
 
                 return existingCharacters;
             })
-            .map(charactersRepository::save);
+            .map(this::saveAndPublish);
     }
 
     /**
@@ -107,5 +124,35 @@ public class CharactersService {
     public void delete(Long id) {
         log.debug("Request to delete Characters : {}", id);
         charactersRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(Characters.class, id));
+    }
+
+    private void storeThumbnail(Characters characters) {
+        if (characters.getThumbnail() != null) {
+            ThumbnailStorageService.checkContentType(characters.getThumbnailContentType());
+            characters.setThumbnailHash(thumbnailStorageService.store(characters.getThumbnail()));
+            characters.setThumbnail(null);
+        } else {
+            characters.setThumbnailHash(null);
+            characters.setThumbnailContentType(null);
+        }
+    }
+
+    /**
+     * Without new bytes, the stored thumbnail and its content type are kept, unless the client cleared the content type
+     * to remove it.
+     */
+    private void keepStoredThumbnail(Characters characters) {
+        Optional<Characters> stored = characters.getThumbnailContentType() == null
+            ? Optional.empty()
+            : charactersRepository.findById(characters.getId()).filter(existing -> existing.getThumbnailHash() != null);
+        characters.setThumbnailHash(stored.map(Characters::getThumbnailHash).orElse(null));
+        characters.setThumbnailContentType(stored.map(Characters::getThumbnailContentType).orElse(null));
+    }
+
+    private Characters saveAndPublish(Characters characters) {
+        Characters result = charactersRepository.save(characters);
+        eventPublisher.publishEvent(EntityChangedEvent.saved(Characters.class, result.getId()));
+        return result;
     }
 }
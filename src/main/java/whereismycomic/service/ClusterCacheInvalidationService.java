@@ -0,0 +1,306 @@
+package whereismycomic.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import whereismycomic.config.Constants;
+import whereismycomic.domain.Characters;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+import whereismycomic.domain.User;
+import whereismycomic.repository.UserRepository;
+import whereismycomic.security.UserNearCache;
+
+/**
+ * Invalidation of the local caches of the nodes sharing a PostgreSQL database, enabled by the {@code cluster} profile.
+ * <p>
+ * Each node keeps its own second-level cache. When an entity service changes an entity, a {@code pg_notify} on the
+ * {@code cache_invalidation} channel is sent in its transaction, so PostgreSQL only delivers it once committed. Every
+ * other node listens to the channel on a dedicated connection, and evicts the entity, the cached collections it may
+ * belong to and the cached query results depending on its type. Changes of users are notified the same way, and evict
+ * the user with its authorities from the second-level cache, the user caches of the {@code UserRepository} and the
+ * {@link UserNearCache}, so that a user deactivated or demoted on one node is on all of them. If the connection is
+ * lost, the notifications sent meanwhile are too: the caches are cleared once it is reopened. A notification which
+ * cannot be applied clears them too, rather than stopping the listener.
+ */
+@Service
+@Profile(Constants.SPRING_PROFILE_CLUSTER)
+public class ClusterCacheInvalidationService implements SmartLifecycle {
+
+    public static final String CHANNEL = "cache_invalidation";
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private static final String USER_TYPE = User.class.getSimpleName();
+
+    private static final String NO_VALUE = "-";
+
+    private static final String ALL_IDS = "*";
+
+    /**
+     * The longest list of ids notified, as {@code pg_notify} payloads are limited to 8000 bytes.
+     */
+    private static final int MAX_IDS_LENGTH = 7000;
+
+    private static final Map<String, Class<?>> ENTITY_TYPES = Map.of(
+        Comic.class.getSimpleName(),
+        Comic.class,
+        Series.class.getSimpleName(),
+        Series.class,
+        Characters.class.getSimpleName(),
+        Characters.class
+    );
+
+    /**
+     * The cached collections which may contain an entity of each type.
+     */
+    private static final Map<Class<?>, List<String>> COLLECTION_ROLES = Map.of(
+        Comic.class,
+        List.of(Series.class.getName() + ".comics"),
+        Series.class,
+        List.of(Characters.class.getName() + ".series"),
+        Characters.class,
+        List.of()
+    );
+
+    private final Logger log = LoggerFactory.getLogger(ClusterCacheInvalidationService.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final DataSource dataSource;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SessionFactory sessionFactory;
+
+    private final QueryResultCache queryResultCache;
+
+    private final CacheManager cacheManager;
+
+    private final UserNearCache userNearCache;
+
+    private volatile boolean running;
+
+    private volatile boolean enabled;
+
+    private Thread listener;
+
+    public ClusterCacheInvalidationService(
+        DataSource dataSource,
+        JdbcTemplate jdbcTemplate,
+        EntityManagerFactory entityManagerFactory,
+        QueryResultCache queryResultCache,
+        CacheManager cacheManager,
+        UserNearCache userNearCache
+    ) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.queryResultCache = queryResultCache;
+        this.cacheManager = cacheManager;
+        this.userNearCache = userNearCache;
+    }
+
+    /**
+     * Notify the other nodes of a change, once its transaction is committed.
+     *
+     * @param event the change.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || !ENTITY_TYPES.containsKey(event.getEntityType().getSimpleName())) {
+            return;
+        }
+        notify(event.getEntityType().getSimpleName() + ' ' + event.getId());
+    }
+
+    /**
+     * Notify the other nodes of a batch of changes at once, once its transaction is committed.
+     *
+     * @param event the changes.
+     */
+    @EventListener
+    public void onEntitiesChanged(EntitiesChangedEvent event) {
+        if (!enabled || !ENTITY_TYPES.containsKey(event.getEntityType().getSimpleName())) {
+            return;
+        }
+        String ids = event.getIds().stream().map(String::valueOf).collect(Collectors.joining(","));
+        // Too many ids evict every entity of the type instead
+        notify(event.getEntityType().getSimpleName() + ' ' + (ids.length() > MAX_IDS_LENGTH ? ALL_IDS : ids));
+    }
+
+    /**
+     * Notify the other nodes of a change of a user, once its transaction is committed.
+     *
+     * @param event the change.
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // Logins and emails have no spaces
+        notify(USER_TYPE + ' ' + valueOf(event.getId()) + ' ' + valueOf(event.getLogin()) + ' ' + valueOf(event.getEmail()));
+    }
+
+    private void notify(String change) {
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> {}, CHANNEL, nodeId + ' ' + change);
+    }
+
+    @Override
+    public synchronized void start() {
+        try (Connection connection = dataSource.getConnection()) {
+            enabled = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Could not check the database, cache invalidations will not be shared: {}", e.getMessage());
+        }
+        if (!enabled) {
+            log.warn("Cache invalidations are only shared through PostgreSQL, each node only sees its own changes");
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnected = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + CHANNEL);
+                }
+                log.debug("Listening to cache invalidations of node {}", nodeId);
+                if (reconnected) {
+                    evictAll();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receiveOrEvictAll(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                // Whatever went wrong, keep listening: the caches are cleared once reconnected
+                log.warn("Lost the cache invalidation connection, reconnecting: {}", e.getMessage(), e);
+                reconnected = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receiveOrEvictAll(String payload) {
+        try {
+            receive(payload);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply the cache invalidation '{}', clearing the caches: {}", payload, e.getMessage(), e);
+            evictAll();
+        }
+    }
+
+    private void receive(String payload) {
+        String[] parts = payload.split(" ");
+        if (parts.length == 5 && USER_TYPE.equals(parts[1]) && !parts[0].equals(nodeId)) {
+            receiveUser(parts);
+            return;
+        }
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        Class<?> entityType = ENTITY_TYPES.get(parts[1]);
+        if (entityType == null) {
+            return;
+        }
+        log.trace("Evicting {} {} changed on node {}", parts[1], parts[2], parts[0]);
+        if (ALL_IDS.equals(parts[2])) {
+            sessionFactory.getCache().evictEntityData(entityType);
+        } else {
+            for (String id : parts[2].split(",")) {
+                sessionFactory.getCache().evictEntityData(entityType, Long.valueOf(id));
+            }
+        }
+        COLLECTION_ROLES.get(entityType).forEach(role -> sessionFactory.getCache().evictCollectionData(role));
+        queryResultCache.bump(entityType);
+    }
+
+    private void receiveUser(String[] parts) {
+        log.trace("Evicting User {} changed on node {}", parts[3], parts[0]);
+        if (!NO_VALUE.equals(parts[2])) {
+            Long id = Long.valueOf(parts[2]);
+            sessionFactory.getCache().evictEntityData(User.class, id);
+            sessionFactory.getCache().evictCollectionData(User.class.getName() + ".authorities", id);
+        }
+        String login = NO_VALUE.equals(parts[3]) ? null : parts[3];
+        String email = NO_VALUE.equals(parts[4]) ? null : parts[4];
+        if (login != null) {
+            userCache(UserRepository.USERS_BY_LOGIN_CACHE).evict(login);
+        }
+        if (email != null) {
+            userCache(UserRepository.USERS_BY_EMAIL_CACHE).evict(email);
+        }
+        userNearCache.evict(login, email);
+    }
+
+    private void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+        ENTITY_TYPES.values().forEach(queryResultCache::bump);
+        userCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        userCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+        userNearCache.clear();
+    }
+
+    private org.springframework.cache.Cache userCache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name));
+    }
+
+    private static String valueOf(Object value) {
+        return value == null ? NO_VALUE : value.toString();
+    }
+}
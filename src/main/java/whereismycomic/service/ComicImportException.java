@@ -0,0 +1,14 @@
+package whereismycomic.service;
+
+/**
+ * Thrown when an import of comics cannot go on because of the database or the storage, rather than of the rows it reads:
+ * the batches committed so far stay imported.
+ */
+public class ComicImportException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ComicImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
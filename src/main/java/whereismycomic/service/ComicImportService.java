@@ -0,0 +1,495 @@
+package whereismycomic.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+import whereismycomic.service.dto.ComicImportSummaryDTO;
+
+/**
+ * Bulk import of comics, from a JSON array of comics or from CSV rows in the format of the sample data.
+ * <p>
+ * The request body is streamed: rows are parsed one at a time, validated, and inserted in batches of
+ * {@code application.bulk-import.batch-size} rows, each batch in its own transaction and as JDBC batches of
+ * {@code application.bulk-import.jdbc-batch-size} rows. Rejected rows are reported in the summary and do not prevent the
+ * others from being imported; a batch whose rows fail to insert is rolled back on its own and its rows rejected, the
+ * batches before it staying committed. Any other failure of a batch, such as a lost connection or a failed checkpoint,
+ * stops the import with a {@link ComicImportException}.
+ */
+@Service
+public class ComicImportService {
+
+    /**
+     * The formats of the imported comics.
+     */
+    public enum Format {
+        JSON,
+        CSV,
+    }
+
+    private static final char CSV_SEPARATOR = ';';
+
+    private final Logger log = LoggerFactory.getLogger(ComicImportService.class);
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final ThumbnailStorageService thumbnailStorageService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ApplicationProperties.BulkImport properties;
+
+    public ComicImportService(
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ThumbnailStorageService thumbnailStorageService,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.thumbnailStorageService = thumbnailStorageService;
+        this.eventPublisher = eventPublisher;
+        this.properties = applicationProperties.getBulkImport();
+    }
+
+    /**
+     * Import a JSON array of comics, as sent to {@code POST /api/comics}.
+     *
+     * @param in the JSON array.
+     * @return the summary of the import.
+     */
+    public ComicImportSummaryDTO importJson(InputStream in) {
+        log.debug("Request to import Comics from JSON");
+        return importComics(Format.JSON, in, new ComicImportSummaryDTO(), summary -> {});
+    }
+
+    /**
+     * Import CSV rows in the format of the sample data: separated by semicolons, with a header row naming the columns
+     * among {@code issuenumber}, {@code location}, {@code title}, {@code description} and {@code series_id}. Other
+     * columns, such as the {@code id} and the {@code thumbnail} file of the sample data, are ignored.
+     *
+     * @param in the CSV rows, encoded in UTF-8.
+     * @return the summary of the import.
+     */
+    public ComicImportSummaryDTO importCsv(InputStream in) {
+        log.debug("Request to import Comics from CSV");
+        return importComics(Format.CSV, in, new ComicImportSummaryDTO(), summary -> {});
+    }
+
+    /**
+     * Import comics, or resume their import.
+     *
+     * @param format the format of the comics, see {@link #importJson(InputStream)} and {@link #importCsv(InputStream)}.
+     * @param in the comics.
+     * @param summary the summary of an interrupted import of the same comics, whose rows are skipped, or an empty
+     * summary; it is updated as the rows are imported.
+     * @param checkpoint called with the summary in the transaction of each batch, once its rows are inserted, so that
+     * the progress it records is committed with them.
+     * @return the summary of the import.
+     * @throws ComicImportException if a batch could not be imported for another reason than its rows.
+     */
+    public ComicImportSummaryDTO importComics(
+        Format format,
+        InputStream in,
+        ComicImportSummaryDTO summary,
+        Consumer<ComicImportSummaryDTO> checkpoint
+    ) {
+        long start = System.currentTimeMillis();
+        long previousDuration = summary.getDurationMillis();
+        Consumer<ComicImportSummaryDTO> timedCheckpoint = progress -> {
+            progress.setDurationMillis(previousDuration + System.currentTimeMillis() - start);
+            checkpoint.accept(progress);
+        };
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<Row> batch = new ArrayList<>(batchSize);
+        try (ComicReader reader = format == Format.CSV ? new CsvComicReader(in) : new JsonComicReader(in)) {
+            skip(reader, summary.getRows());
+            while (true) {
+                long row = summary.getRows() + 1;
+                Comic comic;
+                try {
+                    comic = reader.next();
+                } catch (InvalidRowException e) {
+                    summary.setRows(row);
+                    reject(summary, row, e.getMessage());
+                    continue;
+                }
+                if (comic == null) {
+                    break;
+                }
+                summary.setRows(row);
+                String error = validate(comic);
+                if (error != null) {
+                    reject(summary, row, error);
+                    continue;
+                }
+                batch.add(new Row(row, comic));
+                if (batch.size() == batchSize) {
+                    insert(batch, summary, timedCheckpoint);
+                    batch.clear();
+                }
+            }
+        } catch (ComicImportException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            // The body cannot be read past a malformed row
+            log.debug("Aborting the import of Comics: {}", e.getMessage());
+            summary.setStatus(ComicImportSummaryDTO.Status.ABORTED);
+            reject(summary, summary.getRows() + 1, "Unreadable row: " + e.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            insert(batch, summary, timedCheckpoint);
+        }
+        summary.setDurationMillis(previousDuration + System.currentTimeMillis() - start);
+        log.info("Imported Comics: {}", summary);
+        return summary;
+    }
+
+    /**
+     * Skip the rows already imported, rejected ones included.
+     */
+    private void skip(ComicReader reader, long rows) throws IOException {
+        for (long skipped = 0; skipped < rows; skipped++) {
+            try {
+                if (reader.next() == null) {
+                    return;
+                }
+            } catch (InvalidRowException e) {
+                // Already rejected
+            }
+        }
+    }
+
+    private String validate(Comic comic) {
+        if (comic.getId() != null) {
+            return "A new comic cannot already have an ID";
+        }
+        if (comic.getThumbnail() == null) {
+            comic.setThumbnailContentType(null);
+        } else if (!ThumbnailStorageService.isImageContentType(comic.getThumbnailContentType())) {
+            return "thumbnailContentType must be a PNG, JPEG, GIF, WebP or BMP image";
+        }
+        Set<ConstraintViolation<Comic>> violations = validator.validate(comic);
+        if (!violations.isEmpty()) {
+            return violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+        }
+        return null;
+    }
+
+    private void insert(List<Row> batch, ComicImportSummaryDTO summary, Consumer<ComicImportSummaryDTO> checkpoint) {
+        long imported = summary.getImported();
+        long rejected = summary.getRejected();
+        int errors = summary.getErrors().size();
+        int batches = summary.getBatches();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(Math.max(1, properties.getJdbcBatchSize()));
+                Set<Long> seriesIds = existingSeriesIds(batch);
+                List<Long> persisted = new ArrayList<>(batch.size());
+                for (Row row : batch) {
+                    Comic comic = row.comic;
+                    if (comic.getSeries() != null) {
+                        Long seriesId = comic.getSeries().getId();
+                        if (!seriesIds.contains(seriesId)) {
+                            reject(summary, row.number, "Unknown series " + seriesId);
+                            continue;
+                        }
+                        comic.setSeries(entityManager.getReference(Series.class, seriesId));
+                    }
+                    if (comic.getThumbnail() != null) {
+                        comic.setThumbnailHash(thumbnailStorageService.store(comic.getThumbnail()));
+                        comic.setThumbnail(null);
+                    }
+                    entityManager.persist(comic);
+                    persisted.add(comic.getId());
+                }
+                // One change for the whole batch: a single outbox insert batch and cache invalidation
+                if (!persisted.isEmpty()) {
+                    eventPublisher.publishEvent(EntitiesChangedEvent.saved(Comic.class, persisted));
+                }
+                summary.setImported(imported + persisted.size());
+                summary.setBatches(batches + 1);
+                checkpoint.accept(summary);
+            });
+        } catch (RuntimeException e) {
+            // Back to the summary of the previous batch
+            summary.setImported(imported);
+            summary.setRejected(rejected);
+            summary.getErrors().subList(Math.min(errors, summary.getErrors().size()), summary.getErrors().size()).clear();
+            if (!isRowError(e)) {
+                throw new ComicImportException("Could not import a batch of Comics", e);
+            }
+            log.warn("Could not import a batch of Comics: {}", e.getMessage());
+            summary.setBatches(batches + 1);
+            batch.forEach(row -> {
+                // Imported again if the batch is retried
+                row.comic.setId(null);
+                reject(summary, row.number, "Batch rolled back: " + e.getMessage());
+            });
+        }
+    }
+
+    /**
+     * Whether a batch failed because of the rows it holds, such as a constraint they break, rather than of the database.
+     */
+    private static boolean isRowError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (
+                cause instanceof DataIntegrityViolationException ||
+                cause instanceof org.hibernate.exception.ConstraintViolationException ||
+                cause instanceof org.hibernate.exception.DataException ||
+                cause instanceof javax.validation.ConstraintViolationException
+            ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<Long> existingSeriesIds(List<Row> batch) {
+        Set<Long> ids = batch
+            .stream()
+            .map(row -> row.comic.getSeries())
+            .filter(Objects::nonNull)
+            .map(Series::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        return new HashSet<>(
+            entityManager.createQuery("select s.id from Series s where s.id in :ids", Long.class).setParameter("ids", ids).getResultList()
+        );
+    }
+
+    private void reject(ComicImportSummaryDTO summary, long row, String message) {
+        summary.setRejected(summary.getRejected() + 1);
+        if (summary.getErrors().size() < properties.getMaxErrors()) {
+            summary.getErrors().add(new ComicImportSummaryDTO.RowErrorDTO(row, message));
+        }
+    }
+
+    private static final class Row {
+
+        private final long number;
+
+        private final Comic comic;
+
+        private Row(long number, Comic comic) {
+            this.number = number;
+            this.comic = comic;
+        }
+    }
+
+    /**
+     * Reads the comics of a request body, one at a time.
+     */
+    private interface ComicReader extends AutoCloseable {
+        /**
+         * @return the next comic, or {@code null} once all were read.
+         * @throws InvalidRowException if the row cannot be converted to a comic, the next rows being readable.
+         * @throws IOException if the body cannot be read any further.
+         */
+        Comic next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static class InvalidRowException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        InvalidRowException(String message) {
+            super(message);
+        }
+    }
+
+    private class JsonComicReader implements ComicReader {
+
+        private final InputStream in;
+
+        private JsonParser parser;
+
+        JsonComicReader(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public Comic next() throws IOException {
+            if (parser == null) {
+                parser = objectMapper.getFactory().createParser(in);
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IOException("Expected an array of comics");
+                }
+            }
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a comic, got " + token);
+            }
+            // Read whole first, so that a row whose values do not fit a comic is rejected without losing the next ones
+            JsonNode row = objectMapper.readTree(parser);
+            try {
+                return objectMapper.treeToValue(row, Comic.class);
+            } catch (JsonProcessingException e) {
+                throw new InvalidRowException("Invalid comic: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (parser != null) {
+                parser.close();
+            }
+        }
+    }
+
+    private static class CsvComicReader implements ComicReader {
+
+        private final Reader reader;
+
+        private Map<String, Integer> columns;
+
+        CsvComicReader(InputStream in) {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Comic next() throws IOException {
+            if (columns == null) {
+                List<String> header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+            List<String> record = readRecord();
+            while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+                record = readRecord();
+            }
+            if (record == null) {
+                return null;
+            }
+            Comic comic = new Comic()
+                .location(value(record, "location"))
+                .title(value(record, "title"))
+                .description(value(record, "description"));
+            String issuenumber = value(record, "issuenumber");
+            String seriesId = value(record, "series_id");
+            try {
+                comic.setIssuenumber(issuenumber != null ? Integer.valueOf(issuenumber.trim()) : null);
+                comic.setSeries(seriesId != null ? new Series().id(Long.valueOf(seriesId.trim())) : null);
+            } catch (NumberFormatException e) {
+                throw new InvalidRowException("Invalid number: " + e.getMessage());
+            }
+            return comic;
+        }
+
+        private String value(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+                return null;
+            }
+            return record.get(index);
+        }
+
+        /**
+         * Read a record, whose values may be quoted with double quotes to hold separators, line breaks or doubled
+         * double quotes.
+         *
+         * @return the values of the record, or {@code null} at the end of the body.
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        value.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == CSV_SEPARATOR) {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    value.append((char) c);
+                }
+                c = reader.read();
+            }
+            values.add(value.toString());
+            return values;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
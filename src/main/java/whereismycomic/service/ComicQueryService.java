@@ -1,36 +1,56 @@
 package whereismycomic.service;
 
 import java.util.List;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 import whereismycomic.domain.*; // for static metamodels
 import whereismycomic.domain.Comic;
 import whereismycomic.repository.ComicRepository;
 import whereismycomic.service.criteria.ComicCriteria;
+import whereismycomic.service.dto.ComicSummaryDTO;
 
 /**
  * Service for executing complex queries for {@link Comic} entities in the database.
  * The main input is a {@link ComicCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
- * It returns a {@link List} of {@link Comic} or a {@link Page} of {@link Comic} which fulfills the criteria.
+ * It returns a {@link List} of {@link Comic}, a {@link Page} of {@link Comic} or a keyset {@link Slice} of {@link Comic}
+ * which fulfills the criteria.
  */
 @Service
 @Transactional(readOnly = true)
-public class ComicQueryService extends QueryService<Comic> {
+public class ComicQueryService extends KeysetQueryService<Comic> {
+
+    /**
+     * The entity types whose changes can change the result of a query.
+     */
+    private static final List<Class<?>> QUERY_DEPENDENCIES = List.of(Comic.class);
 
     private final Logger log = LoggerFactory.getLogger(ComicQueryService.class);
 
     private final ComicRepository comicRepository;
 
-    public ComicQueryService(ComicRepository comicRepository) {
+    private final QueryResultCache queryResultCache;
+
+    public ComicQueryService(ComicRepository comicRepository, EntityManager entityManager, QueryResultCache queryResultCache) {
+        super(entityManager, Comic.class, "Comic.series");
         this.comicRepository = comicRepository;
+        this.queryResultCache = queryResultCache;
     }
 
     /**
@@ -55,7 +75,105 @@ public class ComicQueryService extends QueryService<Comic> {
     public Page<Comic> findByCriteria(ComicCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Comic> specification = createSpecification(criteria);
-        return comicRepository.findAll(specification, page);
+        if (!isCacheable(criteria)) {
+            return comicRepository.findAll(specification, page);
+        }
+        QueryResultCache.Ids ids = queryResultCache.get(
+            QueryResultCache.COMIC_QUERIES_CACHE,
+            QUERY_DEPENDENCIES,
+            "page:" + QueryResultCache.canonical(criteria) + ":" + page,
+            () -> QueryResultCache.Ids.of(findPage(specification, page, Long.class, (root, builder) -> root.get(Comic_.id)))
+        );
+        return new PageImpl<>(findAllById(ids.getIds()), page, ids.getTotal());
+    }
+
+    /**
+     * Return a {@link Page} of {@link ComicSummaryDTO} which matches the criteria from the database.
+     * Only the columns of the summary are selected, and no entity is loaded.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the summaries of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<ComicSummaryDTO> findSummariesByCriteria(ComicCriteria criteria, Pageable page) {
+        log.debug("find summaries by criteria : {}, page: {}", criteria, page);
+        final Specification<Comic> specification = createSpecification(criteria);
+        return findPage(specification, page, ComicSummaryDTO.class, ComicQueryService::summary);
+    }
+
+    /**
+     * Return a keyset {@link Slice} of {@link Comic} which matches the criteria from the database, ordered by id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice, or {@code null} for the first slice.
+     * @param size The size of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Comic> findByCriteriaAfterId(ComicCriteria criteria, Long after, int size) {
+        log.debug("find by criteria : {}, after id: {}, size: {}", criteria, after, size);
+        final Specification<Comic> specification = createAfterIdSpecification(criteria, after);
+        final Sort sort = Sort.by(Comic_.ID);
+        if (!isCacheable(criteria)) {
+            return findSlice(specification, sort, size);
+        }
+        QueryResultCache.Ids ids = queryResultCache.get(
+            QueryResultCache.COMIC_QUERIES_CACHE,
+            QUERY_DEPENDENCIES,
+            "slice:" + QueryResultCache.canonical(criteria) + ":" + after + ":" + size,
+            () -> QueryResultCache.Ids.of(findSlice(specification, sort, size, Long.class, (root, builder) -> root.get(Comic_.id)))
+        );
+        return new SliceImpl<>(findAllById(ids.getIds()), PageRequest.of(0, size, sort), ids.hasNext());
+    }
+
+    /**
+     * Return a keyset {@link Slice} of {@link ComicSummaryDTO} which matches the criteria from the database, ordered by id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice, or {@code null} for the first slice.
+     * @param size The size of the slice.
+     * @return the summaries of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ComicSummaryDTO> findSummariesByCriteriaAfterId(ComicCriteria criteria, Long after, int size) {
+        log.debug("find summaries by criteria : {}, after id: {}, size: {}", criteria, after, size);
+        return findSlice(
+            createAfterIdSpecification(criteria, after),
+            Sort.by(Comic_.ID),
+            size,
+            ComicSummaryDTO.class,
+            ComicQueryService::summary
+        );
+    }
+
+    /**
+     * Return a keyset {@link Slice} of {@link Comic} which matches the criteria from the database, ordered by issuenumber and id.
+     * Comics without an issuenumber have no place in this order, so they are never returned.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice, or {@code null} for the first slice.
+     * @param size The size of the slice.
+     * @return the matching entities, or empty if the entity to start after does not exist or has no issuenumber.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Slice<Comic>> findByCriteriaAfterIssuenumber(ComicCriteria criteria, Long after, int size) {
+        log.debug("find by criteria : {}, after issuenumber of id: {}, size: {}", criteria, after, size);
+        return createAfterIssuenumberSpecification(criteria, after)
+            .map(specification -> findSlice(specification, Sort.by(Comic_.ISSUENUMBER, Comic_.ID), size));
+    }
+
+    /**
+     * Return a keyset {@link Slice} of {@link ComicSummaryDTO} which matches the criteria from the database, ordered by issuenumber
+     * and id. Comics without an issuenumber have no place in this order, so they are never returned.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice, or {@code null} for the first slice.
+     * @param size The size of the slice.
+     * @return the summaries of the matching entities, or empty if the entity to start after does not exist or has no issuenumber.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Slice<ComicSummaryDTO>> findSummariesByCriteriaAfterIssuenumber(ComicCriteria criteria, Long after, int size) {
+        log.debug("find summaries by criteria : {}, after issuenumber of id: {}, size: {}", criteria, after, size);
+        return createAfterIssuenumberSpecification(criteria, after)
+            .map(specification ->
+                findSlice(specification, Sort.by(Comic_.ISSUENUMBER, Comic_.ID), size, ComicSummaryDTO.class, ComicQueryService::summary)
+            );
     }
 
     /**
@@ -67,7 +185,59 @@ public class ComicQueryService extends QueryService<Comic> {
     public long countByCriteria(ComicCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Comic> specification = createSpecification(criteria);
-        return comicRepository.count(specification);
+        return queryResultCache.get(
+            QueryResultCache.COMIC_QUERIES_CACHE,
+            QUERY_DEPENDENCIES,
+            "count:" + QueryResultCache.canonical(criteria),
+            () -> comicRepository.count(specification)
+        );
+    }
+
+    private boolean isCacheable(ComicCriteria criteria) {
+        // Distinct queries can't be ordered by columns other than the selected id
+        return queryResultCache.isCacheable(QUERY_DEPENDENCIES) && (criteria == null || !Boolean.TRUE.equals(criteria.getDistinct()));
+    }
+
+    private Specification<Comic> createAfterIdSpecification(ComicCriteria criteria, Long after) {
+        Specification<Comic> specification = createSpecification(criteria);
+        if (after != null) {
+            specification = specification.and((root, query, builder) -> builder.greaterThan(root.get(Comic_.id), after));
+        }
+        return specification;
+    }
+
+    private Optional<Specification<Comic>> createAfterIssuenumberSpecification(ComicCriteria criteria, Long after) {
+        Specification<Comic> specification = createSpecification(criteria)
+            .and((root, query, builder) -> builder.isNotNull(root.get(Comic_.issuenumber)));
+        if (after == null) {
+            return Optional.of(specification);
+        }
+        Optional<Integer> afterIssuenumber = comicRepository.findById(after).map(Comic::getIssuenumber);
+        if (afterIssuenumber.isEmpty()) {
+            return Optional.empty();
+        }
+        Integer issuenumber = afterIssuenumber.get();
+        return Optional.of(
+            specification.and((root, query, builder) ->
+                builder.or(
+                    builder.greaterThan(root.get(Comic_.issuenumber), issuenumber),
+                    builder.and(builder.equal(root.get(Comic_.issuenumber), issuenumber), builder.greaterThan(root.get(Comic_.id), after))
+                )
+            )
+        );
+    }
+
+    private static Selection<ComicSummaryDTO> summary(Root<Comic> root, CriteriaBuilder builder) {
+        // The id of the series is read from the foreign key column, without joining the series table
+        return builder.construct(
+            ComicSummaryDTO.class,
+            root.get(Comic_.id),
+            root.get(Comic_.issuenumber),
+            root.get(Comic_.title),
+            root.get(Comic_.location),
+            root.get(Comic_.series).get(Series_.id),
+            root.get(Comic_.thumbnailHash)
+        );
     }
 
     /**
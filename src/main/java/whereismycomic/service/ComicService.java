@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import whereismycomic.domain.Comic;
@@ -20,8 +21,18 @@ public class ComicService {
 
     private final ComicRepository comicRepository;
 
-    public ComicService(ComicRepository comicRepository) {
+    private final ThumbnailStorageService thumbnailStorageService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ComicService(
+        ComicRepository comicRepository,
+        ThumbnailStorageService thumbnailStorageService,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.comicRepository = comicRepository;
+        this.thumbnailStorageService = thumbnailStorageService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -32,7 +43,8 @@ public class ComicService {
      */
     public Comic save(Comic comic) {
         log.debug("Request to save Comic : {}", comic);
-        return comicRepository.save(comic);
+        storeThumbnail(comic);
+        return saveAndPublish(comic);
     }
 
     /**
@@ -43,7 +55,12 @@ public class ComicService {
      */
     public Comic update(Comic comic) {
         log.debug("Request to save Comic : {}", comic);
-        return comicRepository.save(comic);
+        if (comic.getThumbnail() != null) {
+            storeThumbnail(comic);
+        } else {
+            keepStoredThumbnail(comic);
+        }
+        return saveAndPublish(comic);
     }
 
     /**
@@ -56,7 +73,7 @@ public class ComicService {
         log.debug("Request to partially update Comic : {}", comic);
 
         return comicRepository
-            .findById(comic.getId())
+            .findOneWithEagerRelationships(comic.getId())
             .map(existingComic -> {
                 if (comic.getIssuenumber() != null) {
                     existingComic.setIssuenumber(comic.getIssuenumber());
@@ -71,15 +88,15 @@ public class ComicService {
                     existingComic.setDescription(comic.getDescription());
                 }
                 if (comic.getThumbnail() != null) {
-                    existingComic.setThumbnail(comic.getThumbnail());
-                }
-                if (comic.getThumbnailContentType() != null) {
+                    // The content type only changes with the image it describes
+                    ThumbnailStorageService.checkContentType(comic.getThumbnailContentType());
+                    existingComic.setThumbnailHash(thumbnailStorageService.store(comic.getThumbnail()));
                     existingComic.setThumbnailContentType(comic.getThumbnailContentType());
                 }
 
                 return existingComic;
             })
-            .map(comicRepository::save);
+            .map(this::saveAndPublish);
     }
 
     /**
@@ -102,7 +119,7 @@ public class ComicService {
     @Transactional(readOnly = true)
     public Optional<Comic> findOne(Long id) {
         log.debug("Request to get Comic : {}", id);
-        return comicRepository.findById(id);
+        return comicRepository.findOneWithEagerRelationships(id);
     }
 
     /**
@@ -113,5 +130,35 @@ public class ComicService {
     public void delete(Long id) {
         log.debug("Request to delete Comic : {}", id);
         comicRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(Comic.class, id));
+    }
+
+    private void storeThumbnail(Comic comic) {
+        if (comic.getThumbnail() != null) {
+            ThumbnailStorageService.checkContentType(comic.getThumbnailContentType());
+            comic.setThumbnailHash(thumbnailStorageService.store(comic.getThumbnail()));
+            comic.setThumbnail(null);
+        } else {
+            comic.setThumbnailHash(null);
+            comic.setThumbnailContentType(null);
+        }
+    }
+
+    /**
+     * Without new bytes, the stored thumbnail and its content type are kept, unless the client cleared the content type
+     * to remove it.
+     */
+    private void keepStoredThumbnail(Comic comic) {
+        Optional<Comic> stored = comic.getThumbnailContentType() == null
+            ? Optional.empty()
+            : comicRepository.findById(comic.getId()).filter(existing -> existing.getThumbnailHash() != null);
+        comic.setThumbnailHash(stored.map(Comic::getThumbnailHash).orElse(null));
+        comic.setThumbnailContentType(stored.map(Comic::getThumbnailContentType).orElse(null));
+    }
+
+    private Comic saveAndPublish(Comic comic) {
+        Comic result = comicRepository.save(comic);
+        eventPublisher.publishEvent(EntityChangedEvent.saved(Comic.class, result.getId()));
+        return result;
     }
 }
@@ -0,0 +1,50 @@
+package whereismycomic.service;
+
+import java.util.List;
+
+/**
+ * Published by the bulk operations when a batch of catalogue entities of the same type is saved or deleted, instead of
+ * an {@link EntityChangedEvent} for each of them.
+ * <p>
+ * Listeners handle the batch at once, such as writing it to the outbox as one JDBC batch.
+ */
+public class EntitiesChangedEvent {
+
+    private final Class<?> entityType;
+
+    private final List<Long> ids;
+
+    private final EntityChangedEvent.Change change;
+
+    public EntitiesChangedEvent(Class<?> entityType, List<Long> ids, EntityChangedEvent.Change change) {
+        this.entityType = entityType;
+        this.ids = List.copyOf(ids);
+        this.change = change;
+    }
+
+    public static EntitiesChangedEvent saved(Class<?> entityType, List<Long> ids) {
+        return new EntitiesChangedEvent(entityType, ids, EntityChangedEvent.Change.SAVED);
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public EntityChangedEvent.Change getChange() {
+        return change;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntitiesChangedEvent{" +
+            "entityType=" + entityType.getSimpleName() +
+            ", ids=" + ids.size() +
+            ", change=" + change +
+            "}";
+    }
+}
@@ -0,0 +1,76 @@
+package whereismycomic.service;
+
+import java.util.Objects;
+
+/**
+ * Published by the entity services when a catalogue entity is saved or deleted.
+ * <p>
+ * Only the type and id of the entity are carried: listeners reload the entity if they need its state,
+ * which is only visible to them once the transaction is committed.
+ */
+public class EntityChangedEvent {
+
+    public enum Change {
+        SAVED,
+        DELETED,
+    }
+
+    private final Class<?> entityType;
+
+    private final Long id;
+
+    private final Change change;
+
+    public EntityChangedEvent(Class<?> entityType, Long id, Change change) {
+        this.entityType = entityType;
+        this.id = id;
+        this.change = change;
+    }
+
+    public static EntityChangedEvent saved(Class<?> entityType, Long id) {
+        return new EntityChangedEvent(entityType, id, Change.SAVED);
+    }
+
+    public static EntityChangedEvent deleted(Class<?> entityType, Long id) {
+        return new EntityChangedEvent(entityType, id, Change.DELETED);
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Change getChange() {
+        return change;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EntityChangedEvent)) {
+            return false;
+        }
+        EntityChangedEvent that = (EntityChangedEvent) o;
+        return entityType.equals(that.entityType) && Objects.equals(id, that.id) && change == that.change;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityType, id, change);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityChangedEvent{" +
+            "entityType=" + entityType.getSimpleName() +
+            ", id=" + id +
+            ", change=" + change +
+            "}";
+    }
+}
@@ -0,0 +1,19 @@
+package whereismycomic.service;
+
+import java.util.List;
+
+/**
+ * Keeps a structure derived from the catalogue entities up to date, from the committed changes drained by the
+ * {@link OutboxService}.
+ * <p>
+ * Changes are delivered at least once: a batch is delivered again to every listener if one of them fails, or if the
+ * application stops before the batch is acknowledged, so applying a change must be idempotent.
+ */
+public interface EntityChangesListener {
+    /**
+     * Apply committed entity changes.
+     *
+     * @param changes the changes, in the order of their transactions.
+     */
+    void onEntityChanges(List<EntityChangedEvent> changes);
+}
@@ -0,0 +1,418 @@
+package whereismycomic.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.security.AuthoritiesConstants;
+import whereismycomic.security.SecurityUtils;
+import whereismycomic.service.dto.ComicImportSummaryDTO;
+import whereismycomic.service.dto.ImportJobDTO;
+
+/**
+ * Asynchronous imports of comics from uploaded files, through the {@link ComicImportService}.
+ * <p>
+ * An uploaded file is stored under {@code application.import-jobs.storage-path} and its job recorded in the
+ * {@code import_job} table, then imported on the bounded {@code importJobExecutor}. The progress of the job is
+ * checkpointed in the transaction of each batch of comics, so a job interrupted by a restart resumes after the last
+ * committed batch, without importing any row twice. Jobs waiting for a worker, and running or failed jobs without
+ * progress for {@code application.import-jobs.stale-after}, are picked up by the next poll of any node, which must then
+ * share the storage path. A job fails when the database or the storage does, and keeps its file until it is resumed.
+ * Each claim of a job writes a new token, which its checkpoints must match: a worker which lost its job to another one
+ * stops at its next batch, rolled back.
+ */
+@Service
+public class ImportJobService {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        ABORTED,
+        FAILED,
+    }
+
+    private static final String COLUMNS =
+        "id, file_name, format, status, file_size, bytes_read, row_count, imported, rejected, batches, duration_millis, errors, " +
+        "created_by, created_date, started_date, updated_date, finished_date";
+
+    private static final TypeReference<List<ComicImportSummaryDTO.RowErrorDTO>> ERRORS_TYPE = new TypeReference<>() {};
+
+    private final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ComicImportService comicImportService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Executor importJobExecutor;
+
+    private final ApplicationProperties.ImportJobs properties;
+
+    private final Set<Long> submitted = ConcurrentHashMap.newKeySet();
+
+    public ImportJobService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ComicImportService comicImportService,
+        ObjectMapper objectMapper,
+        @Qualifier("importJobExecutor") Executor importJobExecutor,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.comicImportService = comicImportService;
+        this.objectMapper = objectMapper;
+        this.importJobExecutor = importJobExecutor;
+        this.properties = applicationProperties.getImportJobs();
+    }
+
+    /**
+     * Store a file of comics and queue its import.
+     *
+     * @param fileName the name of the file: comics are read as CSV rows from a {@code .csv} file, and as a JSON array
+     * otherwise, see {@link ComicImportService}.
+     * @param content the content of the file.
+     * @param login the login of the user importing the file.
+     * @return the queued job.
+     * @throws IOException if the file could not be stored.
+     */
+    public ImportJobDTO create(String fileName, InputStream content, String login) throws IOException {
+        log.debug("Request to create ImportJob : {}", fileName);
+        ComicImportService.Format format = fileName.toLowerCase(Locale.ROOT).endsWith(".csv")
+            ? ComicImportService.Format.CSV
+            : ComicImportService.Format.JSON;
+        Path storage = Paths.get(properties.getStoragePath());
+        Files.createDirectories(storage);
+        Path upload = Files.createTempFile(storage, "upload-", ".tmp");
+        try {
+            long size = Files.copy(content, upload, StandardCopyOption.REPLACE_EXISTING);
+            Long id = transactionTemplate.execute(status -> {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.update(
+                    con -> {
+                        PreparedStatement ps = con.prepareStatement(
+                            "insert into import_job (file_name, format, status, file_size, created_by, created_date) " +
+                            "values (?, ?, ?, ?, ?, ?)",
+                            new String[] { "id" }
+                        );
+                        ps.setString(1, fileName);
+                        ps.setString(2, format.name());
+                        ps.setString(3, Status.QUEUED.name());
+                        ps.setLong(4, size);
+                        ps.setString(5, login);
+                        ps.setTimestamp(6, Timestamp.from(Instant.now()));
+                        return ps;
+                    },
+                    keyHolder
+                );
+                long jobId = keyHolder.getKey().longValue();
+                try {
+                    Files.move(upload, file(jobId), StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not store the file of ImportJob " + jobId, e);
+                }
+                return jobId;
+            });
+            submit(id);
+            return load(id).orElseThrow();
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * Get an import job of the current user, or any job for an administrator.
+     *
+     * @param id the id of the job.
+     * @return the job.
+     */
+    public Optional<ImportJobDTO> findOne(Long id) {
+        log.debug("Request to get ImportJob : {}", id);
+        boolean admin = SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN);
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        return load(id).filter(job -> admin || login.filter(job.getCreatedBy()::equals).isPresent());
+    }
+
+    /**
+     * Submit the queued jobs, and the interrupted ones, to the workers.
+     */
+    @Scheduled(fixedDelayString = "${application.import-jobs.poll-interval:10000}")
+    public void poll() {
+        try {
+            transactionTemplate
+                .execute(status ->
+                    jdbcTemplate.queryForList(
+                        "select id from import_job where status = ? or (status in (?, ?) and updated_date < ?) order by id",
+                        Long.class,
+                        Status.QUEUED.name(),
+                        Status.RUNNING.name(),
+                        Status.FAILED.name(),
+                        staleBefore()
+                    )
+                )
+                .forEach(this::submit);
+        } catch (RuntimeException e) {
+            log.warn("Could not poll the import jobs, will retry on next poll: {}", e.getMessage());
+        }
+    }
+
+    private void submit(long id) {
+        if (!submitted.add(id)) {
+            return;
+        }
+        try {
+            importJobExecutor.execute(() -> {
+                try {
+                    run(id);
+                } finally {
+                    submitted.remove(id);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Picked up again by a next poll
+            submitted.remove(id);
+            log.debug("No worker available for ImportJob {}", id);
+        }
+    }
+
+    private void run(long id) {
+        Timestamp now = Timestamp.from(Instant.now());
+        String claim = UUID.randomUUID().toString();
+        Integer claimed = transactionTemplate.execute(status ->
+            jdbcTemplate.update(
+                "update import_job set status = ?, claim = ?, started_date = coalesce(started_date, ?), updated_date = ? " +
+                "where id = ? and (status = ? or (status in (?, ?) and updated_date < ?))",
+                Status.RUNNING.name(),
+                claim,
+                now,
+                now,
+                id,
+                Status.QUEUED.name(),
+                Status.RUNNING.name(),
+                Status.FAILED.name(),
+                staleBefore()
+            )
+        );
+        if (claimed == null || claimed == 0) {
+            // Running on another node, or over
+            return;
+        }
+        ImportJobDTO job = load(id).orElseThrow();
+        log.info("Running ImportJob {} from row {}", id, job.getRows() + 1);
+        ComicImportSummaryDTO summary = new ComicImportSummaryDTO();
+        summary.setRows(job.getRows());
+        summary.setImported(job.getImported());
+        summary.setRejected(job.getRejected());
+        summary.setBatches(job.getBatches());
+        summary.setDurationMillis(job.getDurationMillis());
+        summary.setErrors(job.getErrors());
+        Path file = file(id);
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(file))) {
+            comicImportService.importComics(
+                ComicImportService.Format.valueOf(job.getFormat()),
+                in,
+                summary,
+                progress -> checkpoint(id, claim, Status.RUNNING, in.count, progress)
+            );
+            Status status = summary.getStatus() == ComicImportSummaryDTO.Status.ABORTED ? Status.ABORTED : Status.COMPLETED;
+            transactionTemplate.executeWithoutResult(tx -> checkpoint(id, claim, status, job.getFileSize(), summary));
+            log.info("ImportJob {} is over: {}", id, summary);
+        } catch (IOException | RuntimeException e) {
+            log.warn("ImportJob {} failed, resuming it after {}: {}", id, properties.getStaleAfter(), e.getMessage());
+            fail(id, claim, e);
+            // The file is kept to resume the job, or used by the worker which claimed it since
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete the file of ImportJob {}: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * Record the progress of a job, in the transaction of its last batch: the transaction fails if the job was claimed
+     * by another worker since, rolling the batch back.
+     */
+    private void checkpoint(long id, String claim, Status status, long bytesRead, ComicImportSummaryDTO summary) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int updated = jdbcTemplate.update(
+            "update import_job set status = ?, bytes_read = ?, row_count = ?, imported = ?, rejected = ?, batches = ?, " +
+            "duration_millis = ?, errors = ?, updated_date = ?, finished_date = ? where id = ? and claim = ?",
+            status.name(),
+            bytesRead,
+            summary.getRows(),
+            summary.getImported(),
+            summary.getRejected(),
+            summary.getBatches(),
+            summary.getDurationMillis(),
+            writeErrors(summary.getErrors()),
+            now,
+            status == Status.RUNNING ? null : now,
+            id,
+            claim
+        );
+        if (updated == 0) {
+            throw new IllegalStateException("ImportJob " + id + " was claimed by another worker");
+        }
+    }
+
+    /**
+     * Record the failure of a job, whose progress stays the one of its last committed batch.
+     */
+    private void fail(long id, String claim, Exception failure) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ImportJobDTO job = jdbcTemplate.queryForObject(
+                    "select " + COLUMNS + " from import_job where id = ?",
+                    this::toImportJob,
+                    id
+                );
+                List<ComicImportSummaryDTO.RowErrorDTO> errors = job.getErrors();
+                errors.add(new ComicImportSummaryDTO.RowErrorDTO(job.getRows() + 1, "Import failed: " + failure.getMessage()));
+                jdbcTemplate.update(
+                    "update import_job set status = ?, errors = ?, updated_date = ? where id = ? and claim = ?",
+                    Status.FAILED.name(),
+                    writeErrors(errors),
+                    Timestamp.from(Instant.now()),
+                    id,
+                    claim
+                );
+            });
+        } catch (RuntimeException e) {
+            // Still running for the next polls, which resume it once stale
+            log.warn("Could not record the failure of ImportJob {}: {}", id, e.getMessage());
+        }
+    }
+
+    private Optional<ImportJobDTO> load(long id) {
+        return transactionTemplate.execute(status ->
+            jdbcTemplate.query("select " + COLUMNS + " from import_job where id = ?", this::toImportJob, id).stream().findFirst()
+        );
+    }
+
+    private ImportJobDTO toImportJob(ResultSet rs, int rowNum) throws SQLException {
+        ImportJobDTO job = new ImportJobDTO();
+        job.setId(rs.getLong("id"));
+        job.setFileName(rs.getString("file_name"));
+        job.setFormat(rs.getString("format"));
+        job.setStatus(rs.getString("status"));
+        job.setFileSize(rs.getLong("file_size"));
+        job.setBytesRead(rs.getLong("bytes_read"));
+        job.setRows(rs.getLong("row_count"));
+        job.setImported(rs.getLong("imported"));
+        job.setRejected(rs.getLong("rejected"));
+        job.setBatches(rs.getInt("batches"));
+        job.setDurationMillis(rs.getLong("duration_millis"));
+        job.setErrors(readErrors(rs.getString("errors")));
+        job.setCreatedBy(rs.getString("created_by"));
+        job.setCreatedDate(toInstant(rs.getTimestamp("created_date")));
+        job.setStartedDate(toInstant(rs.getTimestamp("started_date")));
+        job.setUpdatedDate(toInstant(rs.getTimestamp("updated_date")));
+        job.setFinishedDate(toInstant(rs.getTimestamp("finished_date")));
+        return job;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private String writeErrors(List<ComicImportSummaryDTO.RowErrorDTO> errors) {
+        try {
+            return objectMapper.writeValueAsString(errors);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write the errors of an ImportJob", e);
+        }
+    }
+
+    private List<ComicImportSummaryDTO.RowErrorDTO> readErrors(String errors) {
+        if (errors == null) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(errors, ERRORS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read the errors of an ImportJob", e);
+        }
+    }
+
+    private Timestamp staleBefore() {
+        return Timestamp.from(Instant.now().minus(properties.getStaleAfter()));
+    }
+
+    private Path file(long id) {
+        return Paths.get(properties.getStoragePath(), Long.toString(id));
+    }
+
+    /**
+     * Counts the bytes read from the file, to estimate the progress of its import.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package whereismycomic.service;
+
+public class InvalidThumbnailException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidThumbnailException(String message) {
+        super(message);
+    }
+}
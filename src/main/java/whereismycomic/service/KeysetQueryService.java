@@ -0,0 +1,195 @@
+package whereismycomic.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Base service for executing complex queries which also support keyset (seek) pagination and projections.
+ * <p>
+ * A keyset page starts after the last row of the previous page thanks to a predicate on the sort key,
+ * instead of skipping rows with an {@code OFFSET}: every page costs the same wherever it is in the result,
+ * and no count query is needed to know whether there is a next page.
+ * <p>
+ * A projection selects only the given columns into a DTO, so no entity is loaded into the persistence context.
+ * Entities are loaded with the given entity graph, if any, so that their associations needed by the REST API are
+ * fetched in the same query.
+ *
+ * @param <ENTITY> the type of the entity which is queried.
+ */
+public abstract class KeysetQueryService<ENTITY> extends QueryService<ENTITY> {
+
+    private static final String LOAD_GRAPH_HINT = "javax.persistence.loadgraph";
+
+    private static final String ID_ATTRIBUTE = "id";
+
+    private final EntityManager entityManager;
+
+    private final Class<ENTITY> entityClass;
+
+    private final String entityGraph;
+
+    protected KeysetQueryService(EntityManager entityManager, Class<ENTITY> entityClass) {
+        this(entityManager, entityClass, null);
+    }
+
+    protected KeysetQueryService(EntityManager entityManager, Class<ENTITY> entityClass, String entityGraph) {
+        this.entityManager = entityManager;
+        this.entityClass = entityClass;
+        this.entityGraph = entityGraph;
+    }
+
+    /**
+     * Return the first entities matching the specification, in the given order.
+     * @param specification The specification, including the keyset predicate if this is not the first page.
+     * @param sort The order of the keyset, which must be unique.
+     * @param size The maximum number of entities to return.
+     * @return the matching entities, and whether more entities follow.
+     */
+    protected Slice<ENTITY> findSlice(Specification<ENTITY> specification, Sort sort, int size) {
+        return findSlice(specification, sort, size, entityClass, (root, builder) -> root, entityGraph);
+    }
+
+    /**
+     * Return the projections of the first entities matching the specification, in the given order.
+     * @param specification The specification, including the keyset predicate if this is not the first page.
+     * @param sort The order of the keyset, which must be unique.
+     * @param size The maximum number of projections to return.
+     * @param resultClass The type of the projections.
+     * @param projection Builds the selection of the projection from the root of the query.
+     * @param <R> the type of the projections.
+     * @return the projections of the matching entities, and whether more entities follow.
+     */
+    protected <R> Slice<R> findSlice(
+        Specification<ENTITY> specification,
+        Sort sort,
+        int size,
+        Class<R> resultClass,
+        BiFunction<Root<ENTITY>, CriteriaBuilder, Selection<? extends R>> projection
+    ) {
+        return findSlice(specification, sort, size, resultClass, projection, null);
+    }
+
+    private <R> Slice<R> findSlice(
+        Specification<ENTITY> specification,
+        Sort sort,
+        int size,
+        Class<R> resultClass,
+        BiFunction<Root<ENTITY>, CriteriaBuilder, Selection<? extends R>> projection,
+        String graph
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = builder.createQuery(resultClass);
+        Root<ENTITY> root = query.from(entityClass);
+        applySpecification(specification, root, query, builder);
+        query.select(projection.apply(root, builder));
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        TypedQuery<R> typedQuery = entityManager.createQuery(query);
+        if (graph != null) {
+            typedQuery.setHint(LOAD_GRAPH_HINT, entityManager.getEntityGraph(graph));
+        }
+        // Fetch one more row than requested, to know if there is a next page without counting
+        List<R> content = typedQuery.setMaxResults(size + 1).getResultList();
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    /**
+     * Return a page of the projections of the entities matching the specification.
+     * @param specification The specification.
+     * @param pageable The page, which should be returned.
+     * @param resultClass The type of the projections.
+     * @param projection Builds the selection of the projection from the root of the query.
+     * @param <R> the type of the projections.
+     * @return the projections of the matching entities.
+     */
+    protected <R> Page<R> findPage(
+        Specification<ENTITY> specification,
+        Pageable pageable,
+        Class<R> resultClass,
+        BiFunction<Root<ENTITY>, CriteriaBuilder, Selection<? extends R>> projection
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = builder.createQuery(resultClass);
+        Root<ENTITY> root = query.from(entityClass);
+        applySpecification(specification, root, query, builder);
+        query.select(projection.apply(root, builder));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        }
+        TypedQuery<R> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(specification));
+    }
+
+    /**
+     * Return the entities with the given ids, in the same order, skipping the ids which no longer exist.
+     * @param ids The ids of the entities.
+     * @return the entities.
+     */
+    protected List<ENTITY> findAllById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ENTITY> query = builder.createQuery(entityClass);
+        Root<ENTITY> root = query.from(entityClass);
+        query.where(root.get(ID_ATTRIBUTE).in(ids));
+        TypedQuery<ENTITY> typedQuery = entityManager.createQuery(query);
+        if (entityGraph != null) {
+            typedQuery.setHint(LOAD_GRAPH_HINT, entityManager.getEntityGraph(entityGraph));
+        }
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        Map<Object, ENTITY> entitiesById = new HashMap<>();
+        for (ENTITY entity : typedQuery.getResultList()) {
+            entitiesById.put(persistenceUnitUtil.getIdentifier(entity), entity);
+        }
+        return ids.stream().map(entitiesById::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private long count(Specification<ENTITY> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<ENTITY> root = query.from(entityClass);
+        applySpecification(specification, root, query, builder);
+        query.select(query.isDistinct() ? builder.countDistinct(root) : builder.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private void applySpecification(
+        Specification<ENTITY> specification,
+        Root<ENTITY> root,
+        CriteriaQuery<?> query,
+        CriteriaBuilder builder
+    ) {
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
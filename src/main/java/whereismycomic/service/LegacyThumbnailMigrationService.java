@@ -0,0 +1,104 @@
+package whereismycomic.service;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.Characters;
+import whereismycomic.domain.Comic;
+
+/**
+ * Moves thumbnails still stored in the legacy {@code thumbnail} database columns to the {@link ThumbnailStorageService}.
+ * <p>
+ * Rows are migrated in small batches, each in its own transaction, and the legacy column is cleared once the image
+ * is stored, so an interrupted migration simply resumes on the next startup.
+ */
+@Service
+public class LegacyThumbnailMigrationService {
+
+    private static final Map<String, Class<?>> TABLES = Map.of("comic", Comic.class, "characters", Characters.class);
+
+    private final Logger log = LoggerFactory.getLogger(LegacyThumbnailMigrationService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThumbnailStorageService thumbnailStorageService;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final int batchSize;
+
+    public LegacyThumbnailMigrationService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ThumbnailStorageService thumbnailStorageService,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.thumbnailStorageService = thumbnailStorageService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = applicationProperties.getThumbnails().getMigrationBatchSize();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyThumbnails() {
+        for (Map.Entry<String, Class<?>> entry : TABLES.entrySet()) {
+            String table = entry.getKey();
+            try {
+                int migrated = 0;
+                int batch;
+                do {
+                    batch = transactionTemplate.execute(status -> migrateBatch(table));
+                    migrated += batch;
+                } while (batch > 0);
+                if (migrated > 0) {
+                    // Rows were changed behind Hibernate's back
+                    entityManagerFactory.getCache().evict(entry.getValue());
+                    log.info("Moved {} legacy thumbnails of table {} to the thumbnail store", migrated, table);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not migrate legacy thumbnails of table {}, will retry on next startup: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    private int migrateBatch(String table) {
+        List<LegacyThumbnail> thumbnails = jdbcTemplate.query(
+            "select id, thumbnail from " + table + " where thumbnail is not null order by id limit ?",
+            (rs, rowNum) -> new LegacyThumbnail(rs.getLong("id"), rs.getBytes("thumbnail")),
+            batchSize
+        );
+        for (LegacyThumbnail thumbnail : thumbnails) {
+            String hash = thumbnailStorageService.store(thumbnail.content);
+            jdbcTemplate.update("update " + table + " set thumbnail_hash = ?, thumbnail = null where id = ?", hash, thumbnail.id);
+        }
+        return thumbnails.size();
+    }
+
+    private static final class LegacyThumbnail {
+
+        private final long id;
+
+        private final byte[] content;
+
+        private LegacyThumbnail(long id, byte[] content) {
+            this.id = id;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package whereismycomic.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.Characters;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+
+/**
+ * Transactional outbox of the {@link EntityChangedEvent}s, drained in the background to the
+ * {@link EntityChangesListener}s.
+ * <p>
+ * Each change is written to the {@code outbox_event} table in the transaction of the entity service, so it is committed
+ * or rolled back with the entity and the write itself stays cheap. Once committed, the outbox is drained on the
+ * application task executor, in batches ordered by id: a batch is only acknowledged once every listener has applied it,
+ * otherwise it is delivered again on the next poll.
+ * <p>
+ * The listeners are local to each node, so every node drains every change: it acknowledges the id up to which it
+ * applied them in the {@code outbox_consumer} table, and the changes are only deleted once acknowledged by all the
+ * nodes. As ids are allocated before their transactions commit, a gap in the ids may be a transaction not committed yet:
+ * the changes after it are applied right away, but only acknowledged once the gap is older than the grace period.
+ * <p>
+ * When the listeners fail on a batch, its changes are delivered one at a time, to apply those before the failing one. A
+ * change on which they failed in {@code application.outbox.max-attempts} drains is a poison change: it is moved to the
+ * {@code outbox_dead_letter} table of the node and skipped, rather than holding back every change after it.
+ * <p>
+ * The number of pending changes and the age of the oldest of them are exposed as the {@code outbox.pending} and
+ * {@code outbox.lag} gauges, and the number of dead-lettered changes as the {@code outbox.dead-letter} counter.
+ */
+@Service
+public class OutboxService {
+
+    public static final String PENDING_METER_NAME = "outbox.pending";
+
+    public static final String LAG_METER_NAME = "outbox.lag";
+
+    public static final String DELIVERED_METER_NAME = "outbox.delivered";
+
+    public static final String BATCH_METER_NAME = "outbox.batch";
+
+    public static final String DEAD_LETTER_METER_NAME = "outbox.dead-letter";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final Map<String, Class<?>> ENTITY_TYPES = Map.of(
+        Comic.class.getSimpleName(),
+        Comic.class,
+        Series.class.getSimpleName(),
+        Series.class,
+        Characters.class.getSimpleName(),
+        Characters.class
+    );
+
+    private final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<EntityChangesListener> listeners;
+
+    private final Executor taskExecutor;
+
+    private final int batchSize;
+
+    private final String consumerId;
+
+    private final Duration gracePeriod;
+
+    private final Duration consumerExpiry;
+
+    private final int maxAttempts;
+
+    /**
+     * The id up to which this node applied every change, or -1 until it is read from {@code outbox_consumer}.
+     */
+    private long offset = -1;
+
+    /**
+     * The ids of the changes after the offset which this node already applied, past a gap.
+     */
+    private final NavigableSet<Long> applied = new TreeSet<>();
+
+    /**
+     * The number of drains in which the listeners failed on each change not applied yet.
+     */
+    private final Map<Long, Integer> failures = new HashMap<>();
+
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private volatile Instant oldestPending;
+
+    private final Counter deliveredCounter;
+
+    private final Timer batchTimer;
+
+    private final Counter deadLetterCounter;
+
+    public OutboxService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        List<EntityChangesListener> listeners,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MeterRegistry registry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Drained outside of the transactions of the entity services
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.listeners = listeners;
+        this.taskExecutor = taskExecutor;
+        ApplicationProperties.Outbox properties = applicationProperties.getOutbox();
+        this.batchSize = properties.getBatchSize();
+        this.consumerId = properties.getConsumerId() != null ? properties.getConsumerId() : hostName();
+        this.gracePeriod = properties.getGracePeriod();
+        this.consumerExpiry = properties.getConsumerExpiry();
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        Gauge
+            .builder(PENDING_METER_NAME, pending, AtomicLong::get)
+            .baseUnit("events")
+            .description("Number of committed entity changes not yet applied by the listeners of this node.")
+            .register(registry);
+        Gauge
+            .builder(LAG_METER_NAME, this, OutboxService::lagSeconds)
+            .baseUnit("seconds")
+            .description("Age of the oldest committed entity change not yet applied by the listeners of this node.")
+            .register(registry);
+        this.deliveredCounter = Counter
+            .builder(DELIVERED_METER_NAME)
+            .baseUnit("events")
+            .description("Number of entity changes applied by all listeners.")
+            .register(registry);
+        this.batchTimer = Timer
+            .builder(BATCH_METER_NAME)
+            .description("Time taken by the listeners to apply a batch of entity changes.")
+            .register(registry);
+        this.deadLetterCounter = Counter
+            .builder(DEAD_LETTER_METER_NAME)
+            .baseUnit("events")
+            .description("Number of entity changes skipped after the listeners failed to apply them too many times.")
+            .register(registry);
+    }
+
+    /**
+     * Write an entity change to the outbox, in the transaction of the entity service.
+     *
+     * @param event the change.
+     */
+    @EventListener
+    public void record(EntityChangedEvent event) {
+        jdbcTemplate.update(
+            "insert into outbox_event (entity_type, entity_id, change_type, created_date) values (?, ?, ?, ?)",
+            event.getEntityType().getSimpleName(),
+            event.getId(),
+            event.getChange().name(),
+            Timestamp.from(Instant.now())
+        );
+    }
+
+    /**
+     * Write a batch of entity changes to the outbox as one JDBC batch, in the transaction of the bulk operation.
+     *
+     * @param event the changes.
+     */
+    @EventListener
+    public void record(EntitiesChangedEvent event) {
+        String entityType = event.getEntityType().getSimpleName();
+        String change = event.getChange().name();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(
+            "insert into outbox_event (entity_type, entity_id, change_type, created_date) values (?, ?, ?, ?)",
+            event.getIds().stream().map(id -> new Object[] { entityType, id, change, now }).collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Drain the outbox as soon as a change is committed, rather than on the next poll.
+     *
+     * @param event the committed change.
+     */
+    @TransactionalEventListener
+    public void onCommitted(EntityChangedEvent event) {
+        scheduleDrain();
+    }
+
+    /**
+     * Drain the outbox as soon as a batch of changes is committed, rather than on the next poll.
+     *
+     * @param event the committed changes.
+     */
+    @TransactionalEventListener
+    public void onCommitted(EntitiesChangedEvent event) {
+        scheduleDrain();
+    }
+
+    /**
+     * Drain the changes left over by a failed listener or a previous run of the application.
+     */
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval:1000}")
+    public void poll() {
+        scheduleDrain();
+    }
+
+    /**
+     * Deliver the pending changes to the listeners, batch by batch, until none is left or a listener fails on a change
+     * which is not dead-lettered yet, then acknowledge them and delete the changes applied by every node.
+     * <p>
+     * Only one drain runs at a time: a call made while another drain runs waits for it, then drains the changes
+     * committed since.
+     *
+     * @return the number of changes delivered.
+     */
+    public synchronized int drain() {
+        int delivered = 0;
+        try {
+            if (offset < 0) {
+                offset = register();
+            }
+            while (true) {
+                List<OutboxEvent> batch = readBatch();
+                List<OutboxEvent> pendingEvents = batch.stream().filter(event -> !applied.contains(event.id)).collect(Collectors.toList());
+                List<EntityChangedEvent> changes = pendingEvents.stream().map(event -> event.change).collect(Collectors.toList());
+                if (!changes.isEmpty()) {
+                    try {
+                        deliver(changes);
+                        pendingEvents.forEach(event -> {
+                            applied.add(event.id);
+                            failures.remove(event.id);
+                        });
+                        delivered += changes.size();
+                    } catch (RuntimeException e) {
+                        log.debug("Could not apply a batch of outbox changes, applying them one at a time: {}", e.getMessage());
+                        delivered += deliverOneByOne(pendingEvents);
+                    }
+                }
+                // Done once the batch only holds changes already applied past a gap
+                if (!advance(batch) && changes.isEmpty()) {
+                    break;
+                }
+            }
+            acknowledge();
+            prune();
+        } catch (RuntimeException e) {
+            log.warn("Could not drain the outbox, will retry on next poll: {}", e.getMessage());
+        }
+        updateLag();
+        return delivered;
+    }
+
+    private void deliver(List<EntityChangedEvent> changes) {
+        batchTimer.record(() -> listeners.forEach(listener -> listener.onEntityChanges(changes)));
+        deliveredCounter.increment(changes.size());
+    }
+
+    /**
+     * Deliver changes one at a time, up to the first one the listeners fail on, which is dead-lettered once it failed
+     * too many times.
+     *
+     * @return the number of changes delivered.
+     * @throws RuntimeException the failure of the listeners, when the failing change is to be delivered again.
+     */
+    private int deliverOneByOne(List<OutboxEvent> events) {
+        int delivered = 0;
+        for (OutboxEvent event : events) {
+            try {
+                deliver(List.of(event.change));
+                delivered++;
+            } catch (RuntimeException e) {
+                int attempts = failures.merge(event.id, 1, Integer::sum);
+                if (attempts < maxAttempts) {
+                    throw e;
+                }
+                deadLetter(event, attempts, e);
+            }
+            applied.add(event.id);
+            failures.remove(event.id);
+        }
+        return delivered;
+    }
+
+    private void deadLetter(OutboxEvent event, int attempts, RuntimeException e) {
+        log.error(
+            "Skipping the outbox event {}, {} could not be applied in {} attempts: {}",
+            event.id,
+            event.change,
+            attempts,
+            e.getMessage(),
+            e
+        );
+        String error = String.valueOf(e.getMessage());
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "insert into outbox_dead_letter (event_id, consumer_id, entity_type, entity_id, change_type, attempts, error, " +
+                "failed_date) values (?, ?, ?, ?, ?, ?, ?, ?)",
+                event.id,
+                consumerId,
+                event.change.getEntityType().getSimpleName(),
+                event.change.getId(),
+                event.change.getChange().name(),
+                attempts,
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                Timestamp.from(Instant.now())
+            )
+        );
+        deadLetterCounter.increment();
+    }
+
+    private void scheduleDrain() {
+        // Coalesce the drains requested while one is already waiting to run
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                taskExecutor.execute(() -> {
+                    drainScheduled.set(false);
+                    drain();
+                });
+            } catch (RuntimeException e) {
+                drainScheduled.set(false);
+                log.warn("Could not schedule the outbox drain: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Read the offset of this node, registering it from the oldest change left if it is new, or was forgotten.
+     */
+    private long register() {
+        return transactionTemplate.execute(status -> {
+            List<Long> offsets = jdbcTemplate.queryForList(
+                "select last_event_id from outbox_consumer where consumer_id = ?",
+                Long.class,
+                consumerId
+            );
+            if (!offsets.isEmpty()) {
+                return offsets.get(0);
+            }
+            long start = jdbcTemplate.queryForObject("select coalesce(min(id) - 1, 0) from outbox_event", Long.class);
+            jdbcTemplate.update(
+                "insert into outbox_consumer (consumer_id, last_event_id, updated_date) values (?, ?, ?)",
+                consumerId,
+                start,
+                Timestamp.from(Instant.now())
+            );
+            log.info("Registered the outbox consumer {} from event {}", consumerId, start);
+            return start;
+        });
+    }
+
+    private List<OutboxEvent> readBatch() {
+        // The changes already applied past a gap are read again, until the offset moves past them
+        return transactionTemplate.execute(status ->
+            jdbcTemplate.query(
+                "select id, entity_type, entity_id, change_type, created_date from outbox_event where id > ? order by id limit ?",
+                (rs, rowNum) ->
+                    new OutboxEvent(
+                        rs.getLong("id"),
+                        rs.getTimestamp("created_date").toInstant(),
+                        new EntityChangedEvent(
+                            ENTITY_TYPES.get(rs.getString("entity_type")),
+                            rs.getLong("entity_id"),
+                            EntityChangedEvent.Change.valueOf(rs.getString("change_type"))
+                        )
+                    ),
+                offset,
+                batchSize + applied.size()
+            )
+        );
+    }
+
+    /**
+     * Move the offset past the applied changes which follow it without a gap, or after a gap older than the grace period.
+     *
+     * @return whether the offset moved.
+     */
+    private boolean advance(List<OutboxEvent> batch) {
+        long previous = offset;
+        Instant gapDeadline = Instant.now().minus(gracePeriod);
+        for (OutboxEvent event : batch) {
+            if (!applied.contains(event.id) || (event.id != offset + 1 && event.createdDate.isAfter(gapDeadline))) {
+                break;
+            }
+            offset = event.id;
+            applied.remove(event.id);
+        }
+        return offset != previous;
+    }
+
+    private void acknowledge() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Timestamp now = Timestamp.from(Instant.now());
+            int updated = jdbcTemplate.update(
+                "update outbox_consumer set last_event_id = ?, updated_date = ? where consumer_id = ?",
+                offset,
+                now,
+                consumerId
+            );
+            if (updated == 0) {
+                log.warn("The outbox consumer {} was forgotten, its search index must be rebuilt", consumerId);
+                jdbcTemplate.update(
+                    "insert into outbox_consumer (consumer_id, last_event_id, updated_date) values (?, ?, ?)",
+                    consumerId,
+                    offset,
+                    now
+                );
+            }
+        });
+    }
+
+    /**
+     * Delete the changes applied by every node, forgetting the nodes which did not drain the outbox for too long.
+     */
+    private void prune() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Timestamp expiry = Timestamp.from(Instant.now().minus(consumerExpiry));
+            List<String> expired = jdbcTemplate.queryForList(
+                "select consumer_id from outbox_consumer where updated_date < ?",
+                String.class,
+                expiry
+            );
+            if (!expired.isEmpty()) {
+                log.warn("Forgetting the outbox consumers {}, which did not drain the outbox since {}", expired, expiry);
+                jdbcTemplate.update("delete from outbox_consumer where updated_date < ?", expiry);
+            }
+            jdbcTemplate.update("delete from outbox_event where id <= (select min(last_event_id) from outbox_consumer)");
+        });
+    }
+
+    private void updateLag() {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query(
+                    "select count(*), min(created_date) from outbox_event where id > ?",
+                    rs -> {
+                        pending.set(rs.getLong(1));
+                        Timestamp oldest = rs.getTimestamp(2);
+                        oldestPending = oldest != null ? oldest.toInstant() : null;
+                    },
+                    offset
+                )
+            );
+        } catch (DataAccessException e) {
+            log.warn("Could not measure the outbox lag: {}", e.getMessage());
+        }
+    }
+
+    private double lagSeconds() {
+        Instant oldest = oldestPending;
+        return oldest != null ? Duration.between(oldest, Instant.now()).toMillis() / 1000d : 0;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+    private static final class OutboxEvent {
+
+        private final long id;
+
+        private final Instant createdDate;
+
+        private final EntityChangedEvent change;
+
+        private OutboxEvent(long id, Instant createdDate, EntityChangedEvent change) {
+            this.id = id;
+            this.createdDate = createdDate;
+            this.change = change;
+        }
+    }
+}
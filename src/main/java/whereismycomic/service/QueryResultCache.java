@@ -0,0 +1,277 @@
+package whereismycomic.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.jhipster.service.Criteria;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+
+/**
+ * Cache of the results of criteria queries: the ids of the matching entities, or their count, rather than the entities.
+ * <p>
+ * A result is cached under its query and the current version of each entity type the query depends on. The entity
+ * services bump the version of a type when a transaction changing one of its entities completes, so the results
+ * cached before are never read again and simply expire. A transaction which changed one of these types bypasses the
+ * cache, so that it neither reads results missing its own changes nor caches uncommitted ones.
+ * <p>
+ * Changes made without the entity services, for instance through the repositories, are not seen by this cache.
+ */
+@Service
+public class QueryResultCache {
+
+    public static final String COMIC_QUERIES_CACHE = Comic.class.getName() + ".queries";
+
+    public static final String SERIES_QUERIES_CACHE = Series.class.getName() + ".queries";
+
+    /**
+     * Writes criteria with their filters, and the values of each filter, in a fixed order, leaving out those not set.
+     */
+    private static final ObjectMapper CRITERIA_MAPPER = JsonMapper
+        .builder()
+        .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+        .serializationInclusion(JsonInclude.Include.NON_NULL)
+        .build();
+
+    private final Logger log = LoggerFactory.getLogger(QueryResultCache.class);
+
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final CacheManager cacheManager;
+
+    private final boolean enabled;
+
+    public QueryResultCache(CacheManager cacheManager, ApplicationProperties applicationProperties) {
+        this.cacheManager = cacheManager;
+        this.enabled = applicationProperties.getQueryCache().isEnabled();
+    }
+
+    /**
+     * Whether results depending on the given entity types can be cached in the current transaction.
+     *
+     * @param dependencies the entity types the results depend on.
+     * @return {@code false} if the cache is disabled or the current transaction changed one of the types.
+     */
+    public boolean isCacheable(List<Class<?>> dependencies) {
+        if (!enabled) {
+            return false;
+        }
+        Set<Class<?>> changed = changedTypes();
+        return changed == null || dependencies.stream().noneMatch(changed::contains);
+    }
+
+    /**
+     * Return the cached result of a query, or compute and cache it.
+     *
+     * @param cacheName the name of the cache.
+     * @param dependencies the entity types the result depends on.
+     * @param query the canonical form of the query, including its parameters.
+     * @param loader computes the result on a cache miss.
+     * @param <T> the type of the result, which must be serializable.
+     * @return the result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> T get(String cacheName, List<Class<?>> dependencies, String query, Supplier<T> loader) {
+        if (!isCacheable(dependencies)) {
+            return loader.get();
+        }
+        // The versions are read before the query runs, so a result is never cached under a version newer than its data
+        StringBuilder key = new StringBuilder();
+        for (Class<?> dependency : dependencies) {
+            key.append(dependency.getSimpleName()).append('@').append(version(dependency).get()).append(';');
+        }
+        key.append(query);
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName));
+        Cache.ValueWrapper cached = cache.get(key.toString());
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T result = loader.get();
+        cache.put(key.toString(), result);
+        return result;
+    }
+
+    /**
+     * The canonical form of criteria, for the queries passed to {@link #get}: criteria matching the same entities have the
+     * same form whatever the order of the values of their {@code in} and {@code notIn} filters, or their duplicates.
+     *
+     * @param criteria the criteria, or {@code null}.
+     * @return the canonical form.
+     */
+    public static String canonical(Criteria criteria) {
+        if (criteria == null) {
+            return "{}";
+        }
+        JsonNode canonical = CRITERIA_MAPPER.valueToTree(criteria);
+        canonical.forEach(filter -> {
+            if (filter.isObject()) {
+                sortValues((ObjectNode) filter, "in");
+                sortValues((ObjectNode) filter, "notIn");
+            }
+        });
+        return canonical.toString();
+    }
+
+    private static void sortValues(ObjectNode filter, String name) {
+        JsonNode values = filter.get(name);
+        if (values == null || !values.isArray()) {
+            return;
+        }
+        List<JsonNode> sorted = new ArrayList<>();
+        values.forEach(sorted::add);
+        filter
+            .putArray(name)
+            .addAll(sorted.stream().distinct().sorted(Comparator.comparing(JsonNode::toString)).collect(Collectors.toList()));
+    }
+
+    /**
+     * Stop reading the results of the current transaction from the cache once it changed an entity.
+     *
+     * @param event the change.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        changing(event.getEntityType());
+    }
+
+    /**
+     * Stop reading the results of the current transaction from the cache once it changed a batch of entities.
+     *
+     * @param event the changes.
+     */
+    @EventListener
+    public void onEntitiesChanged(EntitiesChangedEvent event) {
+        changing(event.getEntityType());
+    }
+
+    /**
+     * Bump the version of the type of a changed entity once its transaction is committed or rolled back.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onEntityChangeCompleted(EntityChangedEvent event) {
+        bump(event.getEntityType());
+    }
+
+    /**
+     * Bump the version of the type of a batch of changed entities once its transaction is committed or rolled back.
+     *
+     * @param event the changes.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onEntitiesChangeCompleted(EntitiesChangedEvent event) {
+        bump(event.getEntityType());
+    }
+
+    private void changing(Class<?> entityType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Set<Class<?>> changed = changedTypes();
+        if (changed == null) {
+            Set<Class<?>> types = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, types);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(QueryResultCache.this);
+                    }
+                }
+            );
+            changed = types;
+        }
+        changed.add(entityType);
+    }
+
+    /**
+     * Make the cached results depending on an entity type obsolete.
+     *
+     * @param entityType the entity type.
+     */
+    public void bump(Class<?> entityType) {
+        long version = version(entityType).incrementAndGet();
+        log.trace("Query results of {} now at version {}", entityType.getSimpleName(), version);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Class<?>> changedTypes() {
+        return (Set<Class<?>>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private AtomicLong version(Class<?> entityType) {
+        return versions.computeIfAbsent(entityType, type -> new AtomicLong());
+    }
+
+    /**
+     * The ids of a page or slice of entities, in order.
+     */
+    public static final class Ids implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<Long> ids;
+
+        private final long total;
+
+        private final boolean hasNext;
+
+        private Ids(List<Long> ids, long total, boolean hasNext) {
+            this.ids = new ArrayList<>(ids);
+            this.total = total;
+            this.hasNext = hasNext;
+        }
+
+        public static Ids of(Page<Long> page) {
+            return new Ids(page.getContent(), page.getTotalElements(), page.hasNext());
+        }
+
+        public static Ids of(Slice<Long> slice) {
+            return new Ids(slice.getContent(), -1, slice.hasNext());
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        /**
+         * @return the total number of entities of a page, or {@code -1} for a slice.
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        public boolean hasNext() {
+            return hasNext;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package whereismycomic.service;
+
+public class SearchIndexException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SearchIndexException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,432 @@
+package whereismycomic.service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.Characters;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Comic_;
+import whereismycomic.domain.Series;
+import whereismycomic.domain.Series_;
+import whereismycomic.repository.CharactersRepository;
+import whereismycomic.repository.ComicRepository;
+import whereismycomic.repository.SeriesRepository;
+import whereismycomic.service.dto.SearchHitDTO;
+
+/**
+ * Full-text search over comics, series and characters, backed by an embedded Lucene index on the local filesystem.
+ * <p>
+ * The index is kept in sync with the {@link EntityChangedEvent}s of the entity services, drained in batches from the
+ * {@link OutboxService} once committed: each changed entity is reloaded and its document replaced, the changed comics of
+ * a batch with one query. Each comic document also holds the name of its series, so the comics of a series are
+ * re-indexed page by page when the series changes.
+ * <p>
+ * Every word of a search must match one of the indexed fields, either exactly, as a prefix or with a typo, in
+ * decreasing order of score. Titles, series names and character fullnames weigh more than descriptions.
+ */
+@Service
+public class SearchIndexService implements EntityChangesListener {
+
+    public static final String TYPE_COMIC = "comic";
+
+    public static final String TYPE_SERIES = "series";
+
+    public static final String TYPE_CHARACTERS = "characters";
+
+    private static final String UID_FIELD = "uid";
+
+    private static final String TYPE_FIELD = "type";
+
+    private static final String ID_FIELD = "id";
+
+    private static final String LABEL_FIELD = "label";
+
+    private static final String TITLE_FIELD = "title";
+
+    private static final String DESCRIPTION_FIELD = "description";
+
+    private static final String SERIES_NAME_FIELD = "seriesName";
+
+    private static final String NAME_FIELD = "name";
+
+    private static final String FULLNAME_FIELD = "fullname";
+
+    private static final Map<String, Float> FIELD_BOOSTS = new LinkedHashMap<>();
+
+    static {
+        FIELD_BOOSTS.put(TITLE_FIELD, 3f);
+        FIELD_BOOSTS.put(NAME_FIELD, 3f);
+        FIELD_BOOSTS.put(FULLNAME_FIELD, 3f);
+        FIELD_BOOSTS.put(SERIES_NAME_FIELD, 1.5f);
+        FIELD_BOOSTS.put(DESCRIPTION_FIELD, 1f);
+    }
+
+    private final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private final ComicRepository comicRepository;
+
+    private final SeriesRepository seriesRepository;
+
+    private final CharactersRepository charactersRepository;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ApplicationProperties.Search properties;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private final Directory directory;
+
+    private final IndexWriter writer;
+
+    private final SearcherManager searcherManager;
+
+    public SearchIndexService(
+        ComicRepository comicRepository,
+        SeriesRepository seriesRepository,
+        CharactersRepository charactersRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.comicRepository = comicRepository;
+        this.seriesRepository = seriesRepository;
+        this.charactersRepository = charactersRepository;
+        // Changes are applied from the outbox, so reload the entities in their own transaction
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getSearch();
+        try {
+            this.directory = FSDirectory.open(Paths.get(properties.getIndexPath()));
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new SearchIndexException("Could not open search index " + properties.getIndexPath(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Rebuild the index from the database on startup, if it is empty.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (!properties.isRebuildOnStartup() || writer.getDocStats().numDocs > 0) {
+            return;
+        }
+        log.info("Search index is empty, rebuilding it from the database");
+        try {
+            rebuild();
+        } catch (SearchIndexException e) {
+            log.warn("Could not rebuild search index, it will be retried on next startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Index all the entities of the database again, such as after rows were inserted without going through the outbox.
+     * Documents of entities deleted that way are kept.
+     *
+     * @throws SearchIndexException if the index could not be rebuilt.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            int documents = rebuild(
+                pageable -> comicRepository.findAll(Specification.where(null), pageable),
+                this::comicDocument
+            );
+            documents += rebuild(seriesRepository::findAll, this::seriesDocument);
+            documents += rebuild(charactersRepository::findAll, this::charactersDocument);
+            commit();
+            log.info("Search index rebuilt with {} documents in {} ms", documents, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new SearchIndexException("Could not rebuild search index", e);
+        }
+    }
+
+    /**
+     * Update the index with a batch of committed entity changes, committing the index once for the whole batch.
+     *
+     * @param changes the changes.
+     */
+    @Override
+    public void onEntityChanges(List<EntityChangedEvent> changes) {
+        log.debug("Updating search index for {} changes", changes.size());
+        try {
+            // Each changed entity is reloaded, so it is only indexed once however often it changed
+            Set<EntityChangedEvent> distinct = new LinkedHashSet<>(changes);
+            Map<Long, Document> comicDocuments = readOnlyTransactionTemplate.execute(status -> loadComics(distinct));
+            for (EntityChangedEvent event : distinct) {
+                apply(event, comicDocuments);
+            }
+            commit();
+        } catch (IOException e) {
+            throw new SearchIndexException("Could not update search index", e);
+        }
+    }
+
+    /**
+     * Search comics, series and characters.
+     *
+     * @param text the words to search.
+     * @param type the type of the entities to search, or {@code null} for all of them.
+     * @param size the maximum number of results.
+     * @return the matching entities, best match first.
+     */
+    public List<SearchHitDTO> search(String text, String type, int size) {
+        Query query = buildQuery(text, type);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, size);
+                List<SearchHitDTO> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    Document document = searcher.doc(scoreDoc.doc);
+                    hits.add(
+                        new SearchHitDTO(
+                            document.get(TYPE_FIELD),
+                            document.getField(ID_FIELD).numericValue().longValue(),
+                            document.get(LABEL_FIELD),
+                            scoreDoc.score
+                        )
+                    );
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new SearchIndexException("Could not search for " + text, e);
+        }
+    }
+
+    private void apply(EntityChangedEvent event, Map<Long, Document> comicDocuments) throws IOException {
+        String type = type(event.getEntityType());
+        if (event.getChange() == EntityChangedEvent.Change.DELETED) {
+            writer.deleteDocuments(uid(type, event.getId()));
+            return;
+        }
+        List<Document> documents = event.getEntityType() == Comic.class
+            ? Optional.ofNullable(comicDocuments.get(event.getId())).map(List::of).orElse(List.of())
+            : readOnlyTransactionTemplate.execute(status -> load(event));
+        if (documents.isEmpty()) {
+            // Deleted in the meantime
+            writer.deleteDocuments(uid(type, event.getId()));
+        }
+        for (Document document : documents) {
+            writer.updateDocument(new Term(UID_FIELD, document.get(UID_FIELD)), document);
+        }
+        if (event.getEntityType() == Series.class && !documents.isEmpty()) {
+            // Comic documents hold the name of their series: paged as a rebuild, a series may hold any number of comics
+            Specification<Comic> ofSeries = (root, query, builder) -> builder.equal(root.get(Comic_.series).get(Series_.id), event.getId());
+            rebuild(pageable -> comicRepository.findAll(ofSeries, pageable), this::comicDocument);
+        }
+    }
+
+    /**
+     * Load the documents of the saved comics, by id, in pages of {@code application.search.rebuild-batch-size} comics.
+     */
+    private Map<Long, Document> loadComics(Set<EntityChangedEvent> changes) {
+        List<Long> ids = changes
+            .stream()
+            .filter(event -> event.getEntityType() == Comic.class && event.getChange() == EntityChangedEvent.Change.SAVED)
+            .map(EntityChangedEvent::getId)
+            .collect(Collectors.toList());
+        Map<Long, Document> documents = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += properties.getRebuildBatchSize()) {
+            List<Long> page = ids.subList(from, Math.min(from + properties.getRebuildBatchSize(), ids.size()));
+            comicRepository
+                .findAll((root, query, builder) -> root.get(Comic_.id).in(page))
+                .forEach(comic -> documents.put(comic.getId(), comicDocument(comic)));
+        }
+        return documents;
+    }
+
+    private List<Document> load(EntityChangedEvent event) {
+        Long id = event.getId();
+        List<Document> documents = new ArrayList<>();
+        if (event.getEntityType() == Series.class) {
+            seriesRepository.findById(id).map(this::seriesDocument).ifPresent(documents::add);
+        } else if (event.getEntityType() == Characters.class) {
+            charactersRepository.findById(id).map(this::charactersDocument).ifPresent(documents::add);
+        }
+        return documents;
+    }
+
+    private <T> int rebuild(Function<Pageable, Page<T>> finder, Function<T, Document> toDocument) throws IOException {
+        int documents = 0;
+        Pageable pageable = PageRequest.of(0, properties.getRebuildBatchSize(), Sort.by(ID_FIELD));
+        while (pageable != null) {
+            Pageable current = pageable;
+            Page<T> page = readOnlyTransactionTemplate.execute(status -> finder.apply(current));
+            for (T entity : page) {
+                Document document = toDocument.apply(entity);
+                writer.updateDocument(new Term(UID_FIELD, document.get(UID_FIELD)), document);
+                documents++;
+            }
+            pageable = page.hasNext() ? page.nextPageable() : null;
+        }
+        return documents;
+    }
+
+    private void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    private Document comicDocument(Comic comic) {
+        Document document = document(TYPE_COMIC, comic.getId(), comic.getTitle());
+        addText(document, TITLE_FIELD, comic.getTitle());
+        addText(document, DESCRIPTION_FIELD, comic.getDescription());
+        if (comic.getSeries() != null) {
+            addText(document, SERIES_NAME_FIELD, comic.getSeries().getName());
+        }
+        return document;
+    }
+
+    private Document seriesDocument(Series series) {
+        Document document = document(TYPE_SERIES, series.getId(), series.getName());
+        addText(document, NAME_FIELD, series.getName());
+        return document;
+    }
+
+    private Document charactersDocument(Characters characters) {
+        Document document = document(TYPE_CHARACTERS, characters.getId(), characters.getFullname());
+        addText(document, FULLNAME_FIELD, characters.getFullname());
+        addText(document, DESCRIPTION_FIELD, characters.getDescription());
+        return document;
+    }
+
+    private static Document document(String type, Long id, String label) {
+        Document document = new Document();
+        document.add(new StringField(UID_FIELD, type + ":" + id, Field.Store.YES));
+        document.add(new StringField(TYPE_FIELD, type, Field.Store.YES));
+        document.add(new StoredField(ID_FIELD, id));
+        if (label != null) {
+            document.add(new StoredField(LABEL_FIELD, label));
+        }
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private static Term uid(String type, Long id) {
+        return new Term(UID_FIELD, type + ":" + id);
+    }
+
+    private static String type(Class<?> entityType) {
+        if (entityType == Comic.class) {
+            return TYPE_COMIC;
+        }
+        if (entityType == Series.class) {
+            return TYPE_SERIES;
+        }
+        return TYPE_CHARACTERS;
+    }
+
+    private Query buildQuery(String text, String type) {
+        List<String> words = analyze(text);
+        if (words.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String word : words) {
+            List<Query> alternatives = new ArrayList<>();
+            for (Map.Entry<String, Float> field : FIELD_BOOSTS.entrySet()) {
+                Term term = new Term(field.getKey(), word);
+                float boost = field.getValue();
+                alternatives.add(new BoostQuery(new TermQuery(term), 4 * boost));
+                alternatives.add(new BoostQuery(new PrefixQuery(term), 2 * boost));
+                if (word.length() > 2) {
+                    // Keep the first letter to limit the terms to expand
+                    alternatives.add(new BoostQuery(new FuzzyQuery(term, word.length() > 5 ? 2 : 1, 1), boost));
+                }
+            }
+            query.add(new DisjunctionMaxQuery(alternatives, 0.1f), BooleanClause.Occur.MUST);
+        }
+        if (type != null) {
+            query.add(new TermQuery(new Term(TYPE_FIELD, type)), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(TITLE_FIELD, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new SearchIndexException("Could not analyze " + text, e);
+        }
+        return words;
+    }
+}
@@ -1,36 +1,55 @@
 package whereismycomic.service;
 
 import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 import whereismycomic.domain.*; // for static metamodels
 import whereismycomic.domain.Series;
 import whereismycomic.repository.SeriesRepository;
 import whereismycomic.service.criteria.SeriesCriteria;
+import whereismycomic.service.dto.SeriesSummaryDTO;
 
 /**
  * Service for executing complex queries for {@link Series} entities in the database.
  * The main input is a {@link SeriesCriteria} which gets converted to {@link Specification},
  * in a way that all the filters must apply.
- * It returns a {@link List} of {@link Series} or a {@link Page} of {@link Series} which fulfills the criteria.
+ * It returns a {@link List} of {@link Series}, a {@link Page} of {@link Series} or a keyset {@link Slice} of {@link Series}
+ * which fulfills the criteria.
  */
 @Service
 @Transactional(readOnly = true)
-public class SeriesQueryService extends QueryService<Series> {
+public class SeriesQueryService extends KeysetQueryService<Series> {
+
+    /**
+     * The entity types whose changes can change the result of a query.
+     */
+    private static final List<Class<?>> QUERY_DEPENDENCIES = List.of(Series.class, Comic.class);
 
     private final Logger log = LoggerFactory.getLogger(SeriesQueryService.class);
 
     private final SeriesRepository seriesRepository;
 
-    public SeriesQueryService(SeriesRepository seriesRepository) {
+    private final QueryResultCache queryResultCache;
+
+    public SeriesQueryService(SeriesRepository seriesRepository, EntityManager entityManager, QueryResultCache queryResultCache) {
+        super(entityManager, Series.class, "Series.characters");
         this.seriesRepository = seriesRepository;
+        this.queryResultCache = queryResultCache;
     }
 
     /**
@@ -55,7 +74,73 @@ public class SeriesQueryService extends QueryService<Series> {
     public Page<Series> findByCriteria(SeriesCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Series> specification = createSpecification(criteria);
-        return seriesRepository.findAll(specification, page);
+        if (!isCacheable(criteria)) {
+            return seriesRepository.findAll(specification, page);
+        }
+        QueryResultCache.Ids ids = queryResultCache.get(
+            QueryResultCache.SERIES_QUERIES_CACHE,
+            QUERY_DEPENDENCIES,
+            "page:" + QueryResultCache.canonical(criteria) + ":" + page,
+            () -> QueryResultCache.Ids.of(findPage(specification, page, Long.class, (root, builder) -> root.get(Series_.id)))
+        );
+        return new PageImpl<>(findAllById(ids.getIds()), page, ids.getTotal());
+    }
+
+    /**
+     * Return a {@link Page} of {@link SeriesSummaryDTO} which matches the criteria from the database.
+     * Only the columns of the summary are selected, and no entity is loaded.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the summaries of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<SeriesSummaryDTO> findSummariesByCriteria(SeriesCriteria criteria, Pageable page) {
+        log.debug("find summaries by criteria : {}, page: {}", criteria, page);
+        final Specification<Series> specification = createSpecification(criteria);
+        return findPage(specification, page, SeriesSummaryDTO.class, SeriesQueryService::summary);
+    }
+
+    /**
+     * Return a keyset {@link Slice} of {@link Series} which matches the criteria from the database, ordered by id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice, or {@code null} for the first slice.
+     * @param size The size of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Series> findByCriteriaAfterId(SeriesCriteria criteria, Long after, int size) {
+        log.debug("find by criteria : {}, after id: {}, size: {}", criteria, after, size);
+        final Specification<Series> specification = createAfterIdSpecification(criteria, after);
+        final Sort sort = Sort.by(Series_.ID);
+        if (!isCacheable(criteria)) {
+            return findSlice(specification, sort, size);
+        }
+        QueryResultCache.Ids ids = queryResultCache.get(
+            QueryResultCache.SERIES_QUERIES_CACHE,
+            QUERY_DEPENDENCIES,
+            "slice:" + QueryResultCache.canonical(criteria) + ":" + after + ":" + size,
+            () -> QueryResultCache.Ids.of(findSlice(specification, sort, size, Long.class, (root, builder) -> root.get(Series_.id)))
+        );
+        return new SliceImpl<>(findAllById(ids.getIds()), PageRequest.of(0, size, sort), ids.hasNext());
+    }
+
+    /**
+     * Return a keyset {@link Slice} of {@link SeriesSummaryDTO} which matches the criteria from the database, ordered by id.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The id of the last entity of the previous slice, or {@code null} for the first slice.
+     * @param size The size of the slice.
+     * @return the summaries of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<SeriesSummaryDTO> findSummariesByCriteriaAfterId(SeriesCriteria criteria, Long after, int size) {
+        log.debug("find summaries by criteria : {}, after id: {}, size: {}", criteria, after, size);
+        return findSlice(
+            createAfterIdSpecification(criteria, after),
+            Sort.by(Series_.ID),
+            size,
+            SeriesSummaryDTO.class,
+            SeriesQueryService::summary
+        );
     }
 
     /**
@@ -67,7 +152,35 @@ public class SeriesQueryService extends QueryService<Series> {
     public long countByCriteria(SeriesCriteria criteria) {
         log.debug("count by criteria : {}", criteria);
         final Specification<Series> specification = createSpecification(criteria);
-        return seriesRepository.count(specification);
+        return queryResultCache.get(
+            QueryResultCache.SERIES_QUERIES_CACHE,
+            QUERY_DEPENDENCIES,
+            "count:" + QueryResultCache.canonical(criteria),
+            () -> seriesRepository.count(specification)
+        );
+    }
+
+    private boolean isCacheable(SeriesCriteria criteria) {
+        // Distinct queries can't be ordered by columns other than the selected id
+        return queryResultCache.isCacheable(QUERY_DEPENDENCIES) && (criteria == null || !Boolean.TRUE.equals(criteria.getDistinct()));
+    }
+
+    private Specification<Series> createAfterIdSpecification(SeriesCriteria criteria, Long after) {
+        Specification<Series> specification = createSpecification(criteria);
+        if (after != null) {
+            specification = specification.and((root, query, builder) -> builder.greaterThan(root.get(Series_.id), after));
+        }
+        return specification;
+    }
+
+    private static Selection<SeriesSummaryDTO> summary(Root<Series> root, CriteriaBuilder builder) {
+        // The id of the characters is read from the foreign key column, without joining the characters table
+        return builder.construct(
+            SeriesSummaryDTO.class,
+            root.get(Series_.id),
+            root.get(Series_.name),
+            root.get(Series_.characters).get(Characters_.id)
+        );
     }
 
     /**
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import whereismycomic.domain.Series;
@@ -20,8 +21,11 @@ public class SeriesService {
 
     private final SeriesRepository seriesRepository;
 
-    public SeriesService(SeriesRepository seriesRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SeriesService(SeriesRepository seriesRepository, ApplicationEventPublisher eventPublisher) {
         this.seriesRepository = seriesRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -32,7 +36,7 @@ public class SeriesService {
      */
     public Series save(Series series) {
         log.debug("Request to save Series : {}", series);
-        return seriesRepository.save(series);
+        return saveAndPublish(series);
     }
 
     /**
@@ -43,7 +47,7 @@ public class SeriesService {
      */
     public Series update(Series series) {
         log.debug("Request to save Series : {}", series);
-        return seriesRepository.save(series);
+        return saveAndPublish(series);
     }
 
     /**
@@ -56,7 +60,7 @@ public class SeriesService {
         log.debug("Request to partially update Series : {}", series);
 
         return seriesRepository
-            .findById(series.getId())
+            .findOneWithEagerRelationships(series.getId())
             .map(existingSeries -> {
                 if (series.getName() != null) {
                     existingSeries.setName(series.getName());
@@ -64,7 +68,7 @@ public class SeriesService {
 
                 return existingSeries;
             })
-            .map(seriesRepository::save);
+            .map(this::saveAndPublish);
     }
 
     /**
@@ -87,7 +91,7 @@ public class SeriesService {
     @Transactional(readOnly = true)
     public Optional<Series> findOne(Long id) {
         log.debug("Request to get Series : {}", id);
-        return seriesRepository.findById(id);
+        return seriesRepository.findOneWithEagerRelationships(id);
     }
 
     /**
@@ -98,5 +102,12 @@ public class SeriesService {
     public void delete(Long id) {
         log.debug("Request to delete Series : {}", id);
         seriesRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(Series.class, id));
+    }
+
+    private Series saveAndPublish(Series series) {
+        Series result = seriesRepository.save(series);
+        eventPublisher.publishEvent(EntityChangedEvent.saved(Series.class, result.getId()));
+        return result;
     }
 }
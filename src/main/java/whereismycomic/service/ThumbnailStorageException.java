@@ -0,0 +1,10 @@
+package whereismycomic.service;
+
+public class ThumbnailStorageException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ThumbnailStorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
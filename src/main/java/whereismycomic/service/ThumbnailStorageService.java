@@ -0,0 +1,148 @@
+package whereismycomic.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import whereismycomic.config.ApplicationProperties;
+
+/**
+ * Content-addressed store for thumbnail images on the local filesystem.
+ * <p>
+ * Every image is keyed by the SHA-256 hash of its bytes, so identical images are only stored once,
+ * and entities only keep the hash instead of the image itself.
+ */
+@Service
+public class ThumbnailStorageService {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+
+    /**
+     * The content types accepted for thumbnails: raster images only, as browsers run the scripts of SVG or HTML
+     * documents served from the origin of the application.
+     */
+    private static final Set<String> IMAGE_CONTENT_TYPES = Set.of(
+        "image/bmp",
+        "image/gif",
+        "image/jpeg",
+        "image/jpg",
+        "image/png",
+        "image/webp"
+    );
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Logger log = LoggerFactory.getLogger(ThumbnailStorageService.class);
+
+    private final Path root;
+
+    public ThumbnailStorageService(ApplicationProperties applicationProperties) {
+        this.root = Paths.get(applicationProperties.getThumbnails().getStoragePath()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Store a thumbnail, unless an identical one is already stored.
+     *
+     * @param content the image bytes.
+     * @return the hash under which the image is stored.
+     */
+    public String store(byte[] content) {
+        String hash = hash(content);
+        Path target = resolve(hash);
+        if (Files.exists(target)) {
+            log.debug("Thumbnail {} already stored", hash);
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, content);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new ThumbnailStorageException("Could not store thumbnail " + hash, e);
+        }
+        log.debug("Stored thumbnail {} ({} bytes)", hash, content.length);
+        return hash;
+    }
+
+    /**
+     * Find the file holding a stored thumbnail.
+     *
+     * @param hash the hash of the thumbnail.
+     * @return the file, or empty if the hash is invalid or nothing is stored under it.
+     */
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path file = resolve(hash);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * Compute the key of a thumbnail in the store.
+     *
+     * @param content the image bytes.
+     * @return the lowercase hexadecimal SHA-256 hash of the bytes.
+     */
+    public static String hash(byte[] content) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Whether a content type is one of the raster image types accepted for thumbnails.
+     *
+     * @param contentType the content type, with or without parameters.
+     * @return {@code true} if thumbnails can be served with this content type.
+     */
+    public static boolean isImageContentType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int parameters = contentType.indexOf(';');
+        String type = parameters < 0 ? contentType : contentType.substring(0, parameters);
+        return IMAGE_CONTENT_TYPES.contains(type.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Check the content type of an uploaded thumbnail.
+     *
+     * @param contentType the content type recorded with the thumbnail.
+     * @throws InvalidThumbnailException if it is not a raster image type.
+     */
+    public static void checkContentType(String contentType) {
+        if (!isImageContentType(contentType)) {
+            throw new InvalidThumbnailException("Thumbnails must be PNG, JPEG, GIF, WebP or BMP images, not " + contentType);
+        }
+    }
+
+    private Path resolve(String hash) {
+        // Fan out over two directory levels to keep directories small
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+}
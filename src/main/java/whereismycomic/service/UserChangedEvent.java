@@ -0,0 +1,41 @@
+package whereismycomic.service;
+
+/**
+ * Published by the {@link UserService} when a user is created, changed or deleted, with the keys of the user caches:
+ * its id, login and email.
+ */
+public class UserChangedEvent {
+
+    private final Long id;
+
+    private final String login;
+
+    private final String email;
+
+    public UserChangedEvent(Long id, String login, String email) {
+        this.id = id;
+        this.login = login;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserChangedEvent{" +
+            "id=" + id +
+            ", login='" + login + "'" +
+            "}";
+    }
+}
@@ -7,11 +7,13 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 import whereismycomic.config.Constants;
@@ -21,6 +23,7 @@ import whereismycomic.repository.AuthorityRepository;
 import whereismycomic.repository.UserRepository;
 import whereismycomic.security.AuthoritiesConstants;
 import whereismycomic.security.SecurityUtils;
+import whereismycomic.security.UserNearCache;
 import whereismycomic.service.dto.AdminUserDTO;
 import whereismycomic.service.dto.UserDTO;
 
@@ -41,16 +44,24 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final UserNearCache userNearCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        UserNearCache userNearCache,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.userNearCache = userNearCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -281,14 +292,15 @@ public class UserService {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
-    @Transactional(readOnly = true)
+    // No transaction, so that a hit of the near-cache does not borrow a connection: a miss is read by the repository
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
-        return userRepository.findOneWithAuthoritiesByLogin(login);
+        return userNearCache.getByLogin(login, userRepository::findOneWithAuthoritiesByLogin);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<User> getUserWithAuthorities() {
-        return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
+        return SecurityUtils.getCurrentUserLogin().flatMap(this::getUserWithAuthoritiesByLogin);
     }
 
     /**
@@ -317,9 +329,12 @@ public class UserService {
     }
 
     private void clearUserCaches(User user) {
+        userNearCache.evict(user);
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
         }
+        // For the caches of the other nodes
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getLogin(), user.getEmail()));
     }
 }
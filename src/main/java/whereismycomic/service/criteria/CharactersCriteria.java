@@ -0,0 +1,156 @@
+package whereismycomic.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import org.springdoc.api.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.BooleanFilter;
+import tech.jhipster.service.filter.DoubleFilter;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.FloatFilter;
+import tech.jhipster.service.filter.IntegerFilter;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link whereismycomic.domain.Characters} entity. This class is used
+ * in {@link whereismycomic.web.rest.CharactersResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /characters?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+public class CharactersCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter fullname;
+
+    private StringFilter description;
+
+    private LongFilter seriesId;
+
+    private Boolean distinct;
+
+    public CharactersCriteria() {}
+
+    public CharactersCriteria(CharactersCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.fullname = other.fullname == null ? null : other.fullname.copy();
+        this.description = other.description == null ? null : other.description.copy();
+        this.seriesId = other.seriesId == null ? null : other.seriesId.copy();
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public CharactersCriteria copy() {
+        return new CharactersCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getFullname() {
+        return fullname;
+    }
+
+    public StringFilter fullname() {
+        if (fullname == null) {
+            fullname = new StringFilter();
+        }
+        return fullname;
+    }
+
+    public void setFullname(StringFilter fullname) {
+        this.fullname = fullname;
+    }
+
+    public StringFilter getDescription() {
+        return description;
+    }
+
+    public StringFilter description() {
+        if (description == null) {
+            description = new StringFilter();
+        }
+        return description;
+    }
+
+    public void setDescription(StringFilter description) {
+        this.description = description;
+    }
+
+    public LongFilter getSeriesId() {
+        return seriesId;
+    }
+
+    public LongFilter seriesId() {
+        if (seriesId == null) {
+            seriesId = new LongFilter();
+        }
+        return seriesId;
+    }
+
+    public void setSeriesId(LongFilter seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CharactersCriteria that = (CharactersCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(fullname, that.fullname) &&
+            Objects.equals(description, that.description) &&
+            Objects.equals(seriesId, that.seriesId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, fullname, description, seriesId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CharactersCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (fullname != null ? "fullname=" + fullname + ", " : "") +
+            (description != null ? "description=" + description + ", " : "") +
+            (seriesId != null ? "seriesId=" + seriesId + ", " : "") +
+            (distinct != null ? "distinct=" + distinct + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,58 @@
+package whereismycomic.service.dto;
+
+/**
+ * A DTO representing a character in lists, without its description nor its series.
+ * It is built straight from the selected columns, without loading the {@link whereismycomic.domain.Characters} entity.
+ */
+public class CharactersSummaryDTO {
+
+    private Long id;
+
+    private String fullname;
+
+    private String thumbnailUrl;
+
+    public CharactersSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public CharactersSummaryDTO(Long id, String fullname, String thumbnailHash) {
+        this.id = id;
+        this.fullname = fullname;
+        this.thumbnailUrl = thumbnailHash == null ? null : "/api/characters/" + id + "/thumbnail?v=" + thumbnailHash;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFullname() {
+        return fullname;
+    }
+
+    public void setFullname(String fullname) {
+        this.fullname = fullname;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CharactersSummaryDTO{" +
+            "id=" + id +
+            ", fullname='" + fullname + "'" +
+            ", thumbnailUrl='" + thumbnailUrl + "'" +
+            "}";
+    }
+}
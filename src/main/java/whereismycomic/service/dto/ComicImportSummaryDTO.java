@@ -0,0 +1,140 @@
+package whereismycomic.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO summarizing a bulk import of comics: how many rows were read, imported and rejected, and why.
+ */
+public class ComicImportSummaryDTO {
+
+    public enum Status {
+        COMPLETED,
+        ABORTED,
+    }
+
+    private Status status = Status.COMPLETED;
+
+    private long rows;
+
+    private long imported;
+
+    private long rejected;
+
+    private int batches;
+
+    private long durationMillis;
+
+    private List<RowErrorDTO> errors = new ArrayList<>();
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return durationMillis == 0 ? 0 : rows * 1000.0 / durationMillis;
+    }
+
+    /**
+     * The first rejected rows, up to {@code application.bulk-import.max-errors}.
+     */
+    public List<RowErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ComicImportSummaryDTO{" +
+            "status=" + status +
+            ", rows=" + rows +
+            ", imported=" + imported +
+            ", rejected=" + rejected +
+            ", batches=" + batches +
+            ", durationMillis=" + durationMillis +
+            "}";
+    }
+
+    /**
+     * A rejected row, numbered from 1 in the order of the request body.
+     */
+    public static class RowErrorDTO {
+
+        private long row;
+
+        private String message;
+
+        public RowErrorDTO() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public RowErrorDTO(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public void setRow(long row) {
+            this.row = row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
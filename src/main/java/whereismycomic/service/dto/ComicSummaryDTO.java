@@ -0,0 +1,94 @@
+package whereismycomic.service.dto;
+
+/**
+ * A DTO representing a comic in lists, without its description nor its series details.
+ * It is built straight from the selected columns, without loading the {@link whereismycomic.domain.Comic} entity.
+ */
+public class ComicSummaryDTO {
+
+    private Long id;
+
+    private Integer issuenumber;
+
+    private String title;
+
+    private String location;
+
+    private Long seriesId;
+
+    private String thumbnailUrl;
+
+    public ComicSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ComicSummaryDTO(Long id, Integer issuenumber, String title, String location, Long seriesId, String thumbnailHash) {
+        this.id = id;
+        this.issuenumber = issuenumber;
+        this.title = title;
+        this.location = location;
+        this.seriesId = seriesId;
+        this.thumbnailUrl = thumbnailHash == null ? null : "/api/comics/" + id + "/thumbnail?v=" + thumbnailHash;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getIssuenumber() {
+        return issuenumber;
+    }
+
+    public void setIssuenumber(Integer issuenumber) {
+        this.issuenumber = issuenumber;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Long getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(Long seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ComicSummaryDTO{" +
+            "id=" + id +
+            ", issuenumber=" + issuenumber +
+            ", title='" + title + "'" +
+            ", location='" + location + "'" +
+            ", seriesId=" + seriesId +
+            ", thumbnailUrl='" + thumbnailUrl + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,218 @@
+package whereismycomic.service.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing an asynchronous import of comics and its progress.
+ */
+public class ImportJobDTO {
+
+    private Long id;
+
+    private String fileName;
+
+    private String format;
+
+    private String status;
+
+    private long fileSize;
+
+    private long bytesRead;
+
+    private long rows;
+
+    private long imported;
+
+    private long rejected;
+
+    private int batches;
+
+    private long durationMillis;
+
+    private List<ComicImportSummaryDTO.RowErrorDTO> errors = new ArrayList<>();
+
+    private String createdBy;
+
+    private Instant createdDate;
+
+    private Instant startedDate;
+
+    private Instant updatedDate;
+
+    private Instant finishedDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public void setBatches(int batches) {
+        this.batches = batches;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return durationMillis == 0 ? 0 : rows * 1000.0 / durationMillis;
+    }
+
+    /**
+     * The share of the file read, between 0 and 1.
+     */
+    public double getProgress() {
+        return fileSize == 0 ? 0 : Math.min(1, (double) bytesRead / fileSize);
+    }
+
+    /**
+     * The estimated number of seconds left, at the average speed of the import so far, while it runs.
+     */
+    public Long getEtaSeconds() {
+        if (!"RUNNING".equals(status) || bytesRead == 0) {
+            return null;
+        }
+        return Math.max(0, fileSize - bytesRead) * durationMillis / bytesRead / 1000;
+    }
+
+    /**
+     * The first rejected rows, up to {@code application.bulk-import.max-errors}.
+     */
+    public List<ComicImportSummaryDTO.RowErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ComicImportSummaryDTO.RowErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public void setStartedDate(Instant startedDate) {
+        this.startedDate = startedDate;
+    }
+
+    public Instant getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(Instant updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    public void setFinishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportJobDTO{" +
+            "id=" + id +
+            ", fileName='" + fileName + "'" +
+            ", status='" + status + "'" +
+            ", rows=" + rows +
+            ", imported=" + imported +
+            ", rejected=" + rejected +
+            "}";
+    }
+}
@@ -0,0 +1,69 @@
+package whereismycomic.service.dto;
+
+/**
+ * A DTO representing a result of the full-text search: a comic, a series or a characters.
+ */
+public class SearchHitDTO {
+
+    private String type;
+
+    private Long id;
+
+    private String label;
+
+    private float score;
+
+    public SearchHitDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SearchHitDTO(String type, Long id, String label, float score) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.score = score;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchHitDTO{" +
+            "type='" + type + "'" +
+            ", id=" + id +
+            ", label='" + label + "'" +
+            ", score=" + score +
+            "}";
+    }
+}
@@ -0,0 +1,58 @@
+package whereismycomic.service.dto;
+
+/**
+ * A DTO representing a series in lists, without its comics nor its characters details.
+ * It is built straight from the selected columns, without loading the {@link whereismycomic.domain.Series} entity.
+ */
+public class SeriesSummaryDTO {
+
+    private Long id;
+
+    private String name;
+
+    private Long charactersId;
+
+    public SeriesSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SeriesSummaryDTO(Long id, String name, Long charactersId) {
+        this.id = id;
+        this.name = name;
+        this.charactersId = charactersId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getCharactersId() {
+        return charactersId;
+    }
+
+    public void setCharactersId(Long charactersId) {
+        this.charactersId = charactersId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SeriesSummaryDTO{" +
+            "id=" + id +
+            ", name='" + name + "'" +
+            ", charactersId=" + charactersId +
+            "}";
+    }
+}
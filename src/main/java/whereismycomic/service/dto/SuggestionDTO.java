@@ -0,0 +1,76 @@
+package whereismycomic.service.dto;
+
+import java.util.Objects;
+
+/**
+ * A DTO representing an autocomplete suggestion: a comic, a series or a characters whose label completes a prefix.
+ */
+public class SuggestionDTO {
+
+    private String type;
+
+    private Long id;
+
+    private String label;
+
+    public SuggestionDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SuggestionDTO(String type, Long id, String label) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SuggestionDTO)) {
+            return false;
+        }
+        SuggestionDTO that = (SuggestionDTO) o;
+        return Objects.equals(type, that.type) && Objects.equals(id, that.id) && Objects.equals(label, that.label);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, id, label);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SuggestionDTO{" +
+            "type='" + type + "'" +
+            ", id=" + id +
+            ", label='" + label + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,54 @@
+package whereismycomic.web.rest;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import whereismycomic.service.AutocompleteService;
+import whereismycomic.service.dto.SuggestionDTO;
+import whereismycomic.web.rest.errors.BadRequestAlertException;
+
+/**
+ * REST controller for the autocomplete of comic titles, series names and character fullnames.
+ */
+@RestController
+@RequestMapping("/api")
+public class AutocompleteResource {
+
+    private static final String ENTITY_NAME = "autocomplete";
+
+    private static final int MAX_SIZE = 50;
+
+    private final Logger log = LoggerFactory.getLogger(AutocompleteResource.class);
+
+    private final AutocompleteService autocompleteService;
+
+    public AutocompleteResource(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    /**
+     * {@code GET  /autocomplete?prefix=:prefix} : suggest comics, series and characters.
+     * <p>
+     * The label of a suggestion, or one of its words, starts with the prefix, ignoring case and accents.
+     *
+     * @param prefix the first letters typed.
+     * @param type the type of the entities to suggest: {@code comic}, {@code series} or {@code characters}; all of them if absent.
+     * @param size the maximum number of suggestions, at most 50.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the suggestions in body, shortest completion first,
+     * or with status {@code 400 (Bad Request)} if the type is unknown.
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SuggestionDTO>> autocomplete(
+        @RequestParam("prefix") String prefix,
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        log.debug("REST request to autocomplete : {}, type: {}", prefix, type);
+        if (type != null && !AutocompleteService.TYPES.contains(type)) {
+            throw new BadRequestAlertException("Unknown autocomplete type", ENTITY_NAME, "typeinvalid");
+        }
+        return ResponseEntity.ok().body(autocompleteService.suggest(prefix, type, Math.max(1, Math.min(size, MAX_SIZE))));
+    }
+}
@@ -0,0 +1,100 @@
+package whereismycomic.web.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import whereismycomic.security.AuthoritiesConstants;
+import whereismycomic.service.CatalogueExportService;
+
+/**
+ * REST controller for the export of the whole catalogue, for backups.
+ * <p>
+ * Each export is written as NDJSON, one entity per line, straight to the response while it is read from the database.
+ * With {@code gzip=true} it is downloaded as a gzipped file instead. An export which fails once started is left
+ * unfinished, for the container to abort the response, rather than completed into a valid but truncated file.
+ */
+@RestController
+@RequestMapping("/api/export")
+@PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+public class CatalogueExportResource {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final Logger log = LoggerFactory.getLogger(CatalogueExportResource.class);
+
+    private final CatalogueExportService catalogueExportService;
+
+    public CatalogueExportResource(CatalogueExportService catalogueExportService) {
+        this.catalogueExportService = catalogueExportService;
+    }
+
+    /**
+     * {@code GET  /export/comics} : export all the comics, with their series.
+     *
+     * @param gzip whether the export is gzipped.
+     * @param response the response with status {@code 200 (OK)} and with body the comics.
+     * @throws IOException if the export could not be written.
+     */
+    @GetMapping("/comics")
+    public void exportComics(@RequestParam(value = "gzip", defaultValue = "false") boolean gzip, HttpServletResponse response)
+        throws IOException {
+        log.debug("REST request to export Comics");
+        export(response, "comics", gzip, catalogueExportService::exportComics);
+    }
+
+    /**
+     * {@code GET  /export/series} : export all the series, with their characters.
+     *
+     * @param gzip whether the export is gzipped.
+     * @param response the response with status {@code 200 (OK)} and with body the series.
+     * @throws IOException if the export could not be written.
+     */
+    @GetMapping("/series")
+    public void exportSeries(@RequestParam(value = "gzip", defaultValue = "false") boolean gzip, HttpServletResponse response)
+        throws IOException {
+        log.debug("REST request to export Series");
+        export(response, "series", gzip, catalogueExportService::exportSeries);
+    }
+
+    /**
+     * {@code GET  /export/characters} : export all the characters.
+     *
+     * @param gzip whether the export is gzipped.
+     * @param response the response with status {@code 200 (OK)} and with body the characters.
+     * @throws IOException if the export could not be written.
+     */
+    @GetMapping("/characters")
+    public void exportCharacters(@RequestParam(value = "gzip", defaultValue = "false") boolean gzip, HttpServletResponse response)
+        throws IOException {
+        log.debug("REST request to export Characters");
+        export(response, "characters", gzip, catalogueExportService::exportCharacters);
+    }
+
+    private static void export(HttpServletResponse response, String name, boolean gzip, Export export) throws IOException {
+        String fileName = name + ".ndjson" + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        // Not closed here: the container only completes the response once the export returns
+        OutputStream out = response.getOutputStream();
+        if (!gzip) {
+            export.writeTo(out);
+            return;
+        }
+        GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+        export.writeTo(gzipOut);
+        // Writes the trailer of the file, its checksum and size, only once all of it was exported
+        gzipOut.finish();
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -1,20 +1,37 @@
 package whereismycomic.web.rest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.server.ResponseStatusException;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 import whereismycomic.domain.Characters;
 import whereismycomic.repository.CharactersRepository;
+import whereismycomic.service.CharactersQueryService;
 import whereismycomic.service.CharactersService;
+import whereismycomic.service.ThumbnailStorageService;
+import whereismycomic.service.criteria.CharactersCriteria;
+import whereismycomic.service.dto.CharactersSummaryDTO;
 import whereismycomic.web.rest.errors.BadRequestAlertException;
 
 /**
@@ -35,9 +52,20 @@ public class CharactersResource {
 
     private final CharactersRepository charactersRepository;
 
-    public CharactersResource(CharactersService charactersService, CharactersRepository charactersRepository) {
+    private final CharactersQueryService charactersQueryService;
+
+    private final ThumbnailStorageService thumbnailStorageService;
+
+    public CharactersResource(
+        CharactersService charactersService,
+        CharactersRepository charactersRepository,
+        CharactersQueryService charactersQueryService,
+        ThumbnailStorageService thumbnailStorageService
+    ) {
         this.charactersService = charactersService;
         this.charactersRepository = charactersRepository;
+        this.charactersQueryService = charactersQueryService;
+        this.thumbnailStorageService = thumbnailStorageService;
     }
 
     /**
@@ -131,14 +159,93 @@ public class CharactersResource {
     }
 
     /**
-     * {@code GET  /characters} : get all the characters.
+     * {@code GET  /characters} : get a page of the characters.
+     * <p>
+     * By default, the page is selected with the {@code page} and {@code size} parameters, and the response holds the
+     * {@code X-Total-Count} and {@code Link} pagination headers. With the {@code after} parameter or {@code count=false},
+     * the keyset mode is used instead: the page starts after the entity with the {@code after} id, without skipping rows
+     * nor counting them, and the {@code Link} header only holds the {@code next} page, if any.
+     * In keyset mode, the characters are sorted by {@code id}.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of characters in body.
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param after the id of the last entity of the previous page, for keyset pagination.
+     * @param count whether the total count is needed, {@code false} switches to keyset pagination.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of characters in body,
+     * or with status {@code 400 (Bad Request)} if the sort is not supported by keyset pagination.
      */
     @GetMapping("/characters")
-    public List<Characters> getAllCharacters() {
-        log.debug("REST request to get all Characters");
-        return charactersService.findAll();
+    public ResponseEntity<List<Characters>> getAllCharacters(
+        CharactersCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) Long after,
+        @RequestParam(value = "count", defaultValue = "true") boolean count
+    ) {
+        log.debug("REST request to get Characters by criteria: {}, page: {}, after: {}", criteria, pageable, after);
+        if (after == null && count) {
+            Page<Characters> page = charactersQueryService.findByCriteria(criteria, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        if (!KeysetPaginationUtil.isSortedAscendingBy(pageable.getSortOr(Sort.by("id")), "id")) {
+            throw new BadRequestAlertException("Keyset pagination is only sorted by id", ENTITY_NAME, "sortinvalid");
+        }
+        Slice<Characters> slice = charactersQueryService.findByCriteriaAfterId(criteria, after, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            Characters::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /characters?view=summary} : get a page of the summaries of the characters.
+     * <p>
+     * Same as {@code GET  /characters}, but only the columns of the {@link CharactersSummaryDTO} are read from the database.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param after the id of the last entity of the previous page, for keyset pagination.
+     * @param count whether the total count is needed, {@code false} switches to keyset pagination.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of characters summaries in body,
+     * or with status {@code 400 (Bad Request)} if the sort is not supported by keyset pagination.
+     */
+    @GetMapping(value = "/characters", params = "view=summary")
+    public ResponseEntity<List<CharactersSummaryDTO>> getAllCharactersSummaries(
+        CharactersCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) Long after,
+        @RequestParam(value = "count", defaultValue = "true") boolean count
+    ) {
+        log.debug("REST request to get Characters summaries by criteria: {}, page: {}, after: {}", criteria, pageable, after);
+        if (after == null && count) {
+            Page<CharactersSummaryDTO> page = charactersQueryService.findSummariesByCriteria(criteria, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        if (!KeysetPaginationUtil.isSortedAscendingBy(pageable.getSortOr(Sort.by("id")), "id")) {
+            throw new BadRequestAlertException("Keyset pagination is only sorted by id", ENTITY_NAME, "sortinvalid");
+        }
+        Slice<CharactersSummaryDTO> slice = charactersQueryService.findSummariesByCriteriaAfterId(criteria, after, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            CharactersSummaryDTO::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /characters/count} : count all the characters.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/characters/count")
+    public ResponseEntity<Long> countCharacters(CharactersCriteria criteria) {
+        log.debug("REST request to count Characters by criteria: {}", criteria);
+        return ResponseEntity.ok().body(charactersQueryService.countByCriteria(criteria));
     }
 
     /**
@@ -154,6 +261,33 @@ public class CharactersResource {
         return ResponseUtil.wrapOrNotFound(characters);
     }
 
+    /**
+     * {@code GET  /characters/:id/thumbnail} : get the thumbnail image of the "id" characters.
+     *
+     * Supports conditional ({@code If-None-Match}) and partial ({@code Range}) requests.
+     *
+     * @param id the id of the characters whose thumbnail to retrieve.
+     * @param version the hash of the thumbnail, if known: the response is then cacheable forever.
+     * @param request the current request.
+     * @param response the response with status {@code 200 (OK)} and with body the image, {@code 206 (Partial Content)},
+     * {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
+     * @throws IOException if the thumbnail could not be read or written.
+     */
+    @GetMapping("/characters/{id}/thumbnail")
+    public void getCharactersThumbnail(
+        @PathVariable Long id,
+        @RequestParam(value = "v", required = false) String version,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to get thumbnail of Characters : {}", id);
+        Characters characters = charactersService.findOne(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        Path file = thumbnailStorageService
+            .find(characters.getThumbnailHash())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        ThumbnailResponses.write(request, response, characters.getThumbnailHash(), characters.getThumbnailContentType(), file, version);
+    }
+
     /**
      * {@code DELETE  /characters/:id} : delete the "id" characters.
      *
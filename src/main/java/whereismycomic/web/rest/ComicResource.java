@@ -1,22 +1,41 @@
 package whereismycomic.web.rest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.server.ResponseStatusException;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 import whereismycomic.domain.Comic;
 import whereismycomic.repository.ComicRepository;
+import whereismycomic.service.ComicImportService;
 import whereismycomic.service.ComicQueryService;
 import whereismycomic.service.ComicService;
+import whereismycomic.service.ThumbnailStorageService;
 import whereismycomic.service.criteria.ComicCriteria;
+import whereismycomic.service.dto.ComicImportSummaryDTO;
+import whereismycomic.service.dto.ComicSummaryDTO;
 import whereismycomic.web.rest.errors.BadRequestAlertException;
 
 /**
@@ -39,10 +58,22 @@ public class ComicResource {
 
     private final ComicQueryService comicQueryService;
 
-    public ComicResource(ComicService comicService, ComicRepository comicRepository, ComicQueryService comicQueryService) {
+    private final ThumbnailStorageService thumbnailStorageService;
+
+    private final ComicImportService comicImportService;
+
+    public ComicResource(
+        ComicService comicService,
+        ComicRepository comicRepository,
+        ComicQueryService comicQueryService,
+        ThumbnailStorageService thumbnailStorageService,
+        ComicImportService comicImportService
+    ) {
         this.comicService = comicService;
         this.comicRepository = comicRepository;
         this.comicQueryService = comicQueryService;
+        this.thumbnailStorageService = thumbnailStorageService;
+        this.comicImportService = comicImportService;
     }
 
     /**
@@ -65,6 +96,34 @@ public class ComicResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /comics/bulk} : Import a JSON array of new comics.
+     * <p>
+     * The body is streamed and imported in batches, each committed on its own: the rejected rows are reported in the
+     * summary, and the import stops at the first row which cannot be parsed.
+     *
+     * @param body the comics to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the summary of the import.
+     */
+    @PostMapping(value = "/comics/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ComicImportSummaryDTO> importComics(InputStream body) {
+        log.debug("REST request to import Comics");
+        return ResponseEntity.ok(comicImportService.importJson(body));
+    }
+
+    /**
+     * {@code POST  /comics/bulk} : Import new comics from CSV rows in the format of the sample data.
+     *
+     * @param body the comics to create, with a header row.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the summary of the import.
+     * @see ComicImportService#importCsv(InputStream)
+     */
+    @PostMapping(value = "/comics/bulk", consumes = "text/csv")
+    public ResponseEntity<ComicImportSummaryDTO> importComicsCsv(InputStream body) {
+        log.debug("REST request to import Comics from CSV");
+        return ResponseEntity.ok(comicImportService.importCsv(body));
+    }
+
     /**
      * {@code PUT  /comics/:id} : Updates an existing comic.
      *
@@ -132,16 +191,100 @@ public class ComicResource {
     }
 
     /**
-     * {@code GET  /comics} : get all the comics.
+     * {@code GET  /comics} : get a page of the comics.
+     * <p>
+     * By default, the page is selected with the {@code page} and {@code size} parameters, and the response holds the
+     * {@code X-Total-Count} and {@code Link} pagination headers. With the {@code after} parameter or {@code count=false},
+     * the keyset mode is used instead: the page starts after the entity with the {@code after} id, without skipping rows
+     * nor counting them, and the {@code Link} header only holds the {@code next} page, if any.
+     * In keyset mode, the comics are sorted by {@code id} (the default) or by {@code issuenumber}, in which case comics
+     * without an issuenumber are left out.
      *
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of comics in body.
+     * @param pageable the pagination information.
+     * @param after the id of the last entity of the previous page, for keyset pagination.
+     * @param count whether the total count is needed, {@code false} switches to keyset pagination.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of comics in body,
+     * or with status {@code 400 (Bad Request)} if the sort is not supported by keyset pagination.
      */
     @GetMapping("/comics")
-    public ResponseEntity<List<Comic>> getAllComics(ComicCriteria criteria) {
-        log.debug("REST request to get Comics by criteria: {}", criteria);
-        List<Comic> entityList = comicQueryService.findByCriteria(criteria);
-        return ResponseEntity.ok().body(entityList);
+    public ResponseEntity<List<Comic>> getAllComics(
+        ComicCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) Long after,
+        @RequestParam(value = "count", defaultValue = "true") boolean count
+    ) {
+        log.debug("REST request to get Comics by criteria: {}, page: {}, after: {}", criteria, pageable, after);
+        if (after == null && count) {
+            Page<Comic> page = comicQueryService.findByCriteria(criteria, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        Slice<Comic> slice = isKeysetByIssuenumber(pageable)
+            ? comicQueryService.findByCriteriaAfterIssuenumber(criteria, after, pageable.getPageSize()).orElseThrow(this::invalidCursor)
+            : comicQueryService.findByCriteriaAfterId(criteria, after, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            Comic::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /comics?view=summary} : get a page of the summaries of the comics.
+     * <p>
+     * Same as {@code GET  /comics}, but only the columns of the {@link ComicSummaryDTO} are read from the database.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param after the id of the last entity of the previous page, for keyset pagination.
+     * @param count whether the total count is needed, {@code false} switches to keyset pagination.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of comic summaries in body,
+     * or with status {@code 400 (Bad Request)} if the sort is not supported by keyset pagination.
+     */
+    @GetMapping(value = "/comics", params = "view=summary")
+    public ResponseEntity<List<ComicSummaryDTO>> getAllComicSummaries(
+        ComicCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) Long after,
+        @RequestParam(value = "count", defaultValue = "true") boolean count
+    ) {
+        log.debug("REST request to get Comic summaries by criteria: {}, page: {}, after: {}", criteria, pageable, after);
+        if (after == null && count) {
+            Page<ComicSummaryDTO> page = comicQueryService.findSummariesByCriteria(criteria, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        Slice<ComicSummaryDTO> slice = isKeysetByIssuenumber(pageable)
+            ? comicQueryService
+                .findSummariesByCriteriaAfterIssuenumber(criteria, after, pageable.getPageSize())
+                .orElseThrow(this::invalidCursor)
+            : comicQueryService.findSummariesByCriteriaAfterId(criteria, after, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            ComicSummaryDTO::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    private boolean isKeysetByIssuenumber(Pageable pageable) {
+        Sort sort = pageable.getSortOr(Sort.by("id"));
+        if (KeysetPaginationUtil.isSortedAscendingBy(sort, "id")) {
+            return false;
+        }
+        if (
+            KeysetPaginationUtil.isSortedAscendingBy(sort, "issuenumber") ||
+            KeysetPaginationUtil.isSortedAscendingBy(sort, "issuenumber", "id")
+        ) {
+            return true;
+        }
+        throw new BadRequestAlertException("Keyset pagination is only sorted by id or issuenumber", ENTITY_NAME, "sortinvalid");
+    }
+
+    private BadRequestAlertException invalidCursor() {
+        return new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
     }
 
     /**
@@ -169,6 +312,33 @@ public class ComicResource {
         return ResponseUtil.wrapOrNotFound(comic);
     }
 
+    /**
+     * {@code GET  /comics/:id/thumbnail} : get the thumbnail image of the "id" comic.
+     *
+     * Supports conditional ({@code If-None-Match}) and partial ({@code Range}) requests.
+     *
+     * @param id the id of the comic whose thumbnail to retrieve.
+     * @param version the hash of the thumbnail, if known: the response is then cacheable forever.
+     * @param request the current request.
+     * @param response the response with status {@code 200 (OK)} and with body the image, {@code 206 (Partial Content)},
+     * {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
+     * @throws IOException if the thumbnail could not be read or written.
+     */
+    @GetMapping("/comics/{id}/thumbnail")
+    public void getComicThumbnail(
+        @PathVariable Long id,
+        @RequestParam(value = "v", required = false) String version,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to get thumbnail of Comic : {}", id);
+        Comic comic = comicService.findOne(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        Path file = thumbnailStorageService
+            .find(comic.getThumbnailHash())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        ThumbnailResponses.write(request, response, comic.getThumbnailHash(), comic.getThumbnailContentType(), file, version);
+    }
+
     /**
      * {@code DELETE  /comics/:id} : delete the "id" comic.
      *
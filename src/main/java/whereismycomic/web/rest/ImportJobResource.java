@@ -0,0 +1,75 @@
+package whereismycomic.web.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import tech.jhipster.web.util.ResponseUtil;
+import whereismycomic.security.SecurityUtils;
+import whereismycomic.service.ImportJobService;
+import whereismycomic.service.dto.ImportJobDTO;
+import whereismycomic.web.rest.errors.BadRequestAlertException;
+
+/**
+ * REST controller for the asynchronous imports of comics.
+ */
+@RestController
+@RequestMapping("/api")
+public class ImportJobResource {
+
+    private static final String ENTITY_NAME = "importJob";
+
+    private final Logger log = LoggerFactory.getLogger(ImportJobResource.class);
+
+    private final ImportJobService importJobService;
+
+    public ImportJobResource(ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+
+    /**
+     * {@code POST  /import-jobs} : Upload a file of comics to import in the background.
+     * <p>
+     * A {@code .csv} file holds CSV rows in the format of the sample data, any other file a JSON array of comics, as for
+     * {@code POST /api/comics/bulk}.
+     *
+     * @param file the file of comics.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the queued job,
+     * or with status {@code 400 (Bad Request)} if the file is empty.
+     * @throws IOException if the file could not be stored.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/import-jobs")
+    public ResponseEntity<ImportJobDTO> createImportJob(@RequestParam("file") MultipartFile file) throws IOException, URISyntaxException {
+        log.debug("REST request to create ImportJob : {}", file.getOriginalFilename());
+        if (file.isEmpty()) {
+            throw new BadRequestAlertException("The file is empty", ENTITY_NAME, "fileempty");
+        }
+        String login = SecurityUtils.getCurrentUserLogin().orElseThrow();
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : file.getName();
+        ImportJobDTO result;
+        try (InputStream content = file.getInputStream()) {
+            result = importJobService.create(fileName, content, login);
+        }
+        return ResponseEntity.created(new URI("/api/import-jobs/" + result.getId())).body(result);
+    }
+
+    /**
+     * {@code GET  /import-jobs/:id} : get the progress of the "id" import job: rows read, imported and rejected, rows
+     * per second, share of the file read, estimated time left and first rejected rows.
+     *
+     * @param id the id of the job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job, or with status
+     * {@code 404 (Not Found)} if it does not exist or was created by another user.
+     */
+    @GetMapping("/import-jobs/{id}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable Long id) {
+        log.debug("REST request to get ImportJob : {}", id);
+        return ResponseUtil.wrapOrNotFound(importJobService.findOne(id));
+    }
+}
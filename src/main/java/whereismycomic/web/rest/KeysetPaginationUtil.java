@@ -0,0 +1,68 @@
+package whereismycomic.web.rest;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * A keyset page is requested with the {@code after} request parameter, holding the id of the last entity of the
+ * previous page. Contrary to {@link tech.jhipster.web.util.PaginationUtil}, no total count is known, so only a
+ * {@code next} link is generated, and only when there is a next page.
+ */
+final class KeysetPaginationUtil {
+
+    private static final String AFTER = "after";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate the pagination headers of a keyset page.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the returned page.
+     * @param idExtractor returns the id of an entity, used as the cursor of the next page.
+     * @param <T> the type of the entities.
+     * @return the {@link HttpHeaders}, holding a {@code Link} header if there is a next page.
+     */
+    static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice, Function<T, Long> idExtractor) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext() && slice.hasContent()) {
+            List<T> content = slice.getContent();
+            Long lastId = idExtractor.apply(content.get(content.size() - 1));
+            String next = uriBuilder
+                .replaceQueryParam(AFTER, lastId)
+                .replaceQueryParam("page")
+                .replaceQueryParam("size", slice.getSize())
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    /**
+     * Check that a sort only holds ascending orders on the given properties, in the same order.
+     *
+     * @param sort the requested sort.
+     * @param properties the expected properties.
+     * @return true if the sort matches.
+     */
+    static boolean isSortedAscendingBy(Sort sort, String... properties) {
+        Iterator<Sort.Order> orders = sort.iterator();
+        for (String property : properties) {
+            if (!orders.hasNext()) {
+                return false;
+            }
+            Sort.Order order = orders.next();
+            if (!order.isAscending() || !order.getProperty().equals(property)) {
+                return false;
+            }
+        }
+        return !orders.hasNext();
+    }
+}
@@ -0,0 +1,61 @@
+package whereismycomic.web.rest;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import whereismycomic.service.SearchIndexService;
+import whereismycomic.service.dto.SearchHitDTO;
+import whereismycomic.web.rest.errors.BadRequestAlertException;
+
+/**
+ * REST controller for the full-text search over comics, series and characters.
+ */
+@RestController
+@RequestMapping("/api")
+public class SearchResource {
+
+    private static final String ENTITY_NAME = "search";
+
+    private static final List<String> TYPES = List.of(
+        SearchIndexService.TYPE_COMIC,
+        SearchIndexService.TYPE_SERIES,
+        SearchIndexService.TYPE_CHARACTERS
+    );
+
+    private static final int MAX_SIZE = 100;
+
+    private final Logger log = LoggerFactory.getLogger(SearchResource.class);
+
+    private final SearchIndexService searchIndexService;
+
+    public SearchResource(SearchIndexService searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    /**
+     * {@code GET  /search?q=:query} : search comics, series and characters.
+     * <p>
+     * Every word of the query must match the title, description, series name or character fullname of an entity,
+     * exactly, as a prefix or with a typo.
+     *
+     * @param query the words to search.
+     * @param type the type of the entities to search: {@code comic}, {@code series} or {@code characters}; all of them if absent.
+     * @param size the maximum number of results, at most 100.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the matching entities in body, best match first,
+     * or with status {@code 400 (Bad Request)} if the type is unknown.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<SearchHitDTO>> search(
+        @RequestParam("q") String query,
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        log.debug("REST request to search for : {}, type: {}", query, type);
+        if (type != null && !TYPES.contains(type)) {
+            throw new BadRequestAlertException("Unknown search type", ENTITY_NAME, "typeinvalid");
+        }
+        return ResponseEntity.ok().body(searchIndexService.search(query, type, Math.max(1, Math.min(size, MAX_SIZE))));
+    }
+}
@@ -8,15 +8,23 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 import whereismycomic.domain.Series;
 import whereismycomic.repository.SeriesRepository;
 import whereismycomic.service.SeriesQueryService;
 import whereismycomic.service.SeriesService;
 import whereismycomic.service.criteria.SeriesCriteria;
+import whereismycomic.service.dto.SeriesSummaryDTO;
 import whereismycomic.web.rest.errors.BadRequestAlertException;
 
 /**
@@ -134,16 +142,81 @@ public class SeriesResource {
     }
 
     /**
-     * {@code GET  /series} : get all the series.
+     * {@code GET  /series} : get a page of the series.
+     * <p>
+     * By default, the page is selected with the {@code page} and {@code size} parameters, and the response holds the
+     * {@code X-Total-Count} and {@code Link} pagination headers. With the {@code after} parameter or {@code count=false},
+     * the keyset mode is used instead: the page starts after the entity with the {@code after} id, without skipping rows
+     * nor counting them, and the {@code Link} header only holds the {@code next} page, if any.
+     * In keyset mode, the series are sorted by {@code id}.
      *
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of series in body.
+     * @param pageable the pagination information.
+     * @param after the id of the last entity of the previous page, for keyset pagination.
+     * @param count whether the total count is needed, {@code false} switches to keyset pagination.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of series in body,
+     * or with status {@code 400 (Bad Request)} if the sort is not supported by keyset pagination.
      */
     @GetMapping("/series")
-    public ResponseEntity<List<Series>> getAllSeries(SeriesCriteria criteria) {
-        log.debug("REST request to get Series by criteria: {}", criteria);
-        List<Series> entityList = seriesQueryService.findByCriteria(criteria);
-        return ResponseEntity.ok().body(entityList);
+    public ResponseEntity<List<Series>> getAllSeries(
+        SeriesCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) Long after,
+        @RequestParam(value = "count", defaultValue = "true") boolean count
+    ) {
+        log.debug("REST request to get Series by criteria: {}, page: {}, after: {}", criteria, pageable, after);
+        if (after == null && count) {
+            Page<Series> page = seriesQueryService.findByCriteria(criteria, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        if (!KeysetPaginationUtil.isSortedAscendingBy(pageable.getSortOr(Sort.by("id")), "id")) {
+            throw new BadRequestAlertException("Keyset pagination is only sorted by id", ENTITY_NAME, "sortinvalid");
+        }
+        Slice<Series> slice = seriesQueryService.findByCriteriaAfterId(criteria, after, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            Series::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * {@code GET  /series?view=summary} : get a page of the summaries of the series.
+     * <p>
+     * Same as {@code GET  /series}, but only the columns of the {@link SeriesSummaryDTO} are read from the database.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param after the id of the last entity of the previous page, for keyset pagination.
+     * @param count whether the total count is needed, {@code false} switches to keyset pagination.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of series summaries in body,
+     * or with status {@code 400 (Bad Request)} if the sort is not supported by keyset pagination.
+     */
+    @GetMapping(value = "/series", params = "view=summary")
+    public ResponseEntity<List<SeriesSummaryDTO>> getAllSeriesSummaries(
+        SeriesCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) Long after,
+        @RequestParam(value = "count", defaultValue = "true") boolean count
+    ) {
+        log.debug("REST request to get Series summaries by criteria: {}, page: {}, after: {}", criteria, pageable, after);
+        if (after == null && count) {
+            Page<SeriesSummaryDTO> page = seriesQueryService.findSummariesByCriteria(criteria, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        if (!KeysetPaginationUtil.isSortedAscendingBy(pageable.getSortOr(Sort.by("id")), "id")) {
+            throw new BadRequestAlertException("Keyset pagination is only sorted by id", ENTITY_NAME, "sortinvalid");
+        }
+        Slice<SeriesSummaryDTO> slice = seriesQueryService.findSummariesByCriteriaAfterId(criteria, after, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            SeriesSummaryDTO::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
     }
 
     /**
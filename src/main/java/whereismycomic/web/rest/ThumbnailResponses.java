@@ -0,0 +1,161 @@
+package whereismycomic.web.rest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import whereismycomic.service.ThumbnailStorageService;
+
+/**
+ * Writes the responses of the thumbnail endpoints of {@link ComicResource} and {@link CharactersResource}.
+ * <p>
+ * Thumbnails are content-addressed, so their hash is used as a strong ETag. Clients that reference a thumbnail
+ * with its hash as the {@code v} request parameter get a response that can be cached forever, the others have
+ * to revalidate, which costs a {@code 304 (Not Modified)} as long as the thumbnail did not change.
+ * The body is transferred straight from the file channel to the response, without loading the image in memory.
+ * <p>
+ * The endpoints are public and served from the origin of the application, so only the raster image types of
+ * {@link ThumbnailStorageService} are served as such, anything else being downloaded as an octet stream, and browsers
+ * are told neither to sniff the content type nor to run anything the thumbnail holds.
+ */
+final class ThumbnailResponses {
+
+    private static final String IMMUTABLE_CACHE_CONTROL =
+        CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue() + ", immutable";
+
+    private static final String REVALIDATE_CACHE_CONTROL = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private ThumbnailResponses() {}
+
+    /**
+     * Stream a stored thumbnail, honoring the {@code If-None-Match}, {@code Range} and {@code If-Range} request headers.
+     *
+     * @param request the current request.
+     * @param response the response to write to.
+     * @param hash the hash of the thumbnail.
+     * @param contentType the content type recorded on the entity, if any.
+     * @param file the file of the thumbnail in the store.
+     * @param version the {@code v} request parameter, if any.
+     * @throws IOException if the thumbnail could not be read or written.
+     */
+    static void write(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        String hash,
+        String contentType,
+        Path file,
+        String version
+    ) throws IOException {
+        String etag = "\"" + hash + "\"";
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("Content-Security-Policy", "sandbox");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, hash.equals(version) ? IMMUTABLE_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long start = 0;
+            long end = length - 1;
+            HttpRange range = singleRange(request, etag);
+            if (range != null) {
+                try {
+                    start = range.getRangeStart(length);
+                    end = range.getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+            long count = end - start + 1;
+            MediaType mediaType = mediaType(contentType);
+            response.setContentType(mediaType.toString());
+            if (MediaType.APPLICATION_OCTET_STREAM.equals(mediaType)) {
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+            }
+            response.setContentLengthLong(count);
+            if (HttpMethod.HEAD.matches(request.getMethod())) {
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (count > 0) {
+                long transferred = channel.transferTo(position, count, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                count -= transferred;
+            }
+        }
+    }
+
+    /**
+     * Only a single, well-formed range is served partially: multiple ranges are rare for images and serving
+     * the whole image instead is allowed by RFC 7233.
+     */
+    private static HttpRange singleRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(etag)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                // If-None-Match uses the weak comparison
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MediaType mediaType(String contentType) {
+        if (!ThumbnailStorageService.isImageContentType(contentType)) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+}
@@ -6,6 +6,7 @@ export interface ICharacters {
   description?: string | null;
   thumbnailContentType?: string | null;
   thumbnail?: string | null;
+  thumbnailHash?: string | null;
   series?: ISeries[] | null;
 }
 
@@ -16,6 +17,7 @@ export class Characters implements ICharacters {
     public description?: string | null,
     public thumbnailContentType?: string | null,
     public thumbnail?: string | null,
+    public thumbnailHash?: string | null,
     public series?: ISeries[] | null
   ) {}
 }
@@ -2,6 +2,8 @@ import { Component, OnInit } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/config/pagination.constants';
+
 import { ICharacters } from '../characters.model';
 import { CharactersService } from '../service/characters.service';
 import { CharactersDeleteDialogComponent } from '../delete/characters-delete-dialog.component';
@@ -14,21 +16,38 @@ import { DataUtils } from 'app/core/util/data-util.service';
 export class CharactersComponent implements OnInit {
   characters?: ICharacters[];
   isLoading = false;
+  itemsPerPage = ITEMS_PER_PAGE;
+  hasMore = false;
 
   constructor(protected charactersService: CharactersService, protected dataUtils: DataUtils, protected modalService: NgbModal) {}
 
   loadAll(): void {
+    this.characters = undefined;
+    this.hasMore = false;
+    this.loadPage();
+  }
+
+  loadPage(): void {
     this.isLoading = true;
+    const after = this.characters?.[this.characters.length - 1]?.id;
 
-    this.charactersService.query().subscribe({
-      next: (res: HttpResponse<ICharacters[]>) => {
-        this.isLoading = false;
-        this.characters = res.body ?? [];
-      },
-      error: () => {
-        this.isLoading = false;
-      },
-    });
+    this.charactersService
+      .query({
+        size: this.itemsPerPage,
+        sort: ['id,asc'],
+        count: false,
+        ...(after !== undefined ? { after } : {}),
+      })
+      .subscribe({
+        next: (res: HttpResponse<ICharacters[]>) => {
+          this.isLoading = false;
+          this.characters = [...(this.characters ?? []), ...(res.body ?? [])];
+          this.hasMore = res.headers.get('link')?.includes('rel="next"') ?? false;
+        },
+        error: () => {
+          this.isLoading = false;
+        },
+      });
   }
 
   ngOnInit(): void {
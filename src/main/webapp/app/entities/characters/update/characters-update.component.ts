@@ -23,6 +23,7 @@ export class CharactersUpdateComponent implements OnInit {
     fullname: [],
     description: [],
     thumbnail: [],
+    thumbnailHash: [],
     thumbnailContentType: [],
   });
 
@@ -105,6 +106,7 @@ export class CharactersUpdateComponent implements OnInit {
       fullname: characters.fullname,
       description: characters.description,
       thumbnail: characters.thumbnail,
+      thumbnailHash: characters.thumbnailHash,
       thumbnailContentType: characters.thumbnailContentType,
     });
   }
@@ -117,6 +119,7 @@ export class CharactersUpdateComponent implements OnInit {
       description: this.editForm.get(['description'])!.value,
       thumbnailContentType: this.editForm.get(['thumbnailContentType'])!.value,
       thumbnail: this.editForm.get(['thumbnail'])!.value,
+      thumbnailHash: this.editForm.get(['thumbnailHash'])!.value,
     };
   }
 }
@@ -8,6 +8,7 @@ export interface IComic {
   description?: string | null;
   thumbnailContentType?: string | null;
   thumbnail?: string | null;
+  thumbnailHash?: string | null;
   series?: ISeries | null;
 }
 
@@ -20,6 +21,7 @@ export class Comic implements IComic {
     public description?: string | null,
     public thumbnailContentType?: string | null,
     public thumbnail?: string | null,
+    public thumbnailHash?: string | null,
     public series?: ISeries | null
   ) {}
 }
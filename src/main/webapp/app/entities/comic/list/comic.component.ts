@@ -2,6 +2,8 @@ import { Component, OnInit } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/config/pagination.constants';
+
 import { IComic } from '../comic.model';
 import { ComicService } from '../service/comic.service';
 import { ComicDeleteDialogComponent } from '../delete/comic-delete-dialog.component';
@@ -14,21 +16,38 @@ import { DataUtils } from 'app/core/util/data-util.service';
 export class ComicComponent implements OnInit {
   comics?: IComic[];
   isLoading = false;
+  itemsPerPage = ITEMS_PER_PAGE;
+  hasMore = false;
 
   constructor(protected comicService: ComicService, protected dataUtils: DataUtils, protected modalService: NgbModal) {}
 
   loadAll(): void {
+    this.comics = undefined;
+    this.hasMore = false;
+    this.loadPage();
+  }
+
+  loadPage(): void {
     this.isLoading = true;
+    const after = this.comics?.[this.comics.length - 1]?.id;
 
-    this.comicService.query().subscribe({
-      next: (res: HttpResponse<IComic[]>) => {
-        this.isLoading = false;
-        this.comics = res.body ?? [];
-      },
-      error: () => {
-        this.isLoading = false;
-      },
-    });
+    this.comicService
+      .query({
+        size: this.itemsPerPage,
+        sort: ['id,asc'],
+        count: false,
+        ...(after !== undefined ? { after } : {}),
+      })
+      .subscribe({
+        next: (res: HttpResponse<IComic[]>) => {
+          this.isLoading = false;
+          this.comics = [...(this.comics ?? []), ...(res.body ?? [])];
+          this.hasMore = res.headers.get('link')?.includes('rel="next"') ?? false;
+        },
+        error: () => {
+          this.isLoading = false;
+        },
+      });
   }
 
   ngOnInit(): void {
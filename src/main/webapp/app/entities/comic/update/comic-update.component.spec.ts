@@ -1,4 +1,4 @@
-import { ComponentFixture, TestBed } from '@angular/core/testing';
+import { ComponentFixture, TestBed, fakeAsync, tick } from '@angular/core/testing';
 import { HttpResponse } from '@angular/common/http';
 import { HttpClientTestingModule } from '@angular/common/http/testing';
 import { FormBuilder } from '@angular/forms';
@@ -11,7 +11,7 @@ import { IComic, Comic } from '../comic.model';
 import { ISeries } from 'app/entities/series/series.model';
 import { SeriesService } from 'app/entities/series/service/series.service';
 
-import { ComicUpdateComponent } from './comic-update.component';
+import { ComicUpdateComponent, SERIES_SUGGESTIONS } from './comic-update.component';
 
 describe('Comic Management Update Component', () => {
   let comp: ComicUpdateComponent;
@@ -46,25 +46,6 @@ describe('Comic Management Update Component', () => {
   });
 
   describe('ngOnInit', () => {
-    it('Should call Series query and add missing value', () => {
-      const comic: IComic = { id: 456 };
-      const series: ISeries = { id: 83911 };
-      comic.series = series;
-
-      const seriesCollection: ISeries[] = [{ id: 3501 }];
-      jest.spyOn(seriesService, 'query').mockReturnValue(of(new HttpResponse({ body: seriesCollection })));
-      const additionalSeries = [series];
-      const expectedCollection: ISeries[] = [...additionalSeries, ...seriesCollection];
-      jest.spyOn(seriesService, 'addSeriesToCollectionIfMissing').mockReturnValue(expectedCollection);
-
-      activatedRoute.data = of({ comic });
-      comp.ngOnInit();
-
-      expect(seriesService.query).toHaveBeenCalled();
-      expect(seriesService.addSeriesToCollectionIfMissing).toHaveBeenCalledWith(seriesCollection, ...additionalSeries);
-      expect(comp.seriesSharedCollection).toEqual(expectedCollection);
-    });
-
     it('Should update editForm', () => {
       const comic: IComic = { id: 456 };
       const series: ISeries = { id: 47907 };
@@ -74,7 +55,6 @@ describe('Comic Management Update Component', () => {
       comp.ngOnInit();
 
       expect(comp.editForm.value).toEqual(expect.objectContaining(comic));
-      expect(comp.seriesSharedCollection).toContain(series);
     });
   });
 
@@ -142,13 +122,35 @@ describe('Comic Management Update Component', () => {
     });
   });
 
-  describe('Tracking relationships identifiers', () => {
-    describe('trackSeriesById', () => {
-      it('Should return tracked Series primary key', () => {
-        const entity = { id: 123 };
-        const trackResult = comp.trackSeriesById(0, entity);
-        expect(trackResult).toEqual(entity.id);
-      });
+  describe('searchSeries', () => {
+    it('Should query the Series whose name contains the typed text', fakeAsync(() => {
+      const seriesCollection: ISeries[] = [{ id: 3501, name: 'Spirou' }];
+      jest.spyOn(seriesService, 'query').mockReturnValue(of(new HttpResponse({ body: seriesCollection })));
+      let suggestions: ISeries[] = [];
+
+      comp.searchSeries(of(' Spi ')).subscribe(series => (suggestions = series));
+      tick(200);
+
+      expect(seriesService.query).toHaveBeenCalledWith({ 'name.contains': 'Spi', size: SERIES_SUGGESTIONS, sort: ['name,asc', 'id'] });
+      expect(suggestions).toEqual(seriesCollection);
+    }));
+
+    it('Should not query the Series without a typed text', fakeAsync(() => {
+      jest.spyOn(seriesService, 'query');
+      let suggestions: ISeries[] | undefined;
+
+      comp.searchSeries(of(' ')).subscribe(series => (suggestions = series));
+      tick(200);
+
+      expect(seriesService.query).not.toHaveBeenCalled();
+      expect(suggestions).toEqual([]);
+    }));
+  });
+
+  describe('formatSeries', () => {
+    it('Should format a Series by its name, or its id without one', () => {
+      expect(comp.formatSeries({ id: 123, name: 'Spirou' })).toEqual('Spirou');
+      expect(comp.formatSeries({ id: 123 })).toEqual('123');
     });
   });
 });
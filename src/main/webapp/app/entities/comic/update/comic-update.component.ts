@@ -2,8 +2,8 @@ import { Component, OnInit, ElementRef } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { FormBuilder } from '@angular/forms';
 import { ActivatedRoute } from '@angular/router';
-import { Observable } from 'rxjs';
-import { finalize, map } from 'rxjs/operators';
+import { Observable, of } from 'rxjs';
+import { catchError, debounceTime, distinctUntilChanged, finalize, map, switchMap } from 'rxjs/operators';
 
 import { IComic, Comic } from '../comic.model';
 import { ComicService } from '../service/comic.service';
@@ -13,6 +13,11 @@ import { DataUtils, FileLoadError } from 'app/core/util/data-util.service';
 import { ISeries } from 'app/entities/series/series.model';
 import { SeriesService } from 'app/entities/series/service/series.service';
 
+/**
+ * Number of series suggested while typing the name of the series of a comic.
+ */
+export const SERIES_SUGGESTIONS = 20;
+
 @Component({
   selector: 'jhi-comic-update',
   templateUrl: './comic-update.component.html',
@@ -20,8 +25,6 @@ import { SeriesService } from 'app/entities/series/service/series.service';
 export class ComicUpdateComponent implements OnInit {
   isSaving = false;
 
-  seriesSharedCollection: ISeries[] = [];
-
   editForm = this.fb.group({
     id: [],
     issuenumber: [],
@@ -29,6 +32,7 @@ export class ComicUpdateComponent implements OnInit {
     title: [],
     description: [],
     thumbnail: [],
+    thumbnailHash: [],
     thumbnailContentType: [],
     series: [],
   });
@@ -46,8 +50,6 @@ export class ComicUpdateComponent implements OnInit {
   ngOnInit(): void {
     this.activatedRoute.data.subscribe(({ comic }) => {
       this.updateForm(comic);
-
-      this.loadRelationshipsOptions();
     });
   }
 
@@ -90,9 +92,21 @@ export class ComicUpdateComponent implements OnInit {
     }
   }
 
-  trackSeriesById(_index: number, item: ISeries): number {
-    return item.id!;
-  }
+  searchSeries = (text$: Observable<string>): Observable<ISeries[]> =>
+    text$.pipe(
+      debounceTime(200),
+      distinctUntilChanged(),
+      switchMap(term =>
+        term.trim() === ''
+          ? of([])
+          : this.seriesService.query({ 'name.contains': term.trim(), size: SERIES_SUGGESTIONS, sort: ['name,asc', 'id'] }).pipe(
+              map((res: HttpResponse<ISeries[]>) => res.body ?? []),
+              catchError(() => of([]))
+            )
+      )
+    );
+
+  formatSeries = (series: ISeries): string => series.name ?? String(series.id);
 
   protected subscribeToSaveResponse(result: Observable<HttpResponse<IComic>>): void {
     result.pipe(finalize(() => this.onSaveFinalize())).subscribe({
@@ -121,19 +135,10 @@ export class ComicUpdateComponent implements OnInit {
       title: comic.title,
       description: comic.description,
       thumbnail: comic.thumbnail,
+      thumbnailHash: comic.thumbnailHash,
       thumbnailContentType: comic.thumbnailContentType,
       series: comic.series,
     });
-
-    this.seriesSharedCollection = this.seriesService.addSeriesToCollectionIfMissing(this.seriesSharedCollection, comic.series);
-  }
-
-  protected loadRelationshipsOptions(): void {
-    this.seriesService
-      .query()
-      .pipe(map((res: HttpResponse<ISeries[]>) => res.body ?? []))
-      .pipe(map((series: ISeries[]) => this.seriesService.addSeriesToCollectionIfMissing(series, this.editForm.get('series')!.value)))
-      .subscribe((series: ISeries[]) => (this.seriesSharedCollection = series));
   }
 
   protected createFromForm(): IComic {
@@ -146,6 +151,7 @@ export class ComicUpdateComponent implements OnInit {
       description: this.editForm.get(['description'])!.value,
       thumbnailContentType: this.editForm.get(['thumbnailContentType'])!.value,
       thumbnail: this.editForm.get(['thumbnail'])!.value,
+      thumbnailHash: this.editForm.get(['thumbnailHash'])!.value,
       series: this.editForm.get(['series'])!.value,
     };
   }
@@ -2,6 +2,8 @@ import { Component, OnInit } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
+import { ITEMS_PER_PAGE } from 'app/config/pagination.constants';
+
 import { ISeries } from '../series.model';
 import { SeriesService } from '../service/series.service';
 import { SeriesDeleteDialogComponent } from '../delete/series-delete-dialog.component';
@@ -13,21 +15,38 @@ import { SeriesDeleteDialogComponent } from '../delete/series-delete-dialog.comp
 export class SeriesComponent implements OnInit {
   series?: ISeries[];
   isLoading = false;
+  itemsPerPage = ITEMS_PER_PAGE;
+  hasMore = false;
 
   constructor(protected seriesService: SeriesService, protected modalService: NgbModal) {}
 
   loadAll(): void {
+    this.series = undefined;
+    this.hasMore = false;
+    this.loadPage();
+  }
+
+  loadPage(): void {
     this.isLoading = true;
+    const after = this.series?.[this.series.length - 1]?.id;
 
-    this.seriesService.query().subscribe({
-      next: (res: HttpResponse<ISeries[]>) => {
-        this.isLoading = false;
-        this.series = res.body ?? [];
-      },
-      error: () => {
-        this.isLoading = false;
-      },
-    });
+    this.seriesService
+      .query({
+        size: this.itemsPerPage,
+        sort: ['id,asc'],
+        count: false,
+        ...(after !== undefined ? { after } : {}),
+      })
+      .subscribe({
+        next: (res: HttpResponse<ISeries[]>) => {
+          this.isLoading = false;
+          this.series = [...(this.series ?? []), ...(res.body ?? [])];
+          this.hasMore = res.headers.get('link')?.includes('rel="next"') ?? false;
+        },
+        error: () => {
+          this.isLoading = false;
+        },
+      });
   }
 
   ngOnInit(): void {
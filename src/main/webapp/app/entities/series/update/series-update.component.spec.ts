@@ -1,4 +1,4 @@
-import { ComponentFixture, TestBed } from '@angular/core/testing';
+import { ComponentFixture, TestBed, fakeAsync, tick } from '@angular/core/testing';
 import { HttpResponse } from '@angular/common/http';
 import { HttpClientTestingModule } from '@angular/common/http/testing';
 import { FormBuilder } from '@angular/forms';
@@ -11,7 +11,7 @@ import { ISeries, Series } from '../series.model';
 import { ICharacters } from 'app/entities/characters/characters.model';
 import { CharactersService } from 'app/entities/characters/service/characters.service';
 
-import { SeriesUpdateComponent } from './series-update.component';
+import { SeriesUpdateComponent, CHARACTERS_SUGGESTIONS } from './series-update.component';
 
 describe('Series Management Update Component', () => {
   let comp: SeriesUpdateComponent;
@@ -46,25 +46,6 @@ describe('Series Management Update Component', () => {
   });
 
   describe('ngOnInit', () => {
-    it('Should call Characters query and add missing value', () => {
-      const series: ISeries = { id: 456 };
-      const characters: ICharacters = { id: 70373 };
-      series.characters = characters;
-
-      const charactersCollection: ICharacters[] = [{ id: 69859 }];
-      jest.spyOn(charactersService, 'query').mockReturnValue(of(new HttpResponse({ body: charactersCollection })));
-      const additionalCharacters = [characters];
-      const expectedCollection: ICharacters[] = [...additionalCharacters, ...charactersCollection];
-      jest.spyOn(charactersService, 'addCharactersToCollectionIfMissing').mockReturnValue(expectedCollection);
-
-      activatedRoute.data = of({ series });
-      comp.ngOnInit();
-
-      expect(charactersService.query).toHaveBeenCalled();
-      expect(charactersService.addCharactersToCollectionIfMissing).toHaveBeenCalledWith(charactersCollection, ...additionalCharacters);
-      expect(comp.charactersSharedCollection).toEqual(expectedCollection);
-    });
-
     it('Should update editForm', () => {
       const series: ISeries = { id: 456 };
       const characters: ICharacters = { id: 60776 };
@@ -74,7 +55,6 @@ describe('Series Management Update Component', () => {
       comp.ngOnInit();
 
       expect(comp.editForm.value).toEqual(expect.objectContaining(series));
-      expect(comp.charactersSharedCollection).toContain(characters);
     });
   });
 
@@ -142,13 +122,39 @@ describe('Series Management Update Component', () => {
     });
   });
 
-  describe('Tracking relationships identifiers', () => {
-    describe('trackCharactersById', () => {
-      it('Should return tracked Characters primary key', () => {
-        const entity = { id: 123 };
-        const trackResult = comp.trackCharactersById(0, entity);
-        expect(trackResult).toEqual(entity.id);
+  describe('searchCharacters', () => {
+    it('Should query the Characters whose full name contains the typed text', fakeAsync(() => {
+      const charactersCollection: ICharacters[] = [{ id: 69859, fullname: 'Fantasio' }];
+      jest.spyOn(charactersService, 'query').mockReturnValue(of(new HttpResponse({ body: charactersCollection })));
+      let suggestions: ICharacters[] = [];
+
+      comp.searchCharacters(of(' Fant ')).subscribe(characters => (suggestions = characters));
+      tick(200);
+
+      expect(charactersService.query).toHaveBeenCalledWith({
+        'fullname.contains': 'Fant',
+        size: CHARACTERS_SUGGESTIONS,
+        sort: ['fullname,asc', 'id'],
       });
+      expect(suggestions).toEqual(charactersCollection);
+    }));
+
+    it('Should not query the Characters without a typed text', fakeAsync(() => {
+      jest.spyOn(charactersService, 'query');
+      let suggestions: ICharacters[] | undefined;
+
+      comp.searchCharacters(of(' ')).subscribe(characters => (suggestions = characters));
+      tick(200);
+
+      expect(charactersService.query).not.toHaveBeenCalled();
+      expect(suggestions).toEqual([]);
+    }));
+  });
+
+  describe('formatCharacters', () => {
+    it('Should format Characters by their full name, or their id without one', () => {
+      expect(comp.formatCharacters({ id: 123, fullname: 'Fantasio' })).toEqual('Fantasio');
+      expect(comp.formatCharacters({ id: 123 })).toEqual('123');
     });
   });
 });
@@ -2,14 +2,19 @@ import { Component, OnInit } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { FormBuilder } from '@angular/forms';
 import { ActivatedRoute } from '@angular/router';
-import { Observable } from 'rxjs';
-import { finalize, map } from 'rxjs/operators';
+import { Observable, of } from 'rxjs';
+import { catchError, debounceTime, distinctUntilChanged, finalize, map, switchMap } from 'rxjs/operators';
 
 import { ISeries, Series } from '../series.model';
 import { SeriesService } from '../service/series.service';
 import { ICharacters } from 'app/entities/characters/characters.model';
 import { CharactersService } from 'app/entities/characters/service/characters.service';
 
+/**
+ * Number of characters suggested while typing the full name of the characters of a series.
+ */
+export const CHARACTERS_SUGGESTIONS = 20;
+
 @Component({
   selector: 'jhi-series-update',
   templateUrl: './series-update.component.html',
@@ -17,8 +22,6 @@ import { CharactersService } from 'app/entities/characters/service/characters.se
 export class SeriesUpdateComponent implements OnInit {
   isSaving = false;
 
-  charactersSharedCollection: ICharacters[] = [];
-
   editForm = this.fb.group({
     id: [],
     name: [],
@@ -35,8 +38,6 @@ export class SeriesUpdateComponent implements OnInit {
   ngOnInit(): void {
     this.activatedRoute.data.subscribe(({ series }) => {
       this.updateForm(series);
-
-      this.loadRelationshipsOptions();
     });
   }
 
@@ -54,9 +55,23 @@ export class SeriesUpdateComponent implements OnInit {
     }
   }
 
-  trackCharactersById(_index: number, item: ICharacters): number {
-    return item.id!;
-  }
+  searchCharacters = (text$: Observable<string>): Observable<ICharacters[]> =>
+    text$.pipe(
+      debounceTime(200),
+      distinctUntilChanged(),
+      switchMap(term =>
+        term.trim() === ''
+          ? of([])
+          : this.charactersService
+              .query({ 'fullname.contains': term.trim(), size: CHARACTERS_SUGGESTIONS, sort: ['fullname,asc', 'id'] })
+              .pipe(
+                map((res: HttpResponse<ICharacters[]>) => res.body ?? []),
+                catchError(() => of([]))
+              )
+      )
+    );
+
+  formatCharacters = (characters: ICharacters): string => characters.fullname ?? String(characters.id);
 
   protected subscribeToSaveResponse(result: Observable<HttpResponse<ISeries>>): void {
     result.pipe(finalize(() => this.onSaveFinalize())).subscribe({
@@ -83,23 +98,6 @@ export class SeriesUpdateComponent implements OnInit {
       name: series.name,
       characters: series.characters,
     });
-
-    this.charactersSharedCollection = this.charactersService.addCharactersToCollectionIfMissing(
-      this.charactersSharedCollection,
-      series.characters
-    );
-  }
-
-  protected loadRelationshipsOptions(): void {
-    this.charactersService
-      .query()
-      .pipe(map((res: HttpResponse<ICharacters[]>) => res.body ?? []))
-      .pipe(
-        map((characters: ICharacters[]) =>
-          this.charactersService.addCharactersToCollectionIfMissing(characters, this.editForm.get('characters')!.value)
-        )
-      )
-      .subscribe((characters: ICharacters[]) => (this.charactersSharedCollection = characters));
   }
 
   protected createFromForm(): ISeries {
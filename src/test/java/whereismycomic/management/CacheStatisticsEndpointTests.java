@@ -0,0 +1,67 @@
+package whereismycomic.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import whereismycomic.config.ApplicationProperties;
+
+class CacheStatisticsEndpointTests {
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private CacheStatisticsEndpoint endpoint;
+
+    @BeforeEach
+    public void setup() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get).tags("cache", "comics", "result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get).tags("cache", "comics", "result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.puts", misses, AtomicLong::get).tags("cache", "comics").register(meterRegistry);
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().setStatisticsHistory(2);
+        endpoint = new CacheStatisticsEndpoint(meterRegistry, applicationProperties);
+    }
+
+    @Test
+    void testTotalsAreReadFromTheCacheMeters() {
+        hits.set(3);
+        misses.set(1);
+
+        Map<String, CacheStatisticsEndpoint.CacheStatistics> statistics = endpoint.cacheStatistics();
+
+        assertThat(statistics).containsOnlyKeys("comics");
+        CacheStatisticsEndpoint.CacheStatistics comics = statistics.get("comics");
+        assertThat(comics.getHits()).isEqualTo(3);
+        assertThat(comics.getMisses()).isEqualTo(1);
+        assertThat(comics.getPuts()).isEqualTo(1);
+        assertThat(comics.getHitRatio()).isEqualTo(0.75);
+        assertThat(comics.getSamples()).isEmpty();
+    }
+
+    @Test
+    void testSamplesHoldTheHitRatioOfEachInterval() {
+        hits.set(1);
+        misses.set(1);
+        endpoint.sample();
+        hits.set(10);
+        endpoint.sample();
+        hits.set(20);
+        misses.set(11);
+        endpoint.sample();
+
+        CacheStatisticsEndpoint.CacheStatistics comics = endpoint.cacheStatistics().get("comics");
+
+        assertThat(comics.getSamples()).hasSize(2);
+        assertThat(comics.getSamples().get(0).getHitRatio()).isEqualTo(1.0);
+        assertThat(comics.getSamples().get(1).getHitRatio()).isEqualTo(0.5);
+    }
+}
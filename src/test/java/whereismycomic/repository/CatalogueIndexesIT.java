@@ -0,0 +1,87 @@
+package whereismycomic.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import whereismycomic.IntegrationTest;
+
+/**
+ * Integration tests checking that the criteria filters of the catalogue are planned with an index.
+ * <p>
+ * Run against H2 by default, and against PostgreSQL with the {@code testcontainers} profile, where the indexes of the
+ * {@code startsWith} and {@code contains} filters are checked too.
+ */
+@IntegrationTest
+@Transactional
+class CatalogueIndexesIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private boolean postgresql;
+
+    @BeforeEach
+    void setup() {
+        postgresql =
+            "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName()));
+        if (postgresql) {
+            // The tables are nearly empty, so the planner would rather scan them
+            jdbcTemplate.execute("set local enable_seqscan = off");
+        }
+    }
+
+    @Test
+    void comicFiltersUseAnIndex() {
+        assertUsesIndex("select * from comic where series_id = 1", null);
+        assertUsesIndex("select * from comic where issuenumber > 10", "idx_comic__issuenumber_id");
+        assertUsesIndex("select * from comic where title = 'Watchmen'", "idx_comic__title");
+        assertUsesIndex("select * from comic where location = 'Shelf A'", "idx_comic__location");
+    }
+
+    @Test
+    void seriesFiltersUseAnIndex() {
+        assertUsesIndex("select * from series where characters_id = 1", null);
+        assertUsesIndex("select * from series where name = 'Sandman'", "idx_series__name");
+        assertUsesIndex("select s.* from series s join comic c on c.series_id = s.id where c.id = 1", null);
+    }
+
+    @Test
+    void charactersFiltersUseAnIndex() {
+        assertUsesIndex("select * from characters where fullname = 'Bruce Wayne'", "idx_characters__fullname");
+    }
+
+    @Test
+    void startsWithFiltersUseAPrefixIndex() {
+        assumeThat(postgresql).as("prefix indexes only exist on PostgreSQL").isTrue();
+        assertUsesIndex("select * from comic where upper(title) like 'WATCH%'", "idx_comic__title_prefix");
+        assertUsesIndex("select * from comic where upper(location) like 'SHELF%'", "idx_comic__location_prefix");
+        assertUsesIndex("select * from series where upper(name) like 'SAND%'", "idx_series__name_prefix");
+        assertUsesIndex("select * from characters where upper(fullname) like 'BRUCE%'", "idx_characters__fullname_prefix");
+    }
+
+    @Test
+    void containsFiltersUseATrigramIndex() {
+        assumeThat(postgresql).as("trigram indexes only exist on PostgreSQL").isTrue();
+        assertUsesIndex("select * from comic where upper(title) like '%WATCH%'", "idx_comic__title_trgm");
+        assertUsesIndex("select * from comic where upper(location) like '%SHELF%'", "idx_comic__location_trgm");
+        assertUsesIndex("select * from series where upper(name) like '%SAND%'", "idx_series__name_trgm");
+        assertUsesIndex("select * from characters where upper(fullname) like '%BRUCE%'", "idx_characters__fullname_trgm");
+    }
+
+    private void assertUsesIndex(String query, String index) {
+        List<String> lines = jdbcTemplate.queryForList("explain " + query, String.class);
+        String plan = String.join("\n", lines);
+        if (index != null) {
+            assertThat(plan).as(query).containsIgnoringCase(index);
+        }
+        // H2 and PostgreSQL respectively
+        assertThat(plan).as(query).doesNotContain("tableScan").doesNotContain("Seq Scan");
+    }
+}
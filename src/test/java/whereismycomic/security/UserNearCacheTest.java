@@ -0,0 +1,97 @@
+package whereismycomic.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.User;
+
+/**
+ * Test class for the {@link UserNearCache}.
+ */
+class UserNearCacheTest {
+
+    private MeterRegistry meterRegistry;
+
+    private UserNearCache userNearCache;
+
+    private User user;
+
+    private AtomicInteger loads;
+
+    private Function<String, Optional<User>> loader;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        userNearCache = new UserNearCache(new ApplicationProperties(), meterRegistry);
+        user = new User();
+        user.setLogin("john");
+        user.setEmail("john@localhost");
+        loads = new AtomicInteger();
+        loader = key -> {
+            loads.incrementAndGet();
+            return key.equals("john") || key.equals("john@localhost") ? Optional.of(user) : Optional.empty();
+        };
+    }
+
+    @Test
+    void testUserIsLoadedOnce() {
+        assertThat(userNearCache.getByLogin("john", loader)).contains(user);
+        assertThat(userNearCache.getByLogin("john", loader)).contains(user);
+        assertThat(loads).hasValue(1);
+
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        assertThat(userNearCache.getByLogin("jane", loader)).isEmpty();
+        assertThat(userNearCache.getByLogin("jane", loader)).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testEvictedUserIsLoadedAgain() {
+        userNearCache.getByLogin("john", loader);
+        userNearCache.getByEmail("john@localhost", loader);
+
+        userNearCache.evict(user);
+
+        userNearCache.getByLogin("john", loader);
+        userNearCache.getByEmail("john@localhost", loader);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void testUserIsEvictedAgainOnceTheTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userNearCache.evict(user);
+            // Read by a concurrent request before the change is committed
+            userNearCache.getByLogin("john", loader);
+
+            TransactionSynchronizationManager
+                .getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        userNearCache.getByLogin("john", loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", UserNearCache.BY_LOGIN_CACHE).tag("result", result).functionCounter().count();
+    }
+}
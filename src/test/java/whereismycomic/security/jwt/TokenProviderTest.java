@@ -88,6 +88,27 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testVerifiedTokenIsNotParsedAgain() {
+        Authentication authentication = createAuthentication();
+        String token = tokenProvider.createToken(authentication, false);
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+
+        // A parser which would reject the token
+        ReflectionTestUtils.setField(
+            tokenProvider,
+            "jwtParser",
+            Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(new byte[64])).build()
+        );
+
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+        Authentication cached = tokenProvider.getAuthentication(token);
+        assertThat(cached.getName()).isEqualTo("anonymous");
+        assertThat(cached.getCredentials()).isEqualTo(token);
+        assertThat(cached.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly(AuthoritiesConstants.ANONYMOUS);
+        assertThat(tokenProvider.validateToken(createTokenWithDifferentSignature())).isFalse();
+    }
+
     @Test
     void testKeyIsSetFromSecretWhenSecretIsNotEmpty() {
         final String secret = "NwskoUmKHZtzGRKJKVjsJF7BtQMMxNWi";
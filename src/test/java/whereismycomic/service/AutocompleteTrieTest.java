@@ -0,0 +1,89 @@
+package whereismycomic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import whereismycomic.service.dto.SuggestionDTO;
+
+class AutocompleteTrieTest {
+
+    private AutocompleteTrie trie;
+
+    @BeforeEach
+    void setup() {
+        trie = new AutocompleteTrie(List.of("comic", "series"));
+    }
+
+    @Test
+    void suggestsLabelsStartingWithThePrefix() {
+        trie.put("comic", 1L, "Spider-Man Adventures");
+        trie.put("comic", 2L, "Spawn");
+        trie.put("comic", 3L, "Batman");
+
+        assertThat(trie.suggest("sp", null, 10))
+            .containsExactly(new SuggestionDTO("comic", 2L, "Spawn"), new SuggestionDTO("comic", 1L, "Spider-Man Adventures"));
+        assertThat(trie.suggest("spi", null, 10)).containsExactly(new SuggestionDTO("comic", 1L, "Spider-Man Adventures"));
+        assertThat(trie.suggest("x", null, 10)).isEmpty();
+        assertThat(trie.suggest(" ", null, 10)).isEmpty();
+    }
+
+    @Test
+    void suggestsLabelsWithAWordStartingWithThePrefix() {
+        trie.put("comic", 1L, "The Amazing Spider-Man");
+
+        assertThat(trie.suggest("amaz", null, 10)).extracting(SuggestionDTO::getId).containsExactly(1L);
+        assertThat(trie.suggest("mazing", null, 10)).isEmpty();
+    }
+
+    @Test
+    void ignoresCaseAndAccents() {
+        trie.put("series", 1L, "Astérix le Gaulois");
+
+        assertThat(trie.suggest("ASTE", null, 10)).extracting(SuggestionDTO::getLabel).containsExactly("Astérix le Gaulois");
+        assertThat(trie.suggest("gaulois", null, 10)).hasSize(1);
+    }
+
+    @Test
+    void suggestsEachEntityOnce() {
+        trie.put("comic", 1L, "Super Spider");
+
+        assertThat(trie.suggest("s", null, 10)).hasSize(1);
+    }
+
+    @Test
+    void filtersByTypeAndLimitsTheSize() {
+        trie.put("comic", 1L, "Hulk");
+        trie.put("series", 1L, "Hulk");
+        trie.put("comic", 2L, "Hulk 2");
+
+        assertThat(trie.suggest("hu", "series", 10)).containsExactly(new SuggestionDTO("series", 1L, "Hulk"));
+        assertThat(trie.suggest("hu", null, 2)).hasSize(2);
+    }
+
+    @Test
+    void replacesAndRemovesLabels() {
+        trie.put("comic", 1L, "Wombatron");
+        trie.put("comic", 1L, "Platypusman");
+
+        assertThat(trie.suggest("wom", null, 10)).isEmpty();
+        assertThat(trie.suggest("pla", null, 10)).containsExactly(new SuggestionDTO("comic", 1L, "Platypusman"));
+
+        trie.remove("comic", 1L);
+
+        assertThat(trie.suggest("pla", null, 10)).isEmpty();
+        assertThat(trie.size()).isZero();
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        for (long id = 0; id < 5000; id++) {
+            trie.put("comic", id, "Issue " + id);
+        }
+
+        assertThat(trie.suggest("issue 4999", null, 10)).extracting(SuggestionDTO::getId).containsExactly(4999L);
+        assertThat(trie.suggest("issue", null, 10)).hasSize(10);
+        assertThat(trie.size()).isEqualTo(5000);
+    }
+}
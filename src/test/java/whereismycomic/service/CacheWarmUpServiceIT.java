@@ -0,0 +1,90 @@
+package whereismycomic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import whereismycomic.IntegrationTest;
+import whereismycomic.domain.Characters;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+import whereismycomic.repository.CharactersRepository;
+import whereismycomic.repository.ComicRepository;
+import whereismycomic.repository.SeriesRepository;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ */
+@IntegrationTest
+class CacheWarmUpServiceIT {
+
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+
+    @Autowired
+    private SeriesRepository seriesRepository;
+
+    @Autowired
+    private CharactersRepository charactersRepository;
+
+    @Autowired
+    private ComicRepository comicRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @Transactional
+    void mostUsedEntitiesComeFirst() {
+        Characters lonely = charactersRepository.saveAndFlush(new Characters().fullname("Lonely"));
+        Characters busy = charactersRepository.saveAndFlush(new Characters().fullname("Busy"));
+        Series empty = seriesRepository.saveAndFlush(new Series().name("Empty").characters(busy));
+        Series full = seriesRepository.saveAndFlush(new Series().name("Full").characters(busy));
+        comicRepository.saveAndFlush(new Comic().title("First").series(full));
+        comicRepository.saveAndFlush(new Comic().title("Second").series(full));
+
+        List<Long> seriesIds = seriesRepository.findIdsOrderByComicCountDesc(PageRequest.of(0, 100));
+        assertThat(seriesIds).containsSubsequence(full.getId(), empty.getId());
+        List<Long> charactersIds = charactersRepository.findIdsOrderBySeriesCountDesc(PageRequest.of(0, 100));
+        assertThat(charactersIds).containsSubsequence(busy.getId(), lonely.getId());
+
+        assertThat(seriesRepository.findIdsOrderByComicCountDesc(PageRequest.of(0, 1))).hasSize(1);
+    }
+
+    @Test
+    @Transactional
+    void seriesWithTooManyComicsAreLoadedWithoutThem() {
+        Series small = seriesRepository.saveAndFlush(new Series().name("Small"));
+        Series large = seriesRepository.saveAndFlush(new Series().name("Large"));
+        comicRepository.saveAndFlush(new Comic().title("Only").series(small));
+        comicRepository.saveAndFlush(new Comic().title("First").series(large));
+        comicRepository.saveAndFlush(new Comic().title("Second").series(large));
+
+        List<Long> withComics = seriesRepository.findIdsWithAtMostComicsByIdIn(List.of(small.getId(), large.getId()), 1);
+
+        assertThat(withComics).containsExactly(small.getId());
+    }
+
+    @Test
+    void warmUpIsTimed() {
+        long before = count();
+
+        assertThat(cacheWarmUpService.warmUp()).isEqualTo("completed");
+
+        assertThat(count()).isEqualTo(before + 1);
+    }
+
+    private long count() {
+        return meterRegistry
+            .find(CacheWarmUpService.WARM_UP_METER_NAME)
+            .tag("outcome", "completed")
+            .timers()
+            .stream()
+            .mapToLong(timer -> timer.count())
+            .sum();
+    }
+}
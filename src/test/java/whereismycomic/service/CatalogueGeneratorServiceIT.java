@@ -0,0 +1,136 @@
+package whereismycomic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.IntegrationTest;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.Comic;
+import whereismycomic.repository.ComicRepository;
+
+/**
+ * Integration tests for {@link CatalogueGeneratorService}.
+ */
+@IntegrationTest
+class CatalogueGeneratorServiceIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ThumbnailStorageService thumbnailStorageService;
+
+    @Autowired
+    private QueryResultCache queryResultCache;
+
+    @Autowired
+    private ComicRepository comicRepository;
+
+    private final SearchIndexService searchIndexService = mock(SearchIndexService.class);
+
+    @Test
+    void sameSeedGeneratesSameCatalogue() {
+        List<String> first = generate(7);
+        List<String> second = generate(7);
+        List<String> other = generate(8);
+
+        assertThat(first).hasSize(50).isEqualTo(second).isNotEqualTo(other);
+        assertThat(first).allMatch(comic -> comic.matches(".* [0-4]"));
+    }
+
+    @Test
+    void generatedCatalogueIsIndexed() {
+        generate(7);
+
+        verify(searchIndexService).rebuild();
+    }
+
+    @Test
+    void generatedIdsAreNotAllocatedAgain() {
+        long maxComicId = maxId("comic");
+        // More comics than a block of ids of the comic sequence
+        generator(applicationProperties(1, 0, 0, 1500)).generate();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            long firstId = jdbcTemplate.queryForObject("select min(id) from comic where id > ?", Long.class, maxComicId);
+            long lastId = maxId("comic");
+            assertThat(lastId - firstId).isEqualTo(1499);
+
+            for (int i = 0; i < 3; i++) {
+                Comic comic = transactionTemplate.execute(status -> comicRepository.save(new Comic().title("After the catalogue")));
+                assertThat(comic.getId()).isNotBetween(firstId, lastId);
+            }
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("delete from comic where id > ?", maxComicId));
+        }
+    }
+
+    /**
+     * Generate a small catalogue in batches smaller than the tables, then delete it.
+     *
+     * @return the generated comics, with the offset of their series.
+     */
+    private List<String> generate(long seed) {
+        long maxCharactersId = maxId("characters");
+        long maxSeriesId = maxId("series");
+        long maxComicId = maxId("comic");
+        generator(applicationProperties(seed, 2, 5, 50)).generate();
+        try {
+            return jdbcTemplate.queryForList(
+                "select c.issuenumber || ' ' || c.location || ' ' || c.title || ' ' || (c.series_id - s.first_id) " +
+                "from comic c, (select min(id) first_id from series where id > ?) s where c.id > ? order by c.id",
+                String.class,
+                maxSeriesId,
+                maxComicId
+            );
+        } finally {
+            new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> {
+                    jdbcTemplate.update("delete from comic where id > ?", maxComicId);
+                    jdbcTemplate.update("delete from series where id > ?", maxSeriesId);
+                    jdbcTemplate.update("delete from characters where id > ?", maxCharactersId);
+                });
+        }
+    }
+
+    private static ApplicationProperties applicationProperties(long seed, int characters, int series, int comics) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Catalogue catalogue = applicationProperties.getCatalogue();
+        catalogue.setSeed(seed);
+        catalogue.setCharacters(characters);
+        catalogue.setSeries(series);
+        catalogue.setComics(comics);
+        catalogue.setBatchSize(20);
+        return applicationProperties;
+    }
+
+    private CatalogueGeneratorService generator(ApplicationProperties applicationProperties) {
+        return new CatalogueGeneratorService(
+            jdbcTemplate,
+            transactionManager,
+            entityManagerFactory,
+            thumbnailStorageService,
+            queryResultCache,
+            searchIndexService,
+            applicationProperties
+        );
+    }
+
+    private long maxId(String table) {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+    }
+
+}
@@ -0,0 +1,111 @@
+package whereismycomic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.WhereIsMyComicApp;
+import whereismycomic.config.Constants;
+import whereismycomic.domain.Series;
+import whereismycomic.repository.SeriesRepository;
+import whereismycomic.repository.UserRepository;
+import whereismycomic.service.dto.AdminUserDTO;
+
+/**
+ * Integration tests for {@link ClusterCacheInvalidationService}, with two nodes running in this JVM and sharing the test
+ * database.
+ * <p>
+ * Invalidations are shared through PostgreSQL, so these tests are skipped unless they run with the {@code testcontainers}
+ * profile.
+ */
+class ClusterCacheInvalidationServiceIT {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Test
+    void changesOnOneNodeAreEvictedFromTheCachesOfTheOthers() throws Exception {
+        try (ConfigurableApplicationContext first = startNode()) {
+            String database = first
+                .getBean(JdbcTemplate.class)
+                .execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            assumeThat(database).isEqualTo("PostgreSQL");
+
+            try (ConfigurableApplicationContext second = startNode()) {
+                Series series = first.getBean(SeriesService.class).save(new Series().name("Before"));
+                try {
+                    assertThat(read(second, series.getId()).getName()).isEqualTo("Before");
+                    assertThat(isCached(second, series.getId())).isTrue();
+
+                    series.setName("After");
+                    first.getBean(SeriesService.class).update(series);
+
+                    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+                    while (isCached(second, series.getId()) && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(50);
+                    }
+                    assertThat(isCached(second, series.getId())).isFalse();
+                    assertThat(read(second, series.getId()).getName()).isEqualTo("After");
+                } finally {
+                    first.getBean(SeriesService.class).delete(series.getId());
+                }
+            }
+        }
+    }
+
+    @Test
+    void userChangesOnOneNodeAreEvictedFromTheUserCachesOfTheOthers() throws Exception {
+        try (ConfigurableApplicationContext first = startNode()) {
+            String database = first
+                .getBean(JdbcTemplate.class)
+                .execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            assumeThat(database).isEqualTo("PostgreSQL");
+
+            try (ConfigurableApplicationContext second = startNode()) {
+                second.getBean(UserRepository.class).findOneWithAuthoritiesByLogin("admin");
+                Cache usersByLogin = second.getBean(CacheManager.class).getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+                assertThat(usersByLogin.get("admin")).isNotNull();
+
+                TransactionTemplate transactionTemplate = new TransactionTemplate(first.getBean(PlatformTransactionManager.class));
+                AdminUserDTO admin = transactionTemplate.execute(
+                    status -> new AdminUserDTO(first.getBean(UserRepository.class).findOneWithAuthoritiesByLogin("admin").orElseThrow())
+                );
+                first.getBean(UserService.class).updateUser(admin);
+
+                long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+                while (usersByLogin.get("admin") != null && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(50);
+                }
+                assertThat(usersByLogin.get("admin")).isNull();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        // As arguments, so that they override the test configuration
+        return new SpringApplicationBuilder(WhereIsMyComicApp.class)
+            .profiles(Constants.SPRING_PROFILE_CLUSTER)
+            .run(
+                "--server.port=0",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                "--application.cache.warm-up.enabled=false"
+            );
+    }
+
+    private static Series read(ConfigurableApplicationContext node, Long id) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(node.getBean(PlatformTransactionManager.class));
+        return transactionTemplate.execute(status -> node.getBean(SeriesRepository.class).findById(id).orElseThrow());
+    }
+
+    private static boolean isCached(ConfigurableApplicationContext node, Long id) {
+        return node.getBean(EntityManagerFactory.class).getCache().contains(Series.class, id);
+    }
+}
@@ -0,0 +1,136 @@
+package whereismycomic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.IntegrationTest;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.Comic;
+import whereismycomic.repository.ComicRepository;
+import whereismycomic.service.dto.ComicImportSummaryDTO;
+
+/**
+ * Integration tests for {@link ComicImportService}, outside of a test transaction so that each batch is committed on its own.
+ */
+@IntegrationTest
+class ComicImportServiceIT {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ThumbnailStorageService thumbnailStorageService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ComicRepository comicRepository;
+
+    private final String location = "Import " + UUID.randomUUID();
+
+    @AfterEach
+    void deleteImportedComics() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> comicRepository.deleteAll(importedComics()));
+    }
+
+    @Test
+    void failedBatchIsRolledBackAlone() {
+        String overlong = "Overlong".repeat(40);
+        String csv =
+            "title;location\n" +
+            "First;" + location + "\n" +
+            "Second;" + location + "\n" +
+            "Third;" + location + "\n" +
+            overlong + ";" + location + "\n" +
+            "Last;" + location + "\n";
+
+        // The second batch fails to insert its overlong title
+        ComicImportSummaryDTO summary = comicImportService(2)
+            .importComics(
+                ComicImportService.Format.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                new ComicImportSummaryDTO(),
+                progress -> {}
+            );
+
+        assertThat(summary.getStatus()).isEqualTo(ComicImportSummaryDTO.Status.COMPLETED);
+        assertThat(summary.getImported()).isEqualTo(3);
+        assertThat(summary.getRejected()).isEqualTo(2);
+        assertThat(summary.getBatches()).isEqualTo(3);
+        assertThat(summary.getErrors()).extracting(ComicImportSummaryDTO.RowErrorDTO::getRow).containsExactly(3L, 4L);
+        assertThat(importedComics()).extracting(Comic::getTitle).containsExactlyInAnyOrder("First", "Second", "Last");
+    }
+
+    @Test
+    void failedCheckpointStopsTheImport() {
+        String csv = "title;location\nFirst;" + location + "\nSecond;" + location + "\nThird;" + location + "\n";
+        AtomicInteger checkpoints = new AtomicInteger();
+        ComicImportSummaryDTO summary = new ComicImportSummaryDTO();
+
+        ComicImportService comicImportService = comicImportService(1);
+
+        assertThatThrownBy(() ->
+                comicImportService.importComics(
+                    ComicImportService.Format.CSV,
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                    summary,
+                    progress -> {
+                        if (checkpoints.incrementAndGet() == 2) {
+                            throw new IllegalStateException("Lost connection");
+                        }
+                    }
+                )
+            )
+            .isInstanceOf(ComicImportException.class)
+            .hasRootCauseMessage("Lost connection");
+
+        // The first batch stays committed, and the second is not booked as rejected
+        assertThat(importedComics()).extracting(Comic::getTitle).containsExactly("First");
+        assertThat(summary.getImported()).isEqualTo(1);
+        assertThat(summary.getRejected()).isZero();
+        assertThat(summary.getErrors()).isEmpty();
+    }
+
+    private ComicImportService comicImportService(int batchSize) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBulkImport().setBatchSize(batchSize);
+        return new ComicImportService(
+            entityManager,
+            transactionManager,
+            objectMapper,
+            validator,
+            thumbnailStorageService,
+            eventPublisher,
+            applicationProperties
+        );
+    }
+
+    private List<Comic> importedComics() {
+        return comicRepository.findAll().stream().filter(comic -> location.equals(comic.getLocation())).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,116 @@
+package whereismycomic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.IntegrationTest;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.Comic;
+import whereismycomic.repository.ComicRepository;
+
+/**
+ * Integration tests for {@link ImportJobService}.
+ */
+@IntegrationTest
+@WithMockUser
+class ImportJobServiceIT {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private ComicRepository comicRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private final String location = "Import " + UUID.randomUUID();
+
+    @AfterEach
+    void deleteImportedComics() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> comicRepository.deleteAll(importedComics()));
+    }
+
+    @Test
+    void interruptedJobResumesAfterItsLastCheckpoint() throws Exception {
+        // The first row was imported before the node running the job stopped
+        resumesAfterItsLastCheckpoint("RUNNING");
+    }
+
+    @Test
+    void failedJobResumesAfterItsLastCheckpoint() throws Exception {
+        // The first row was imported before the database failed
+        resumesAfterItsLastCheckpoint("FAILED");
+    }
+
+    private void resumesAfterItsLastCheckpoint(String status) throws Exception {
+        String csv = "title;location\nFirst;" + location + "\nSecond;" + location + "\nThird;" + location + "\n";
+        Timestamp stale = Timestamp.from(Instant.now().minus(1, ChronoUnit.HOURS));
+        Long id = new TransactionTemplate(transactionManager)
+            .execute(tx -> {
+                jdbcTemplate.update(
+                    "insert into import_job (file_name, format, status, file_size, row_count, imported, batches, created_by, " +
+                    "created_date, started_date, updated_date) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    "comics.csv",
+                    "CSV",
+                    status,
+                    csv.length(),
+                    1,
+                    1,
+                    1,
+                    "user",
+                    stale,
+                    stale,
+                    stale
+                );
+                return jdbcTemplate.queryForObject("select max(id) from import_job", Long.class);
+            });
+        Path file = Paths.get(applicationProperties.getImportJobs().getStoragePath(), id.toString());
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+        importJobService.poll();
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!"COMPLETED".equals(importJobService.findOne(id).orElseThrow().getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(importJobService.findOne(id).orElseThrow())
+            .satisfies(job -> {
+                assertThat(job.getStatus()).isEqualTo("COMPLETED");
+                assertThat(job.getRows()).isEqualTo(3);
+                assertThat(job.getImported()).isEqualTo(3);
+                assertThat(job.getFinishedDate()).isNotNull();
+            });
+        assertThat(importedComics()).extracting(Comic::getTitle).containsExactlyInAnyOrder("Second", "Third");
+        assertThat(file).doesNotExist();
+    }
+
+    private List<Comic> importedComics() {
+        return comicRepository.findAll().stream().filter(comic -> location.equals(comic.getLocation())).collect(Collectors.toList());
+    }
+}
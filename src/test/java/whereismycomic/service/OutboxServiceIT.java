@@ -0,0 +1,269 @@
+package whereismycomic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.IntegrationTest;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.Comic;
+
+/**
+ * Integration tests for {@link OutboxService}.
+ * <p>
+ * The outbox is only drained once the changes are committed, so these tests are not transactional. Every test
+ * application context drains the outbox as its own node.
+ */
+@IntegrationTest
+@Import(OutboxServiceIT.RecordingListenerConfiguration.class)
+class OutboxServiceIT {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ComicService comicService;
+
+    @Autowired
+    private RecordingListener recordingListener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private Comic comic;
+
+    @AfterEach
+    void cleanup() {
+        recordingListener.failing = false;
+        recordingListener.poisonId = null;
+        if (comic != null) {
+            comicService.delete(comic.getId());
+        }
+        outboxService.drain();
+    }
+
+    @Test
+    void changesAreWrittenInTheTransactionOfTheEntity() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Long id = transactionTemplate.execute(status -> {
+            Comic rolledBack = comicService.save(new Comic().title("rolled back"));
+            assertThat(storedChanges(rolledBack.getId())).isEqualTo(1);
+            status.setRollbackOnly();
+            return rolledBack.getId();
+        });
+
+        outboxService.drain();
+
+        assertThat(storedChanges(id)).isZero();
+        assertThat(recordingListener.changes).doesNotContain(EntityChangedEvent.saved(Comic.class, id));
+    }
+
+    @Test
+    void committedChangesAreDeliveredThenAcknowledged() {
+        comic = comicService.save(new Comic().title("committed"));
+
+        outboxService.drain();
+
+        assertThat(recordingListener.changes).contains(EntityChangedEvent.saved(Comic.class, comic.getId()));
+        assertThat(pendingChanges(comic.getId())).isZero();
+    }
+
+    @Test
+    void batchesOfChangesAreDeliveredAsTheChangeOfEachEntity() {
+        comic = comicService.save(new Comic().title("first of a batch"));
+        Comic other = comicService.save(new Comic().title("second of a batch"));
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.executeWithoutResult(status -> {
+                int stored = storedChanges(comic.getId()) + storedChanges(other.getId());
+                eventPublisher.publishEvent(EntitiesChangedEvent.saved(Comic.class, List.of(comic.getId(), other.getId())));
+                assertThat(storedChanges(comic.getId()) + storedChanges(other.getId())).isEqualTo(stored + 2);
+            });
+
+            outboxService.drain();
+
+            // Once when saved, then once in the batch
+            EntityChangedEvent saved = EntityChangedEvent.saved(Comic.class, comic.getId());
+            EntityChangedEvent otherSaved = EntityChangedEvent.saved(Comic.class, other.getId());
+            assertThat(recordingListener.changes.stream().filter(saved::equals).count()).isEqualTo(2);
+            assertThat(recordingListener.changes.stream().filter(otherSaved::equals).count()).isEqualTo(2);
+            assertThat(pendingChanges(comic.getId())).isZero();
+            assertThat(pendingChanges(other.getId())).isZero();
+        } finally {
+            comicService.delete(other.getId());
+        }
+    }
+
+    @Test
+    void changesAreDeliveredAgainAfterAFailure() {
+        recordingListener.failing = true;
+        comic = comicService.save(new Comic().title("failing"));
+
+        assertThat(outboxService.drain()).isZero();
+
+        assertThat(pendingChanges(comic.getId())).isEqualTo(1);
+        assertThat(meterRegistry.get(OutboxService.PENDING_METER_NAME).gauge().value()).isPositive();
+
+        recordingListener.failing = false;
+        outboxService.drain();
+
+        assertThat(recordingListener.changes).contains(EntityChangedEvent.saved(Comic.class, comic.getId()));
+        assertThat(pendingChanges(comic.getId())).isZero();
+        assertThat(meterRegistry.get(OutboxService.PENDING_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void poisonChangesAreDeadLetteredThenSkipped() {
+        // Not delivered in the background before it is known to be the poison
+        recordingListener.failing = true;
+        comic = comicService.save(new Comic().title("poison"));
+        recordingListener.poisonId = comic.getId();
+        Comic next = comicService.save(new Comic().title("after the poison"));
+        recordingListener.failing = false;
+        try {
+            // Drains may also run in the background, each of them counting as an attempt
+            for (int attempt = 0; attempt < applicationProperties.getOutbox().getMaxAttempts(); attempt++) {
+                outboxService.drain();
+            }
+
+            assertThat(deadLetters(comic.getId())).isEqualTo(1);
+            assertThat(recordingListener.changes).doesNotContain(EntityChangedEvent.saved(Comic.class, comic.getId()));
+            assertThat(recordingListener.changes).contains(EntityChangedEvent.saved(Comic.class, next.getId()));
+            assertThat(pendingChanges(comic.getId())).isZero();
+            assertThat(pendingChanges(next.getId())).isZero();
+            assertThat(meterRegistry.get(OutboxService.DEAD_LETTER_METER_NAME).counter().count()).isPositive();
+        } finally {
+            recordingListener.poisonId = null;
+            comicService.delete(next.getId());
+            jdbcTemplate.update("delete from outbox_dead_letter where entity_id = ?", comic.getId());
+        }
+    }
+
+    @Test
+    void changesAreDeletedOnceAppliedByEveryNode() throws Exception {
+        RecordingListener otherListener = new RecordingListener();
+        OutboxService otherNode = node("other-node", otherListener);
+        otherNode.drain();
+        try {
+            comic = comicService.save(new Comic().title("shared"));
+            EntityChangedEvent saved = EntityChangedEvent.saved(Comic.class, comic.getId());
+
+            outboxService.drain();
+
+            assertThat(recordingListener.changes).contains(saved);
+            assertThat(pendingChanges(comic.getId())).isZero();
+            assertThat(storedChanges(comic.getId())).isEqualTo(1);
+
+            otherNode.drain();
+
+            assertThat(otherListener.changes).containsOnlyOnce(saved);
+            // Forget the nodes of the closed test application contexts, the others poll the outbox and apply it too
+            jdbcTemplate.update(
+                "delete from outbox_consumer where consumer_id not in (?, ?)",
+                applicationProperties.getOutbox().getConsumerId(),
+                "other-node"
+            );
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (storedChanges(comic.getId()) > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+                outboxService.drain();
+            }
+            assertThat(storedChanges(comic.getId())).isZero();
+        } finally {
+            jdbcTemplate.update("delete from outbox_consumer where consumer_id = ?", "other-node");
+        }
+    }
+
+    private OutboxService node(String consumerId, EntityChangesListener listener) {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getOutbox().setConsumerId(consumerId);
+        properties.getOutbox().setGracePeriod(Duration.ZERO);
+        return new OutboxService(jdbcTemplate, transactionManager, List.of(listener), Runnable::run, new SimpleMeterRegistry(), properties);
+    }
+
+    /**
+     * The changes of a comic not yet applied by this node.
+     */
+    private int pendingChanges(Long comicId) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from outbox_event where entity_type = 'Comic' and entity_id = ? and id > " +
+            "(select last_event_id from outbox_consumer where consumer_id = ?)",
+            Integer.class,
+            comicId,
+            applicationProperties.getOutbox().getConsumerId()
+        );
+    }
+
+    private int deadLetters(Long comicId) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from outbox_dead_letter where entity_type = 'Comic' and entity_id = ? and consumer_id = ?",
+            Integer.class,
+            comicId,
+            applicationProperties.getOutbox().getConsumerId()
+        );
+    }
+
+    private int storedChanges(Long comicId) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from outbox_event where entity_type = 'Comic' and entity_id = ?",
+            Integer.class,
+            comicId
+        );
+    }
+
+    @TestConfiguration
+    static class RecordingListenerConfiguration {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements EntityChangesListener {
+
+        private final List<EntityChangedEvent> changes = new CopyOnWriteArrayList<>();
+
+        private volatile boolean failing;
+
+        private volatile Long poisonId;
+
+        @Override
+        public void onEntityChanges(List<EntityChangedEvent> changes) {
+            if (failing) {
+                throw new IllegalStateException("Failing on purpose");
+            }
+            if (poisonId != null && changes.contains(EntityChangedEvent.saved(Comic.class, poisonId))) {
+                throw new IllegalStateException("Failing on the poison change on purpose");
+            }
+            this.changes.addAll(changes);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package whereismycomic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.IntegrationTest;
+import whereismycomic.domain.Comic;
+import whereismycomic.repository.ComicRepository;
+import whereismycomic.service.criteria.ComicCriteria;
+
+/**
+ * Integration tests for {@link QueryResultCache}, through {@link ComicQueryService}.
+ * <p>
+ * Versions are only bumped once the changes are committed, so these tests are not transactional.
+ */
+@IntegrationTest
+@TestPropertySource(properties = "application.query-cache.enabled=true")
+class QueryResultCacheIT {
+
+    private static final String TITLE = "Query cache test";
+
+    @Autowired
+    private ComicQueryService comicQueryService;
+
+    @Autowired
+    private ComicService comicService;
+
+    @Autowired
+    private ComicRepository comicRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        created.forEach(comicService::delete);
+    }
+
+    @Test
+    void resultsAreCachedUntilAServiceChangesTheEntityType() {
+        save(new Comic().title(TITLE).issuenumber(1));
+        assertThat(comicQueryService.countByCriteria(criteria())).isEqualTo(1);
+
+        // Not seen by the cache
+        created.add(comicRepository.saveAndFlush(new Comic().title(TITLE).issuenumber(2)).getId());
+        assertThat(comicQueryService.countByCriteria(criteria())).isEqualTo(1);
+
+        Comic third = save(new Comic().title(TITLE).issuenumber(3));
+        assertThat(comicQueryService.countByCriteria(criteria())).isEqualTo(3);
+        assertThat(comicQueryService.findByCriteria(criteria(), PageRequest.of(0, 2, Sort.by("issuenumber").descending())))
+            .extracting(Comic::getIssuenumber)
+            .containsExactly(3, 2);
+        assertThat(comicQueryService.findByCriteriaAfterId(criteria(), third.getId() - 1, 10))
+            .extracting(Comic::getId)
+            .containsExactly(third.getId());
+    }
+
+    @Test
+    void transactionsChangingTheEntityTypeBypassTheCache() {
+        assertThat(comicQueryService.countByCriteria(criteria())).isZero();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            comicService.save(new Comic().title(TITLE));
+            assertThat(comicQueryService.countByCriteria(criteria())).isEqualTo(1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(comicQueryService.countByCriteria(criteria())).isZero();
+    }
+
+    @Test
+    void equivalentCriteriaShareTheirResults() {
+        Comic first = save(new Comic().title(TITLE).issuenumber(1));
+        Comic second = save(new Comic().title(TITLE).issuenumber(2));
+        ComicCriteria criteria = criteria();
+        criteria.id().setIn(List.of(first.getId(), second.getId()));
+        ComicCriteria reordered = criteria();
+        reordered.id().setIn(List.of(second.getId(), first.getId(), second.getId()));
+        ComicCriteria other = criteria();
+        other.id().setIn(List.of(first.getId()));
+
+        assertThat(QueryResultCache.canonical(reordered)).isEqualTo(QueryResultCache.canonical(criteria));
+        assertThat(QueryResultCache.canonical(other)).isNotEqualTo(QueryResultCache.canonical(criteria));
+
+        assertThat(comicQueryService.countByCriteria(criteria)).isEqualTo(2);
+        // Not seen by the cache, which answers the reordered criteria
+        comicRepository.deleteById(first.getId());
+        created.remove(first.getId());
+        assertThat(comicQueryService.countByCriteria(reordered)).isEqualTo(2);
+    }
+
+    private Comic save(Comic comic) {
+        Comic result = comicService.save(comic);
+        created.add(result.getId());
+        return result;
+    }
+
+    private static ComicCriteria criteria() {
+        ComicCriteria criteria = new ComicCriteria();
+        criteria.title().setEquals(TITLE);
+        return criteria;
+    }
+}
@@ -0,0 +1,76 @@
+package whereismycomic.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import whereismycomic.IntegrationTest;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+import whereismycomic.service.ComicService;
+import whereismycomic.service.OutboxService;
+import whereismycomic.service.SeriesService;
+
+/**
+ * Integration tests for the {@link AutocompleteResource} REST controller.
+ * <p>
+ * Suggestions are only updated once the entities are committed, so these tests are not transactional.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class AutocompleteResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/autocomplete";
+
+    @Autowired
+    private ComicService comicService;
+
+    @Autowired
+    private SeriesService seriesService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private MockMvc restAutocompleteMockMvc;
+
+    @Test
+    void autocomplete() throws Exception {
+        Series series = seriesService.save(new Series().name("Zorblax Chronicles"));
+        Comic comic = comicService.save(new Comic().title("Zorblax Returns"));
+        outboxService.drain();
+        try {
+            restAutocompleteMockMvc
+                .perform(get(ENTITY_API_URL + "?prefix=zorb"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(series.getId().intValue())))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(comic.getId().intValue())));
+
+            restAutocompleteMockMvc
+                .perform(get(ENTITY_API_URL + "?prefix=chron&type=series"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].type").value("series"))
+                .andExpect(jsonPath("$.[0].id").value(series.getId().intValue()))
+                .andExpect(jsonPath("$.[0].label").value("Zorblax Chronicles"));
+        } finally {
+            comicService.delete(comic.getId());
+            seriesService.delete(series.getId());
+            outboxService.drain();
+        }
+
+        restAutocompleteMockMvc.perform(get(ENTITY_API_URL + "?prefix=zorb")).andExpect(status().isOk()).andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void autocompleteWithUnknownType() throws Exception {
+        restAutocompleteMockMvc.perform(get(ENTITY_API_URL + "?prefix=a&type=user")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,163 @@
+package whereismycomic.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import whereismycomic.IntegrationTest;
+import whereismycomic.domain.Characters;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+import whereismycomic.security.AuthoritiesConstants;
+import whereismycomic.service.CatalogueExportService;
+
+/**
+ * Integration tests for the {@link CatalogueExportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class CatalogueExportResourceIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restExportMockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Comic comic;
+
+    @BeforeEach
+    public void initTest() {
+        Characters characters = CharactersResourceIT.createEntity(em);
+        em.persist(characters);
+        Series series = SeriesResourceIT.createEntity(em).characters(characters);
+        em.persist(series);
+        comic = ComicResourceIT.createEntity(em).series(series);
+        em.persist(comic);
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void exportComics() throws Exception {
+        byte[] content = restExportMockMvc
+            .perform(get("/api/export/comics"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(CatalogueExportResource.NDJSON))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"comics.ndjson\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        JsonNode exported = find(lines(content), comic.getId());
+        assertThat(exported.get("title").asText()).isEqualTo(comic.getTitle());
+        assertThat(exported.get("series").get("id").asLong()).isEqualTo(comic.getSeries().getId());
+    }
+
+    @Test
+    @Transactional
+    void exportSeriesGzipped() throws Exception {
+        byte[] content = restExportMockMvc
+            .perform(get("/api/export/series?gzip=true"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/gzip"))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"series.ndjson.gz\""))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        byte[] ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            ndjson = in.readAllBytes();
+        }
+        JsonNode exported = find(lines(ndjson), comic.getSeries().getId());
+        assertThat(exported.get("name").asText()).isEqualTo(comic.getSeries().getName());
+        assertThat(exported.get("characters").get("id").asLong()).isEqualTo(comic.getSeries().getCharacters().getId());
+    }
+
+    @Test
+    @Transactional
+    void exportCharacters() throws Exception {
+        byte[] content = restExportMockMvc
+            .perform(get("/api/export/characters"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        JsonNode exported = find(lines(content), comic.getSeries().getCharacters().getId());
+        assertThat(exported.get("fullname").asText()).isEqualTo(comic.getSeries().getCharacters().getFullname());
+    }
+
+    @Test
+    @Transactional
+    void failedGzippedExportIsNotCompleted() throws Exception {
+        CatalogueExportService catalogueExportService = mock(CatalogueExportService.class);
+        doAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(0);
+                out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+                throw new IOException("Lost connection");
+            })
+            .when(catalogueExportService)
+            .exportSeries(any());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> new CatalogueExportResource(catalogueExportService).exportSeries(true, response))
+            .isInstanceOf(IOException.class);
+
+        // Without its trailer, the file cannot be mistaken for a complete export
+        assertThatThrownBy(() -> {
+                try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+                    in.readAllBytes();
+                }
+            })
+            .isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    void exportIsForbiddenToUsers() throws Exception {
+        restExportMockMvc.perform(get("/api/export/comics")).andExpect(status().isForbidden());
+    }
+
+    private List<JsonNode> lines(byte[] content) throws Exception {
+        String ndjson = new String(content, StandardCharsets.UTF_8);
+        assertThat(ndjson).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static JsonNode find(List<JsonNode> lines, Long id) {
+        return lines.stream().filter(line -> line.get("id").asLong() == id).findFirst().orElseThrow();
+    }
+}
@@ -1,6 +1,8 @@
 package whereismycomic.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -13,14 +15,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.Base64Utils;
 import whereismycomic.IntegrationTest;
 import whereismycomic.domain.Characters;
+import whereismycomic.domain.Series;
 import whereismycomic.repository.CharactersRepository;
+import whereismycomic.service.ThumbnailStorageService;
+import whereismycomic.service.criteria.CharactersCriteria;
 
 /**
  * Integration tests for the {@link CharactersResource} REST controller.
@@ -38,6 +43,8 @@ class CharactersResourceIT {
 
     private static final byte[] DEFAULT_THUMBNAIL = TestUtil.createByteArray(1, "0");
     private static final byte[] UPDATED_THUMBNAIL = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_THUMBNAIL_HASH = ThumbnailStorageService.hash(DEFAULT_THUMBNAIL);
+    private static final String UPDATED_THUMBNAIL_HASH = ThumbnailStorageService.hash(UPDATED_THUMBNAIL);
     private static final String DEFAULT_THUMBNAIL_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_THUMBNAIL_CONTENT_TYPE = "image/png";
 
@@ -69,6 +76,7 @@ class CharactersResourceIT {
             .fullname(DEFAULT_FULLNAME)
             .description(DEFAULT_DESCRIPTION)
             .thumbnail(DEFAULT_THUMBNAIL)
+            .thumbnailHash(DEFAULT_THUMBNAIL_HASH)
             .thumbnailContentType(DEFAULT_THUMBNAIL_CONTENT_TYPE);
         return characters;
     }
@@ -108,10 +116,23 @@ class CharactersResourceIT {
         Characters testCharacters = charactersList.get(charactersList.size() - 1);
         assertThat(testCharacters.getFullname()).isEqualTo(DEFAULT_FULLNAME);
         assertThat(testCharacters.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testCharacters.getThumbnail()).isEqualTo(DEFAULT_THUMBNAIL);
+        assertThat(testCharacters.getThumbnailHash()).isEqualTo(DEFAULT_THUMBNAIL_HASH);
         assertThat(testCharacters.getThumbnailContentType()).isEqualTo(DEFAULT_THUMBNAIL_CONTENT_TYPE);
     }
 
+    @Test
+    @Transactional
+    void createCharactersWithScriptableThumbnail() throws Exception {
+        int databaseSizeBeforeCreate = charactersRepository.findAll().size();
+        characters.thumbnailContentType("image/svg+xml");
+
+        restCharactersMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(characters)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(charactersRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void createCharactersWithExistingId() throws Exception {
@@ -145,7 +166,26 @@ class CharactersResourceIT {
             .andExpect(jsonPath("$.[*].fullname").value(hasItem(DEFAULT_FULLNAME)))
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
             .andExpect(jsonPath("$.[*].thumbnailContentType").value(hasItem(DEFAULT_THUMBNAIL_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].thumbnail").value(hasItem(Base64Utils.encodeToString(DEFAULT_THUMBNAIL))));
+            .andExpect(jsonPath("$.[*].thumbnailHash").value(hasItem(DEFAULT_THUMBNAIL_HASH)));
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersSummaries() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL + "?view=summary&sort=id,desc&id.equals=" + characters.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(characters.getId().intValue()))
+            .andExpect(jsonPath("$.[0].fullname").value(DEFAULT_FULLNAME))
+            .andExpect(
+                jsonPath("$.[0].thumbnailUrl").value("/api/characters/" + characters.getId() + "/thumbnail?v=" + DEFAULT_THUMBNAIL_HASH)
+            )
+            .andExpect(jsonPath("$.[0].description").doesNotExist());
     }
 
     @Test
@@ -163,7 +203,371 @@ class CharactersResourceIT {
             .andExpect(jsonPath("$.fullname").value(DEFAULT_FULLNAME))
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION))
             .andExpect(jsonPath("$.thumbnailContentType").value(DEFAULT_THUMBNAIL_CONTENT_TYPE))
-            .andExpect(jsonPath("$.thumbnail").value(Base64Utils.encodeToString(DEFAULT_THUMBNAIL)));
+            .andExpect(jsonPath("$.thumbnailHash").value(DEFAULT_THUMBNAIL_HASH));
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersPaged() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get a page of the charactersList, with the pagination headers
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&page=0&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"first\"")));
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByKeyset() throws Exception {
+        // Initialize the database
+        Characters first = charactersRepository.saveAndFlush(createEntity(em).fullname("keyset"));
+        Characters second = charactersRepository.saveAndFlush(createEntity(em).fullname("keyset"));
+        Characters third = charactersRepository.saveAndFlush(createEntity(em).fullname("keyset"));
+
+        // The first page is not counted, and links to the next one
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL + "?fullname.equals=keyset&count=false&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second.getId())));
+
+        // The last page has no next link
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL + "?fullname.equals=keyset&after=" + second.getId() + "&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByKeysetWithUnsupportedSort() throws Exception {
+        restCharactersMockMvc.perform(get(ENTITY_API_URL + "?count=false&sort=fullname")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getCharactersByIdFiltering() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        Long id = characters.getId();
+
+        defaultCharactersShouldBeFound("id.equals=" + id);
+        defaultCharactersShouldNotBeFound("id.notEquals=" + id);
+
+        defaultCharactersShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultCharactersShouldNotBeFound("id.greaterThan=" + id);
+
+        defaultCharactersShouldBeFound("id.lessThanOrEqual=" + id);
+        defaultCharactersShouldNotBeFound("id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByFullnameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where fullname equals to DEFAULT_FULLNAME
+        defaultCharactersShouldBeFound("fullname.equals=" + DEFAULT_FULLNAME);
+
+        // Get all the charactersList where fullname equals to UPDATED_FULLNAME
+        defaultCharactersShouldNotBeFound("fullname.equals=" + UPDATED_FULLNAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByFullnameIsNotEqualToSomething() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where fullname not equals to DEFAULT_FULLNAME
+        defaultCharactersShouldNotBeFound("fullname.notEquals=" + DEFAULT_FULLNAME);
+
+        // Get all the charactersList where fullname not equals to UPDATED_FULLNAME
+        defaultCharactersShouldBeFound("fullname.notEquals=" + UPDATED_FULLNAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByFullnameIsInShouldWork() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where fullname in DEFAULT_FULLNAME or UPDATED_FULLNAME
+        defaultCharactersShouldBeFound("fullname.in=" + DEFAULT_FULLNAME + "," + UPDATED_FULLNAME);
+
+        // Get all the charactersList where fullname equals to UPDATED_FULLNAME
+        defaultCharactersShouldNotBeFound("fullname.in=" + UPDATED_FULLNAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByFullnameIsNullOrNotNull() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where fullname is not null
+        defaultCharactersShouldBeFound("fullname.specified=true");
+
+        // Get all the charactersList where fullname is null
+        defaultCharactersShouldNotBeFound("fullname.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByFullnameContainsSomething() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where fullname contains DEFAULT_FULLNAME
+        defaultCharactersShouldBeFound("fullname.contains=" + DEFAULT_FULLNAME);
+
+        // Get all the charactersList where fullname contains UPDATED_FULLNAME
+        defaultCharactersShouldNotBeFound("fullname.contains=" + UPDATED_FULLNAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByFullnameNotContainsSomething() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where fullname does not contain DEFAULT_FULLNAME
+        defaultCharactersShouldNotBeFound("fullname.doesNotContain=" + DEFAULT_FULLNAME);
+
+        // Get all the charactersList where fullname does not contain UPDATED_FULLNAME
+        defaultCharactersShouldBeFound("fullname.doesNotContain=" + UPDATED_FULLNAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByDescriptionIsEqualToSomething() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where description equals to DEFAULT_DESCRIPTION
+        defaultCharactersShouldBeFound("description.equals=" + DEFAULT_DESCRIPTION);
+
+        // Get all the charactersList where description equals to UPDATED_DESCRIPTION
+        defaultCharactersShouldNotBeFound("description.equals=" + UPDATED_DESCRIPTION);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByDescriptionIsNotEqualToSomething() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where description not equals to DEFAULT_DESCRIPTION
+        defaultCharactersShouldNotBeFound("description.notEquals=" + DEFAULT_DESCRIPTION);
+
+        // Get all the charactersList where description not equals to UPDATED_DESCRIPTION
+        defaultCharactersShouldBeFound("description.notEquals=" + UPDATED_DESCRIPTION);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByDescriptionIsInShouldWork() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where description in DEFAULT_DESCRIPTION or UPDATED_DESCRIPTION
+        defaultCharactersShouldBeFound("description.in=" + DEFAULT_DESCRIPTION + "," + UPDATED_DESCRIPTION);
+
+        // Get all the charactersList where description equals to UPDATED_DESCRIPTION
+        defaultCharactersShouldNotBeFound("description.in=" + UPDATED_DESCRIPTION);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByDescriptionIsNullOrNotNull() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where description is not null
+        defaultCharactersShouldBeFound("description.specified=true");
+
+        // Get all the charactersList where description is null
+        defaultCharactersShouldNotBeFound("description.specified=false");
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByDescriptionContainsSomething() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where description contains DEFAULT_DESCRIPTION
+        defaultCharactersShouldBeFound("description.contains=" + DEFAULT_DESCRIPTION);
+
+        // Get all the charactersList where description contains UPDATED_DESCRIPTION
+        defaultCharactersShouldNotBeFound("description.contains=" + UPDATED_DESCRIPTION);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersByDescriptionNotContainsSomething() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Get all the charactersList where description does not contain DEFAULT_DESCRIPTION
+        defaultCharactersShouldNotBeFound("description.doesNotContain=" + DEFAULT_DESCRIPTION);
+
+        // Get all the charactersList where description does not contain UPDATED_DESCRIPTION
+        defaultCharactersShouldBeFound("description.doesNotContain=" + UPDATED_DESCRIPTION);
+    }
+
+    @Test
+    @Transactional
+    void getAllCharactersBySeriesIsEqualToSomething() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+        Series series;
+        if (TestUtil.findAll(em, Series.class).isEmpty()) {
+            series = SeriesResourceIT.createEntity(em);
+            em.persist(series);
+            em.flush();
+        } else {
+            series = TestUtil.findAll(em, Series.class).get(0);
+        }
+        em.persist(series);
+        em.flush();
+        characters.addSeries(series);
+        charactersRepository.saveAndFlush(characters);
+        Long seriesId = series.getId();
+
+        // Get all the charactersList where series equals to seriesId
+        defaultCharactersShouldBeFound("seriesId.equals=" + seriesId);
+
+        // Get all the charactersList where series equals to (seriesId + 1)
+        defaultCharactersShouldNotBeFound("seriesId.equals=" + (seriesId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultCharactersShouldBeFound(String filter) throws Exception {
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(characters.getId().intValue())))
+            .andExpect(jsonPath("$.[*].fullname").value(hasItem(DEFAULT_FULLNAME)))
+            .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
+            .andExpect(jsonPath("$.[*].thumbnailContentType").value(hasItem(DEFAULT_THUMBNAIL_CONTENT_TYPE)))
+            .andExpect(jsonPath("$.[*].thumbnailHash").value(hasItem(DEFAULT_THUMBNAIL_HASH)));
+
+        // Check, that the count call also returns 1
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultCharactersShouldNotBeFound(String filter) throws Exception {
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void getCharactersThumbnail() throws Exception {
+        // Create the characters with its thumbnail through the API, so that the image is stored
+        restCharactersMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(characters)))
+            .andExpect(status().isCreated());
+        List<Characters> charactersList = charactersRepository.findAll();
+        Characters testCharacters = charactersList.get(charactersList.size() - 1);
+
+        // Get the thumbnail
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", testCharacters.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_THUMBNAIL_CONTENT_TYPE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + DEFAULT_THUMBNAIL_HASH + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+            .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+            .andExpect(header().string("Content-Security-Policy", "sandbox"))
+            .andExpect(content().bytes(DEFAULT_THUMBNAIL));
+
+        // Get the thumbnail by its hash, which can be cached forever
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail?v=" + DEFAULT_THUMBNAIL_HASH, testCharacters.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")));
+
+        // Revalidate the thumbnail
+        restCharactersMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/thumbnail", testCharacters.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"" + DEFAULT_THUMBNAIL_HASH + "\"")
+            )
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+
+        // Get part of the thumbnail
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", testCharacters.getId()).header(HttpHeaders.RANGE, "bytes=0-0"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-0/" + DEFAULT_THUMBNAIL.length))
+            .andExpect(content().bytes(DEFAULT_THUMBNAIL));
+
+        // Get a part that does not exist
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", testCharacters.getId()).header(HttpHeaders.RANGE, "bytes=10-20"))
+            .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    @Transactional
+    void getCharactersThumbnailWithUnsafeContentType() throws Exception {
+        // Create the characters with its thumbnail through the API, then record a content type which could run scripts
+        restCharactersMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(characters)))
+            .andExpect(status().isCreated());
+        List<Characters> charactersList = charactersRepository.findAll();
+        Characters testCharacters = charactersList.get(charactersList.size() - 1);
+        charactersRepository.saveAndFlush(testCharacters.thumbnailContentType("text/html"));
+
+        restCharactersMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", testCharacters.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment"))
+            .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingCharactersThumbnail() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters.thumbnailHash(null));
+
+        // Get the thumbnail
+        restCharactersMockMvc.perform(get(ENTITY_API_URL_ID + "/thumbnail", characters.getId())).andExpect(status().isNotFound());
     }
 
     @Test
@@ -205,10 +609,79 @@ class CharactersResourceIT {
         Characters testCharacters = charactersList.get(charactersList.size() - 1);
         assertThat(testCharacters.getFullname()).isEqualTo(UPDATED_FULLNAME);
         assertThat(testCharacters.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testCharacters.getThumbnail()).isEqualTo(UPDATED_THUMBNAIL);
+        assertThat(testCharacters.getThumbnailHash()).isEqualTo(UPDATED_THUMBNAIL_HASH);
         assertThat(testCharacters.getThumbnailContentType()).isEqualTo(UPDATED_THUMBNAIL_CONTENT_TYPE);
     }
 
+    @Test
+    @Transactional
+    void putCharactersKeepsStoredThumbnail() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        // Update the characters without uploading its thumbnail again, pointing it at another image
+        Characters updatedCharacters = charactersRepository.findById(characters.getId()).get();
+        em.detach(updatedCharacters);
+        updatedCharacters.description(UPDATED_DESCRIPTION).thumbnailHash(UPDATED_THUMBNAIL_HASH);
+
+        restCharactersMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedCharacters.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedCharacters))
+            )
+            .andExpect(status().isOk());
+
+        Characters testCharacters = charactersRepository.findById(characters.getId()).get();
+        assertThat(testCharacters.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
+        assertThat(testCharacters.getThumbnailHash()).isEqualTo(DEFAULT_THUMBNAIL_HASH);
+        assertThat(testCharacters.getThumbnailContentType()).isEqualTo(DEFAULT_THUMBNAIL_CONTENT_TYPE);
+    }
+
+    @Test
+    @Transactional
+    void putCharactersWithoutThumbnailRemovesIt() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        Characters updatedCharacters = charactersRepository.findById(characters.getId()).get();
+        em.detach(updatedCharacters);
+        updatedCharacters.thumbnailContentType(null);
+
+        restCharactersMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedCharacters.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedCharacters))
+            )
+            .andExpect(status().isOk());
+
+        Characters testCharacters = charactersRepository.findById(characters.getId()).get();
+        assertThat(testCharacters.getThumbnailHash()).isNull();
+        assertThat(testCharacters.getThumbnailContentType()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void patchCharactersIgnoresThumbnailHash() throws Exception {
+        // Initialize the database
+        charactersRepository.saveAndFlush(characters);
+
+        Characters partialUpdatedCharacters = new Characters();
+        partialUpdatedCharacters.setId(characters.getId());
+        partialUpdatedCharacters.thumbnailHash(UPDATED_THUMBNAIL_HASH);
+
+        restCharactersMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedCharacters.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedCharacters))
+            )
+            .andExpect(status().isOk());
+
+        assertThat(charactersRepository.findById(characters.getId()).get().getThumbnailHash()).isEqualTo(DEFAULT_THUMBNAIL_HASH);
+    }
+
     @Test
     @Transactional
     void putNonExistingCharacters() throws Exception {
@@ -291,7 +764,7 @@ class CharactersResourceIT {
         Characters testCharacters = charactersList.get(charactersList.size() - 1);
         assertThat(testCharacters.getFullname()).isEqualTo(DEFAULT_FULLNAME);
         assertThat(testCharacters.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testCharacters.getThumbnail()).isEqualTo(DEFAULT_THUMBNAIL);
+        assertThat(testCharacters.getThumbnailHash()).isEqualTo(DEFAULT_THUMBNAIL_HASH);
         assertThat(testCharacters.getThumbnailContentType()).isEqualTo(DEFAULT_THUMBNAIL_CONTENT_TYPE);
     }
 
@@ -327,7 +800,7 @@ class CharactersResourceIT {
         Characters testCharacters = charactersList.get(charactersList.size() - 1);
         assertThat(testCharacters.getFullname()).isEqualTo(UPDATED_FULLNAME);
         assertThat(testCharacters.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testCharacters.getThumbnail()).isEqualTo(UPDATED_THUMBNAIL);
+        assertThat(testCharacters.getThumbnailHash()).isEqualTo(UPDATED_THUMBNAIL_HASH);
         assertThat(testCharacters.getThumbnailContentType()).isEqualTo(UPDATED_THUMBNAIL_CONTENT_TYPE);
     }
 
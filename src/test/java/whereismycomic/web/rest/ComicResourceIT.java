@@ -1,27 +1,35 @@
 package whereismycomic.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.Base64Utils;
 import whereismycomic.IntegrationTest;
+import whereismycomic.domain.Characters;
 import whereismycomic.domain.Comic;
 import whereismycomic.domain.Series;
 import whereismycomic.repository.ComicRepository;
+import whereismycomic.service.ThumbnailStorageService;
 import whereismycomic.service.criteria.ComicCriteria;
 
 /**
@@ -47,6 +55,8 @@ class ComicResourceIT {
 
     private static final byte[] DEFAULT_THUMBNAIL = TestUtil.createByteArray(1, "0");
     private static final byte[] UPDATED_THUMBNAIL = TestUtil.createByteArray(1, "1");
+    private static final String DEFAULT_THUMBNAIL_HASH = ThumbnailStorageService.hash(DEFAULT_THUMBNAIL);
+    private static final String UPDATED_THUMBNAIL_HASH = ThumbnailStorageService.hash(UPDATED_THUMBNAIL);
     private static final String DEFAULT_THUMBNAIL_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_THUMBNAIL_CONTENT_TYPE = "image/png";
 
@@ -80,6 +90,7 @@ class ComicResourceIT {
             .title(DEFAULT_TITLE)
             .description(DEFAULT_DESCRIPTION)
             .thumbnail(DEFAULT_THUMBNAIL)
+            .thumbnailHash(DEFAULT_THUMBNAIL_HASH)
             .thumbnailContentType(DEFAULT_THUMBNAIL_CONTENT_TYPE);
         return comic;
     }
@@ -123,10 +134,144 @@ class ComicResourceIT {
         assertThat(testComic.getLocation()).isEqualTo(DEFAULT_LOCATION);
         assertThat(testComic.getTitle()).isEqualTo(DEFAULT_TITLE);
         assertThat(testComic.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
-        assertThat(testComic.getThumbnail()).isEqualTo(DEFAULT_THUMBNAIL);
+        assertThat(testComic.getThumbnailHash()).isEqualTo(DEFAULT_THUMBNAIL_HASH);
         assertThat(testComic.getThumbnailContentType()).isEqualTo(DEFAULT_THUMBNAIL_CONTENT_TYPE);
     }
 
+    @Test
+    @Transactional
+    void importComics() throws Exception {
+        Series series = SeriesResourceIT.createEntity(em);
+        em.persist(series);
+        em.flush();
+        int databaseSizeBeforeImport = comicRepository.findAll().size();
+        String body =
+            "[" +
+            "{\"issuenumber\":1,\"title\":\"First\",\"series\":{\"id\":" +
+            series.getId() +
+            "}}," +
+            "{\"id\":1,\"title\":\"Existing\"}," +
+            "{\"title\":\"Unknown series\",\"series\":{\"id\":" +
+            Long.MAX_VALUE +
+            "}}," +
+            "{\"issuenumber\":2,\"title\":\"Second\"}" +
+            "]";
+
+        restComicMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.rows").value(4))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.errors.[*].row").value(hasItems(2, 3)));
+
+        List<Comic> comicList = comicRepository.findAll();
+        assertThat(comicList).hasSize(databaseSizeBeforeImport + 2);
+        assertThat(comicList).filteredOn(imported -> "First".equals(imported.getTitle())).singleElement().satisfies(imported ->
+            assertThat(imported.getSeries().getId()).isEqualTo(series.getId())
+        );
+    }
+
+    @Test
+    @Transactional
+    void importComicsIgnoresThumbnailHash() throws Exception {
+        String body = "[{\"title\":\"Pointed\",\"thumbnailHash\":\"" + DEFAULT_THUMBNAIL_HASH + "\"}]";
+
+        restComicMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+
+        assertThat(comicRepository.findAll())
+            .filteredOn(imported -> "Pointed".equals(imported.getTitle()))
+            .singleElement()
+            .satisfies(imported -> assertThat(imported.getThumbnailHash()).isNull());
+    }
+
+    @Test
+    @Transactional
+    void importComicsRejectsScriptableThumbnails() throws Exception {
+        String body = "[{\"title\":\"Scripted\",\"thumbnail\":\"PHN2Zy8+\",\"thumbnailContentType\":\"image/svg+xml\"}]";
+
+        restComicMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(0))
+            .andExpect(jsonPath("$.rejected").value(1));
+    }
+
+    @Test
+    @Transactional
+    void importComicsRejectsMistypedRows() throws Exception {
+        int databaseSizeBeforeImport = comicRepository.findAll().size();
+        String body = "[{\"title\":\"First\"},{\"issuenumber\":\"forty-two\",\"title\":\"Mistyped\"},{\"title\":\"Last\"}]";
+
+        restComicMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.rows").value(3))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors.[0].row").value(2));
+
+        List<Comic> comicList = comicRepository.findAll();
+        assertThat(comicList).hasSize(databaseSizeBeforeImport + 2);
+        assertThat(comicList).extracting(Comic::getTitle).contains("First", "Last").doesNotContain("Mistyped");
+    }
+
+    @Test
+    @Transactional
+    void importComicsStopsAtMalformedJson() throws Exception {
+        int databaseSizeBeforeImport = comicRepository.findAll().size();
+
+        restComicMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content("[{\"title\":\"First\"},{\"title\":"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("ABORTED"))
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.errors.[0].row").value(2));
+
+        assertThat(comicRepository.findAll()).hasSize(databaseSizeBeforeImport + 1);
+    }
+
+    @Test
+    @Transactional
+    void importComicsCsv() throws Exception {
+        int databaseSizeBeforeImport = comicRepository.findAll().size();
+        String body =
+            "id;issuenumber;location;title;description;thumbnail;thumbnail_content_type\n" +
+            "1;42;Shelf A;\"Semicolon; \"\"quoted\"\"\";Description;../fake-data/blob/hipster.png;image/png\n" +
+            "2;forty-two;Shelf B;Invalid;;;\n" +
+            "3;43;Shelf C;Last;;;\n";
+
+        restComicMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType("text/csv").content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.rows").value(3))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.errors.[0].row").value(2));
+
+        List<Comic> comicList = comicRepository.findAll();
+        assertThat(comicList).hasSize(databaseSizeBeforeImport + 2);
+        assertThat(comicList).extracting(Comic::getTitle).contains("Semicolon; \"quoted\"", "Last");
+    }
+
+    @Test
+    @Transactional
+    void createComicWithScriptableThumbnail() throws Exception {
+        int databaseSizeBeforeCreate = comicRepository.findAll().size();
+        comic.thumbnailContentType("image/svg+xml");
+
+        restComicMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(comic)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(comicRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void createComicWithExistingId() throws Exception {
@@ -162,7 +307,168 @@ class ComicResourceIT {
             .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
             .andExpect(jsonPath("$.[*].thumbnailContentType").value(hasItem(DEFAULT_THUMBNAIL_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].thumbnail").value(hasItem(Base64Utils.encodeToString(DEFAULT_THUMBNAIL))));
+            .andExpect(jsonPath("$.[*].thumbnailHash").value(hasItem(DEFAULT_THUMBNAIL_HASH)));
+    }
+
+    @Test
+    @Transactional
+    void getAllComicsPaged() throws Exception {
+        // Initialize the database
+        comicRepository.saveAndFlush(comic);
+
+        // Get a page of the comicList, with the pagination headers
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&page=0&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"first\"")));
+    }
+
+    @Test
+    @Transactional
+    void getAllComicsByKeyset() throws Exception {
+        // Initialize the database
+        Comic first = comicRepository.saveAndFlush(createEntity(em).location("keyset"));
+        Comic second = comicRepository.saveAndFlush(createEntity(em).location("keyset"));
+        Comic third = comicRepository.saveAndFlush(createEntity(em).location("keyset"));
+
+        // The first page is not counted, and links to the next one
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL + "?location.equals=keyset&count=false&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second.getId())))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+
+        // The last page has no next link
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL + "?location.equals=keyset&after=" + second.getId() + "&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void getAllComicsByKeysetSortedByIssuenumber() throws Exception {
+        // Initialize the database
+        Comic third = comicRepository.saveAndFlush(createEntity(em).location("keyset").issuenumber(3));
+        Comic first = comicRepository.saveAndFlush(createEntity(em).location("keyset").issuenumber(1));
+        Comic second = comicRepository.saveAndFlush(createEntity(em).location("keyset").issuenumber(2));
+        comicRepository.saveAndFlush(createEntity(em).location("keyset").issuenumber(null));
+
+        // Comics without issuenumber are left out
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL + "?location.equals=keyset&sort=issuenumber&after=" + first.getId() + "&size=5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue(), third.getId().intValue())))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void getAllComicsByKeysetWithUnsupportedSort() throws Exception {
+        restComicMockMvc.perform(get(ENTITY_API_URL + "?count=false&sort=title")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllComicsByKeysetAfterNonExistingComicSortedByIssuenumber() throws Exception {
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=issuenumber&after=" + Long.MAX_VALUE))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllComicSummaries() throws Exception {
+        // Initialize the database
+        comicRepository.saveAndFlush(comic);
+
+        // Get the summaries of the comicList, without the description
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL + "?view=summary&sort=id,desc&id.equals=" + comic.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(comic.getId().intValue()))
+            .andExpect(jsonPath("$.[0].issuenumber").value(DEFAULT_ISSUENUMBER))
+            .andExpect(jsonPath("$.[0].title").value(DEFAULT_TITLE))
+            .andExpect(jsonPath("$.[0].location").value(DEFAULT_LOCATION))
+            .andExpect(jsonPath("$.[0].seriesId").doesNotExist())
+            .andExpect(jsonPath("$.[0].thumbnailUrl").value("/api/comics/" + comic.getId() + "/thumbnail?v=" + DEFAULT_THUMBNAIL_HASH))
+            .andExpect(jsonPath("$.[0].description").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllComicSummariesByKeyset() throws Exception {
+        // Initialize the database
+        Series series = SeriesResourceIT.createEntity(em);
+        em.persist(series);
+        Comic first = comicRepository.saveAndFlush(createEntity(em).location("keyset").series(series));
+        Comic second = comicRepository.saveAndFlush(createEntity(em).location("keyset"));
+
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL + "?view=summary&location.equals=keyset&count=false&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())))
+            .andExpect(jsonPath("$.[0].seriesId").value(series.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + first.getId())));
+
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL + "?view=summary&location.equals=keyset&after=" + first.getId() + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue())))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void getAllComicsFetchesSeriesInTheSameQuery() throws Exception {
+        // Initialize the database with 1,000 comics spread over 10 series, each with its own characters
+        List<Series> seriesList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Characters characters = CharactersResourceIT.createEntity(em);
+            em.persist(characters);
+            Series series = SeriesResourceIT.createEntity(em).characters(characters);
+            em.persist(series);
+            seriesList.add(series);
+        }
+        for (int i = 0; i < 1000; i++) {
+            em.persist(createEntity(em).location("fetch-plan").series(seriesList.get(i % seriesList.size())));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            // One query for the comics joined with their series, and one for the total count
+            statistics.clear();
+            restComicMockMvc
+                .perform(get(ENTITY_API_URL + "?location.equals=fetch-plan&sort=id,asc&size=1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1000))
+                .andExpect(jsonPath("$.[0].series.id").value(seriesList.get(0).getId().intValue()))
+                .andExpect(jsonPath("$.[0].series.name").value(SeriesResourceIT.createEntity(em).getName()));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+            // A single query in keyset mode
+            em.clear();
+            statistics.clear();
+            restComicMockMvc
+                .perform(get(ENTITY_API_URL + "?location.equals=fetch-plan&count=false&size=1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1000))
+                .andExpect(jsonPath("$.[999].series.id").value(seriesList.get(9).getId().intValue()));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
     }
 
     @Test
@@ -182,7 +488,7 @@ class ComicResourceIT {
             .andExpect(jsonPath("$.title").value(DEFAULT_TITLE))
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION))
             .andExpect(jsonPath("$.thumbnailContentType").value(DEFAULT_THUMBNAIL_CONTENT_TYPE))
-            .andExpect(jsonPath("$.thumbnail").value(Base64Utils.encodeToString(DEFAULT_THUMBNAIL)));
+            .andExpect(jsonPath("$.thumbnailHash").value(DEFAULT_THUMBNAIL_HASH));
     }
 
     @Test
@@ -581,7 +887,7 @@ class ComicResourceIT {
             .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
             .andExpect(jsonPath("$.[*].thumbnailContentType").value(hasItem(DEFAULT_THUMBNAIL_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].thumbnail").value(hasItem(Base64Utils.encodeToString(DEFAULT_THUMBNAIL))));
+            .andExpect(jsonPath("$.[*].thumbnailHash").value(hasItem(DEFAULT_THUMBNAIL_HASH)));
 
         // Check, that the count call also returns 1
         restComicMockMvc
@@ -610,6 +916,84 @@ class ComicResourceIT {
             .andExpect(content().string("0"));
     }
 
+    @Test
+    @Transactional
+    void getComicThumbnail() throws Exception {
+        // Create the comic with its thumbnail through the API, so that the image is stored
+        restComicMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(comic)))
+            .andExpect(status().isCreated());
+        List<Comic> comicList = comicRepository.findAll();
+        Comic testComic = comicList.get(comicList.size() - 1);
+
+        // Get the thumbnail
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", testComic.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_THUMBNAIL_CONTENT_TYPE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + DEFAULT_THUMBNAIL_HASH + "\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+            .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+            .andExpect(header().string("Content-Security-Policy", "sandbox"))
+            .andExpect(content().bytes(DEFAULT_THUMBNAIL));
+
+        // Get the thumbnail by its hash, which can be cached forever
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail?v=" + DEFAULT_THUMBNAIL_HASH, testComic.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")));
+
+        // Revalidate the thumbnail
+        restComicMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/thumbnail", testComic.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"" + DEFAULT_THUMBNAIL_HASH + "\"")
+            )
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+
+        // Get part of the thumbnail
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", testComic.getId()).header(HttpHeaders.RANGE, "bytes=0-0"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-0/" + DEFAULT_THUMBNAIL.length))
+            .andExpect(content().bytes(DEFAULT_THUMBNAIL));
+
+        // Get a part that does not exist
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", testComic.getId()).header(HttpHeaders.RANGE, "bytes=10-20"))
+            .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    @Transactional
+    void getComicThumbnailWithUnsafeContentType() throws Exception {
+        // Create the comic with its thumbnail through the API, then record a content type which could run scripts
+        restComicMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(comic)))
+            .andExpect(status().isCreated());
+        List<Comic> comicList = comicRepository.findAll();
+        Comic testComic = comicList.get(comicList.size() - 1);
+        comicRepository.saveAndFlush(testComic.thumbnailContentType("text/html"));
+
+        restComicMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/thumbnail", testComic.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment"))
+            .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingComicThumbnail() throws Exception {
+        // Initialize the database
+        comicRepository.saveAndFlush(comic.thumbnailHash(null));
+
+        // Get the thumbnail
+        restComicMockMvc.perform(get(ENTITY_API_URL_ID + "/thumbnail", comic.getId())).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void getNonExistingComic() throws Exception {
@@ -653,10 +1037,79 @@ class ComicResourceIT {
         assertThat(testComic.getLocation()).isEqualTo(UPDATED_LOCATION);
         assertThat(testComic.getTitle()).isEqualTo(UPDATED_TITLE);
         assertThat(testComic.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testComic.getThumbnail()).isEqualTo(UPDATED_THUMBNAIL);
+        assertThat(testComic.getThumbnailHash()).isEqualTo(UPDATED_THUMBNAIL_HASH);
         assertThat(testComic.getThumbnailContentType()).isEqualTo(UPDATED_THUMBNAIL_CONTENT_TYPE);
     }
 
+    @Test
+    @Transactional
+    void putComicKeepsStoredThumbnail() throws Exception {
+        // Initialize the database
+        comicRepository.saveAndFlush(comic);
+
+        // Update the comic without uploading its thumbnail again, pointing it at another image
+        Comic updatedComic = comicRepository.findById(comic.getId()).get();
+        em.detach(updatedComic);
+        updatedComic.description(UPDATED_DESCRIPTION).thumbnailHash(UPDATED_THUMBNAIL_HASH);
+
+        restComicMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedComic.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedComic))
+            )
+            .andExpect(status().isOk());
+
+        Comic testComic = comicRepository.findById(comic.getId()).get();
+        assertThat(testComic.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
+        assertThat(testComic.getThumbnailHash()).isEqualTo(DEFAULT_THUMBNAIL_HASH);
+        assertThat(testComic.getThumbnailContentType()).isEqualTo(DEFAULT_THUMBNAIL_CONTENT_TYPE);
+    }
+
+    @Test
+    @Transactional
+    void putComicWithoutThumbnailRemovesIt() throws Exception {
+        // Initialize the database
+        comicRepository.saveAndFlush(comic);
+
+        Comic updatedComic = comicRepository.findById(comic.getId()).get();
+        em.detach(updatedComic);
+        updatedComic.thumbnailContentType(null);
+
+        restComicMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedComic.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedComic))
+            )
+            .andExpect(status().isOk());
+
+        Comic testComic = comicRepository.findById(comic.getId()).get();
+        assertThat(testComic.getThumbnailHash()).isNull();
+        assertThat(testComic.getThumbnailContentType()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void patchComicIgnoresThumbnailHash() throws Exception {
+        // Initialize the database
+        comicRepository.saveAndFlush(comic);
+
+        Comic partialUpdatedComic = new Comic();
+        partialUpdatedComic.setId(comic.getId());
+        partialUpdatedComic.thumbnailHash(UPDATED_THUMBNAIL_HASH);
+
+        restComicMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedComic.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedComic))
+            )
+            .andExpect(status().isOk());
+
+        assertThat(comicRepository.findById(comic.getId()).get().getThumbnailHash()).isEqualTo(DEFAULT_THUMBNAIL_HASH);
+    }
+
     @Test
     @Transactional
     void putNonExistingComic() throws Exception {
@@ -743,7 +1196,7 @@ class ComicResourceIT {
         assertThat(testComic.getLocation()).isEqualTo(DEFAULT_LOCATION);
         assertThat(testComic.getTitle()).isEqualTo(DEFAULT_TITLE);
         assertThat(testComic.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testComic.getThumbnail()).isEqualTo(DEFAULT_THUMBNAIL);
+        assertThat(testComic.getThumbnailHash()).isEqualTo(DEFAULT_THUMBNAIL_HASH);
         assertThat(testComic.getThumbnailContentType()).isEqualTo(DEFAULT_THUMBNAIL_CONTENT_TYPE);
     }
 
@@ -783,7 +1236,7 @@ class ComicResourceIT {
         assertThat(testComic.getLocation()).isEqualTo(UPDATED_LOCATION);
         assertThat(testComic.getTitle()).isEqualTo(UPDATED_TITLE);
         assertThat(testComic.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
-        assertThat(testComic.getThumbnail()).isEqualTo(UPDATED_THUMBNAIL);
+        assertThat(testComic.getThumbnailHash()).isEqualTo(UPDATED_THUMBNAIL_HASH);
         assertThat(testComic.getThumbnailContentType()).isEqualTo(UPDATED_THUMBNAIL_CONTENT_TYPE);
     }
 
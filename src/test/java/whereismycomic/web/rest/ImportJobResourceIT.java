@@ -0,0 +1,125 @@
+package whereismycomic.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import whereismycomic.IntegrationTest;
+import whereismycomic.repository.ComicRepository;
+import whereismycomic.service.ImportJobService;
+import whereismycomic.service.dto.ImportJobDTO;
+
+/**
+ * Integration tests for the {@link ImportJobResource} REST controller.
+ * <p>
+ * Jobs run on their own workers and commit their comics, so these tests are not transactional.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ImportJobResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/import-jobs";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private MockMvc restImportJobMockMvc;
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private ComicRepository comicRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String location = "Import " + UUID.randomUUID();
+
+    @AfterEach
+    void deleteImportedComics() {
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(status ->
+                comicRepository.deleteAll(
+                    comicRepository.findAll().stream().filter(comic -> location.equals(comic.getLocation())).collect(Collectors.toList())
+                )
+            );
+    }
+
+    @Test
+    void createImportJob() throws Exception {
+        String csv = "issuenumber;location;title\n1;" + location + ";First\nfirst;" + location + ";Invalid\n3;" + location + ";Third\n";
+        MockMultipartFile file = new MockMultipartFile("file", "comics.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        String body = restImportJobMockMvc
+            .perform(multipart(ENTITY_API_URL).file(file))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.fileName").value("comics.csv"))
+            .andExpect(jsonPath("$.format").value("CSV"))
+            .andExpect(jsonPath("$.createdBy").value("user"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        Long id = objectMapper.readValue(body, ImportJobDTO.class).getId();
+
+        awaitOver(id);
+        restImportJobMockMvc
+            .perform(get(ENTITY_API_URL_ID, id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.rows").value(3))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors.[0].row").value(2))
+            .andExpect(jsonPath("$.progress").value(1.0))
+            .andExpect(jsonPath("$.etaSeconds").doesNotExist());
+        assertThat(comicRepository.findAll()).filteredOn(comic -> location.equals(comic.getLocation())).hasSize(2);
+    }
+
+    @Test
+    void createImportJobWithEmptyFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "comics.json", "application/json", new byte[0]);
+
+        restImportJobMockMvc.perform(multipart(ENTITY_API_URL).file(file)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getImportJobOfAnotherUser() throws Exception {
+        ImportJobDTO job = importJobService.create("comics.json", new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), "other");
+
+        restImportJobMockMvc.perform(get(ENTITY_API_URL_ID, job.getId())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getNonExistingImportJob() throws Exception {
+        restImportJobMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private void awaitOver(Long id) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        String status = importJobService.findOne(id).orElseThrow().getStatus();
+        while (("QUEUED".equals(status) || "RUNNING".equals(status)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            status = importJobService.findOne(id).orElseThrow().getStatus();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import whereismycomic.IntegrationTest;
 import whereismycomic.domain.User;
 import whereismycomic.repository.UserRepository;
 import whereismycomic.security.AuthoritiesConstants;
+import whereismycomic.security.UserNearCache;
 
 /**
  * Integration tests for the {@link UserResource} REST controller.
@@ -39,6 +40,9 @@ class PublicUserResourceIT {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private UserNearCache userNearCache;
+
     @Autowired
     private MockMvc restUserMockMvc;
 
@@ -48,6 +52,7 @@ class PublicUserResourceIT {
     public void setup() {
         cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
         cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+        userNearCache.clear();
     }
 
     @BeforeEach
@@ -0,0 +1,182 @@
+package whereismycomic.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import whereismycomic.IntegrationTest;
+import whereismycomic.config.ApplicationProperties;
+import whereismycomic.domain.Characters;
+import whereismycomic.domain.Comic;
+import whereismycomic.domain.Series;
+import whereismycomic.service.OutboxService;
+
+/**
+ * Integration tests for the {@link SearchResource} REST controller.
+ * <p>
+ * The index is only updated once the entities are committed, so these tests are not transactional:
+ * they create the entities through the REST API, drain the outbox to the index and delete them at the end.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class SearchResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/search";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc restSearchMockMvc;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Test
+    void searchComics() throws Exception {
+        Series series = create("/api/series", new Series().name("Xylophonic Tales"), Series.class);
+        Comic byTitle = create("/api/comics", new Comic().title("Quokkanaut Returns").series(series), Comic.class);
+        Comic byDescription = create("/api/comics", new Comic().title("Other").description("The quokkanaut is back"), Comic.class);
+        outboxService.drain();
+        try {
+            // Exact match, the title ranks first
+            restSearchMockMvc
+                .perform(get(ENTITY_API_URL + "?q=quokkanaut"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.[0].type").value("comic"))
+                .andExpect(jsonPath("$.[0].id").value(byTitle.getId().intValue()))
+                .andExpect(jsonPath("$.[0].label").value("Quokkanaut Returns"))
+                .andExpect(jsonPath("$.[1].id").value(byDescription.getId().intValue()));
+
+            // Prefix match
+            restSearchMockMvc
+                .perform(get(ENTITY_API_URL + "?q=quokka"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(byTitle.getId().intValue())));
+
+            // Fuzzy match
+            restSearchMockMvc
+                .perform(get(ENTITY_API_URL + "?q=qokkanaut returns"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id").value(byTitle.getId().intValue()));
+
+            // Series name, on the series and on its comics
+            restSearchMockMvc
+                .perform(get(ENTITY_API_URL + "?q=xylophonic"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(series.getId().intValue())))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(byTitle.getId().intValue())));
+
+            // Type filter
+            restSearchMockMvc
+                .perform(get(ENTITY_API_URL + "?q=xylophonic&type=series"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].type").value(not(hasItem("comic"))));
+        } finally {
+            restSearchMockMvc.perform(delete("/api/comics/{id}", byTitle.getId()));
+            restSearchMockMvc.perform(delete("/api/comics/{id}", byDescription.getId()));
+            restSearchMockMvc.perform(delete("/api/series/{id}", series.getId()));
+            outboxService.drain();
+        }
+
+        // Deleted entities are removed from the index
+        restSearchMockMvc
+            .perform(get(ENTITY_API_URL + "?q=quokkanaut"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void searchComicsAfterTheirSeriesIsRenamed() throws Exception {
+        int rebuildBatchSize = applicationProperties.getSearch().getRebuildBatchSize();
+        Series series = create("/api/series", new Series().name("Echidnaverse"), Series.class);
+        List<Comic> comics = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                comics.add(create("/api/comics", new Comic().title("Issue " + i).series(series), Comic.class));
+            }
+            outboxService.drain();
+            // The comics of the series are re-indexed over several pages
+            applicationProperties.getSearch().setRebuildBatchSize(2);
+
+            series.setName("Narwhalverse");
+            restSearchMockMvc
+                .perform(
+                    put("/api/series/{id}", series.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(series))
+                )
+                .andExpect(status().isOk());
+            outboxService.drain();
+
+            ResultActions result = restSearchMockMvc.perform(get(ENTITY_API_URL + "?q=narwhalverse&type=comic")).andExpect(status().isOk());
+            for (Comic comic : comics) {
+                result.andExpect(jsonPath("$.[*].id").value(hasItem(comic.getId().intValue())));
+            }
+        } finally {
+            applicationProperties.getSearch().setRebuildBatchSize(rebuildBatchSize);
+            for (Comic comic : comics) {
+                restSearchMockMvc.perform(delete("/api/comics/{id}", comic.getId()));
+            }
+            restSearchMockMvc.perform(delete("/api/series/{id}", series.getId()));
+            outboxService.drain();
+        }
+    }
+
+    @Test
+    void searchCharactersAfterUpdate() throws Exception {
+        Characters characters = create("/api/characters", new Characters().fullname("Wombatron"), Characters.class);
+        try {
+            characters.setFullname("Platypusman");
+            restSearchMockMvc
+                .perform(
+                    put("/api/characters/{id}", characters.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(characters))
+                )
+                .andExpect(status().isOk());
+            outboxService.drain();
+
+            restSearchMockMvc
+                .perform(get(ENTITY_API_URL + "?q=platypusman&type=characters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id").value(characters.getId().intValue()))
+                .andExpect(jsonPath("$.[0].label").value("Platypusman"));
+            restSearchMockMvc.perform(get(ENTITY_API_URL + "?q=wombatron")).andExpect(status().isOk()).andExpect(jsonPath("$").isEmpty());
+        } finally {
+            restSearchMockMvc.perform(delete("/api/characters/{id}", characters.getId()));
+            outboxService.drain();
+        }
+    }
+
+    @Test
+    void searchWithUnknownType() throws Exception {
+        restSearchMockMvc.perform(get(ENTITY_API_URL + "?q=anything&type=user")).andExpect(status().isBadRequest());
+    }
+
+    private <T> T create(String url, T entity, Class<T> type) throws Exception {
+        String json = restSearchMockMvc
+            .perform(post(url).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(entity)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return objectMapper.readValue(json, type);
+    }
+}
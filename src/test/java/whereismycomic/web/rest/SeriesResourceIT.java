@@ -1,6 +1,8 @@
 package whereismycomic.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -128,6 +131,67 @@ class SeriesResourceIT {
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
+    @Test
+    @Transactional
+    void getAllSeriesPaged() throws Exception {
+        // Initialize the database
+        seriesRepository.saveAndFlush(series);
+
+        // Get a page of the seriesList, with the pagination headers
+        restSeriesMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&page=0&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"first\"")));
+    }
+
+    @Test
+    @Transactional
+    void getAllSeriesByKeyset() throws Exception {
+        // Initialize the database
+        Series first = seriesRepository.saveAndFlush(createEntity(em).name("keyset"));
+        Series second = seriesRepository.saveAndFlush(createEntity(em).name("keyset"));
+        Series third = seriesRepository.saveAndFlush(createEntity(em).name("keyset"));
+
+        // The first page is not counted, and links to the next one
+        restSeriesMockMvc
+            .perform(get(ENTITY_API_URL + "?name.equals=keyset&count=false&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second.getId())));
+
+        // The last page has no next link
+        restSeriesMockMvc
+            .perform(get(ENTITY_API_URL + "?name.equals=keyset&after=" + second.getId() + "&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    @Transactional
+    void getAllSeriesByKeysetWithUnsupportedSort() throws Exception {
+        restSeriesMockMvc.perform(get(ENTITY_API_URL + "?count=false&sort=name")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllSeriesSummaries() throws Exception {
+        // Initialize the database
+        seriesRepository.saveAndFlush(series);
+
+        restSeriesMockMvc
+            .perform(get(ENTITY_API_URL + "?view=summary&sort=id,desc&id.equals=" + series.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(series.getId().intValue()))
+            .andExpect(jsonPath("$.[0].name").value(DEFAULT_NAME))
+            .andExpect(jsonPath("$.[0].charactersId").doesNotExist());
+    }
+
     @Test
     @Transactional
     void getSeries() throws Exception {
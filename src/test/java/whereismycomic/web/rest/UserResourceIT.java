@@ -25,6 +25,7 @@ import whereismycomic.domain.Authority;
 import whereismycomic.domain.User;
 import whereismycomic.repository.UserRepository;
 import whereismycomic.security.AuthoritiesConstants;
+import whereismycomic.security.UserNearCache;
 import whereismycomic.service.dto.AdminUserDTO;
 import whereismycomic.service.dto.UserDTO;
 import whereismycomic.service.mapper.UserMapper;
@@ -73,6 +74,9 @@ class UserResourceIT {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private UserNearCache userNearCache;
+
     @Autowired
     private MockMvc restUserMockMvc;
 
@@ -82,6 +86,7 @@ class UserResourceIT {
     public void setup() {
         cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
         cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+        userNearCache.clear();
     }
 
     /**